@@ -0,0 +1,68 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that holds a shot found by an AimSolver: the orientation and yield with which the shooting worm has to
+ * fire its current weapon, and the simulated outcome of that shot.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class AimSolution {
+	/**
+	 * Declaration of variables.
+	 */
+	private final double orientation;
+	private final int yield;
+	private final TrajectoryOutcome outcome;
+
+	/**
+	 * Constructor of the class AimSolution.
+	 *
+	 * @param orientation
+	 * 			The orientation (in the interval [0, 2 * Math.PI[) in which the worm has to shoot
+	 * @param yield
+	 * 			The yield with which the worm has to shoot
+	 * @param outcome
+	 * 			The simulated outcome of the shot
+	 */
+	AimSolution(double orientation, int yield, TrajectoryOutcome outcome) {
+		this.orientation = orientation;
+		this.yield = yield;
+		this.outcome = outcome;
+	}
+
+	/**
+	 * Function that returns the orientation in which the worm has to shoot.
+	 *
+	 * @return this.orientation
+	 * 			The orientation of the shot
+	 */
+	@Basic
+	public double getOrientation() {
+		return this.orientation;
+	}
+
+	/**
+	 * Function that returns the yield with which the worm has to shoot.
+	 *
+	 * @return this.yield
+	 * 			The yield of the shot
+	 */
+	@Basic
+	public int getYield() {
+		return this.yield;
+	}
+
+	/**
+	 * Function that returns the simulated outcome of the shot.
+	 *
+	 * @return this.outcome
+	 * 			The outcome of the shot
+	 */
+	@Basic
+	public TrajectoryOutcome getOutcome() {
+		return this.outcome;
+	}
+}
@@ -0,0 +1,257 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import worms.gui.GUIConstants;
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that searches the orientations and yields with which a worm hits a target worm with its current weapon.
+ *
+ * For every distinct force the yields 0..100 give, the orientations that make the parabola of getJumpStep() pass
+ * through the target are calculated: the closed-form angles of a projectile fired from the center of the worm are
+ * refined with the secant method to take into account that the projectile starts at the rim of the worm.
+ * Both the flat and the steep angle are aimed at the center of the target and slightly above and below it.
+ * Every candidate is then checked against terrain and other worms with Projectile.simulate(), in parallel; the
+ * candidates that aren't checked within the time budget are dropped, and the ones that are still being simulated
+ * are interrupted, which stops them.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class AimSolver {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final int MAX_SECANT_ITERATIONS = 8;
+	public static final double ANGLE_TOLERANCE = 1e-9;
+	private static final double[] AIM_OFFSETS = { 0, .5, -.5 };
+	private final Worm shooter, target;
+	private final long timeBudget;
+
+	/**
+	 * Constructor of the class AimSolver.
+	 *
+	 * @param shooter
+	 * 			The worm that has to shoot, with its current weapon
+	 * @param target
+	 * 			The worm that has to be hit
+	 * @param timeBudget
+	 * 			The number of milliseconds the candidate shots may be checked
+	 * @post	The shooter, the target and the time budget of this solver are the provided ones.
+	 * 			| (new this).getShooter() == shooter && (new this).getTarget() == target
+	 * 			|	&& (new this).getTimeBudget() == timeBudget
+	 * @throws	IllegalArgumentException
+	 * 			One of the worms is the null reference, both worms are the same or the time budget is negative.
+	 * 			| shooter == null || target == null || shooter == target || timeBudget < 0
+	 */
+	public AimSolver(Worm shooter, Worm target, long timeBudget)
+			throws IllegalArgumentException {
+		if (shooter == null || target == null || shooter == target
+				|| timeBudget < 0)
+			throw new IllegalArgumentException();
+		this.shooter = shooter;
+		this.target = target;
+		this.timeBudget = timeBudget;
+	}
+
+	/**
+	 * Function that returns the worm that has to shoot.
+	 *
+	 * @return this.shooter
+	 * 			The shooting worm
+	 */
+	@Basic
+	public Worm getShooter() {
+		return this.shooter;
+	}
+
+	/**
+	 * Function that returns the worm that has to be hit.
+	 *
+	 * @return this.target
+	 * 			The target worm
+	 */
+	@Basic
+	public Worm getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * Function that returns the number of milliseconds the candidate shots may be checked.
+	 *
+	 * @return this.timeBudget
+	 * 			The time budget of this solver
+	 */
+	@Basic
+	public long getTimeBudget() {
+		return this.timeBudget;
+	}
+
+	/**
+	 * Function that searches the shots with which the shooter hits the target. Nothing is changed.
+	 * The world may not be changed while this function runs.
+	 *
+	 * @return solutions
+	 * 			The shots that have been found to hit the target within the time budget, shortest flight first
+	 * @throws	InterruptedException
+	 * 			The calling thread has been interrupted while the candidates were checked.
+	 */
+	public List<AimSolution> solve() throws InterruptedException {
+		final Projectile projectile = this.getShooter().getProjectile();
+		List<Callable<AimSolution>> candidates = new ArrayList<Callable<AimSolution>>();
+		double lastForce = Double.NaN;
+		for (int yield = 0; yield <= 100; yield++) {
+			double force = projectile.calculateForce(yield);
+			if (force == lastForce)
+				continue;
+			lastForce = force;
+			double velocity = (force / projectile.getMass()) * .5;
+			for (double offset : AIM_OFFSETS) {
+				double targetY = this.getTarget().getY() + offset
+						* this.getTarget().getRadius();
+				for (int arc = -1; arc <= 1; arc += 2) {
+					double orientation = this.findOrientation(velocity,
+							this.getTarget().getX(), targetY, arc);
+					if (!Double.isNaN(orientation))
+						candidates.add(this.createCheck(projectile,
+								orientation, yield));
+				}
+			}
+		}
+		List<AimSolution> solutions = new ArrayList<AimSolution>();
+		for (Future<AimSolution> check : WorkerPool.EXECUTOR.invokeAll(candidates,
+				this.getTimeBudget(), TimeUnit.MILLISECONDS)) {
+			try {
+				AimSolution solution = check.get();
+				if (solution != null)
+					solutions.add(solution);
+			} catch (CancellationException e) {
+				// Not checked within the time budget.
+			} catch (ExecutionException e) {
+				// A candidate that can't be simulated doesn't hit the target.
+			}
+		}
+		Collections.sort(solutions, new Comparator<AimSolution>() {
+			@Override
+			public int compare(AimSolution first, AimSolution second) {
+				return Double.compare(first.getOutcome().getDuration(),
+						second.getOutcome().getDuration());
+			}
+		});
+		return solutions;
+	}
+
+	/**
+	 * Function that creates the check of a candidate shot, which simulates the shot and returns it if it hits the target.
+	 *
+	 * @param projectile
+	 * 			The projectile that is fired
+	 * @param orientation
+	 * 			The orientation of the candidate shot
+	 * @param yield
+	 * 			The yield of the candidate shot
+	 * @return check
+	 * 			A task that returns the solution, or null if the shot doesn't hit the target
+	 */
+	private Callable<AimSolution> createCheck(final Projectile projectile,
+			final double orientation, final int yield) {
+		final Worm target = this.getTarget();
+		return new Callable<AimSolution>() {
+			@Override
+			public AimSolution call() {
+				TrajectoryOutcome outcome = projectile.simulate(orientation,
+						yield, GUIConstants.JUMP_TIME_STEP);
+				for (int i = 0; i < outcome.getNumberOfHitWorms(); i++)
+					if (outcome.getHitWorm(i) == target)
+						return new AimSolution(orientation, yield, outcome);
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Function that calculates the orientation in which a projectile with the provided initial velocity, fired
+	 * from the rim of the shooter, passes through the provided point.
+	 * The closed-form angle of a projectile fired from the center of the shooter is used as a first guess, which is
+	 * refined with the secant method on the height at which the projectile passes the x-coordinate of the point.
+	 *
+	 * @param velocity
+	 * 			The initial velocity of the projectile
+	 * @param x
+	 * 			The x-coordinate of the point
+	 * @param y
+	 * 			The y-coordinate of the point
+	 * @param arc
+	 * 			-1 for the flat angle, 1 for the steep angle
+	 * @return orientation
+	 * 			The orientation in the interval [0, 2 * Math.PI[, or Double.NaN if the point can't be reached
+	 */
+	private double findOrientation(double velocity, double x, double y, int arc) {
+		double gravity = this.getShooter().GRAV_CST;
+		double dx = x - this.getShooter().getX();
+		double dy = y - this.getShooter().getY();
+		double velocitySquared = velocity * velocity;
+		double discriminant = velocitySquared * velocitySquared - gravity
+				* (gravity * dx * dx + 2 * dy * velocitySquared);
+		if (discriminant < 0 || dx == 0)
+			return Double.NaN;
+		double previous = Math.atan2(velocitySquared + arc * Math.sqrt(discriminant),
+				gravity * dx);
+		double current = previous + 1e-3;
+		double previousMiss = this.getMiss(velocity, previous, x, y);
+		for (int i = 0; i < MAX_SECANT_ITERATIONS
+				&& Math.abs(current - previous) > ANGLE_TOLERANCE; i++) {
+			double currentMiss = this.getMiss(velocity, current, x, y);
+			if (Double.isNaN(currentMiss) || Double.isNaN(previousMiss)
+					|| currentMiss == previousMiss)
+				break;
+			double next = current - currentMiss * (current - previous)
+					/ (currentMiss - previousMiss);
+			previous = current;
+			previousMiss = currentMiss;
+			current = next;
+		}
+		if (Double.isNaN(this.getMiss(velocity, current, x, y)))
+			return Double.NaN;
+		double orientation = current % (2 * Math.PI);
+		return orientation < 0 ? orientation + 2 * Math.PI : orientation;
+	}
+
+	/**
+	 * Function that returns how far above the provided point a projectile fired from the rim of the shooter in the
+	 * provided orientation passes, following the same parabola as Projectile.getJumpStep().
+	 *
+	 * @param velocity
+	 * 			The initial velocity of the projectile
+	 * @param orientation
+	 * 			The orientation in which the projectile is fired
+	 * @param x
+	 * 			The x-coordinate of the point
+	 * @param y
+	 * 			The y-coordinate of the point
+	 * @return miss
+	 * 			The height of the projectile above the point when it passes its x-coordinate, or Double.NaN if
+	 * 			the projectile never passes it
+	 */
+	private double getMiss(double velocity, double orientation, double x, double y) {
+		double startX = this.getShooter().getX() + Math.cos(orientation)
+				* this.getShooter().getRadius();
+		double startY = this.getShooter().getY() + Math.sin(orientation)
+				* this.getShooter().getRadius();
+		double velocityX = velocity * Math.cos(orientation);
+		double t = (x - startX) / velocityX;
+		if (!(t > 0))
+			return Double.NaN;
+		return startY + velocity * Math.sin(orientation) * t - .5
+				* this.getShooter().GRAV_CST * t * t - y;
+	}
+}
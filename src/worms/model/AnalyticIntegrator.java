@@ -0,0 +1,38 @@
+package worms.model;
+
+/**
+ * A class that calculates the motion of worms and projectiles with the closed-form parabola under constant gravity.
+ * This is the motion integrator of every world, unless another one is chosen. The expression is exactly the one
+ * that worms and projectiles have always used, so the results don't change.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public final class AnalyticIntegrator implements MotionIntegrator {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final AnalyticIntegrator INSTANCE = new AnalyticIntegrator();
+
+	/**
+	 * There is only one analytic integrator, which is shared by all worlds.
+	 */
+	private AnalyticIntegrator() {
+	}
+
+	/**
+	 * Method that stores the position at time t on the parabola in the provided array.
+	 *
+	 * @post	The provided array holds the (x,y)-coordinates at time t.
+	 * 			| result[0] == x + velocity * Math.cos(angle) * t
+	 * 			|	&& result[1] == y + velocity * Math.sin(angle) * t - .5 * gravity * Math.pow(t, 2)
+	 */
+	@Override
+	public void getPosition(double x, double y, double velocity, double angle,
+			double gravity, double t, double[] result) {
+		double initVelocityX = velocity * Math.cos(angle);
+		double initVelocityY = velocity * Math.sin(angle);
+		result[0] = x + (initVelocityX * t);
+		result[1] = y + ((initVelocityY * t) - (.5 * gravity * Math.pow(t, 2)));
+	}
+}
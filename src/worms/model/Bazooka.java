@@ -21,6 +21,8 @@ public class Bazooka extends Projectile {
 	private final int HIT_POINTS_REDUCE = 80;
 	private final double MASS = .3;
 	private final String WEAPON_NAME = "Bazooka";
+	private final double BLAST_RADIUS = 1.0;
+	private final double KNOCKBACK = .5;
 	private double force;
 	private double lowerForce = 2.5, upperForce = 9.5;
 
@@ -73,6 +75,30 @@ public class Bazooka extends Projectile {
 		return this.HIT_POINTS_REDUCE;
 	}
 
+	/**
+	 * Function which returns the radius of the explosion of the rocket, in which worms are damaged with falloff.
+	 * 
+	 * @return this.BLAST_RADIUS
+	 * 			The blast radius of the rocket.
+	 */
+	@Override
+	@Basic
+	public double getBlastRadius() {
+		return this.BLAST_RADIUS;
+	}
+
+	/**
+	 * Function which returns the distance over which the explosion of the rocket pushes away a worm at its center.
+	 * 
+	 * @return this.KNOCKBACK
+	 * 			The knockback of the rocket.
+	 */
+	@Override
+	@Basic
+	public double getKnockback() {
+		return this.KNOCKBACK;
+	}
+
 	/**
 	 * Function which returns the mass of the rocket from a bazooka.
 	 * 
@@ -116,17 +142,30 @@ public class Bazooka extends Projectile {
 	 */
 	@Override
 	public double getRadius() {
-		return Math.cbrt((3 * (MASS / DENSITY)) / (4 * Math.PI));
+		return this.cbrt((3 * (MASS / DENSITY)) / (4 * Math.PI));
 	}
 	
 	/**
 	 * Function that sets the force to the correct force, using the yield that is determined when the worm wants to shoot.
 	 * 
 	 * @post	The force has to be set to the correct amount, using the propulsion yield from the shoot.
-	 * 			| (new this).getForce() == this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100)
+	 * 			| (new this).getForce() == this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
 	 */
 	@Override
 	public void setForce(int yield) {
-		this.force = this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100);
+		this.force = this.calculateForce(yield);
+	}
+	
+	/**
+	 * Function that calculates the force of a bazooka shell for the provided yield, without changing its force.
+	 * 
+	 * @param yield
+	 * 			The propulsion yield with which the shell would be fired
+	 * @return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
+	 * 			The force for the provided yield
+	 */
+	@Override
+	public double calculateForce(int yield) {
+		return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0);
 	}
 }
@@ -0,0 +1,157 @@
+package worms.model;
+
+import java.util.Arrays;
+
+/**
+ * A class that stores the positions and radii of circular objects (worms, food) in parallel arrays of primitives,
+ * indexed by a slot.
+ * A world keeps the objects of a kind in one such store, where the slot of an object is its position in the
+ * objects of that kind of the world (see World.getWorms() and World.getFood()): the slots are dense, because the
+ * last object takes the slot of an object that is removed. The grids of the world (see SpatialGrid) and the sweeps
+ * over all objects of a kind read the arrays of the store directly, so they run over contiguous numbers instead of
+ * following a reference per object. An object that isn't part of a world (anymore) keeps its state in a store of its
+ * own, with a single slot.
+ *
+ * A store may be read from several threads at once, as long as it isn't changed in the meantime.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+class CircleStates {
+	/**
+	 * Declaration of variables.
+	 */
+	private double[] xs, ys, radii;
+
+	/**
+	 * Constructor of the class CircleStates.
+	 *
+	 * @param capacity
+	 * 			The number of slots this store has to start with
+	 */
+	CircleStates(int capacity) {
+		this.xs = new double[capacity];
+		this.ys = new double[capacity];
+		this.radii = new double[capacity];
+	}
+
+	/**
+	 * Function that returns the number of slots this store has room for.
+	 *
+	 * @return this.xs.length
+	 * 			The number of slots of this store
+	 */
+	final int getCapacity() {
+		return this.xs.length;
+	}
+
+	/**
+	 * Method that makes sure this store has the provided slot, by growing its arrays if needed.
+	 *
+	 * @param slot
+	 * 			The slot that has to be in this store
+	 * @effect	| if (slot >= this.getCapacity())
+	 * 			|	then this.grow(Math.max(2 * this.getCapacity(), slot + 1))
+	 */
+	final void ensureSlot(int slot) {
+		if (slot < this.xs.length)
+			return;
+		this.grow(Math.max(2 * this.xs.length, slot + 1));
+	}
+
+	/**
+	 * Method that grows the arrays of this store to the provided number of slots. Stores that keep more than the
+	 * position and the radius have to grow their own arrays as well.
+	 *
+	 * @param capacity
+	 * 			The new number of slots of this store
+	 */
+	void grow(int capacity) {
+		this.xs = Arrays.copyOf(this.xs, capacity);
+		this.ys = Arrays.copyOf(this.ys, capacity);
+		this.radii = Arrays.copyOf(this.radii, capacity);
+	}
+
+	/**
+	 * Method that copies the state in the provided slot of this store to the provided slot of another store of the
+	 * same kind. Stores that keep more than the position and the radius have to copy the rest as well.
+	 *
+	 * @param slot
+	 * 			The slot of this store that has to be copied
+	 * @param target
+	 * 			The store to which the state has to be copied
+	 * @param targetSlot
+	 * 			The slot of the target that has to be overwritten
+	 */
+	void copyTo(int slot, CircleStates target, int targetSlot) {
+		target.ensureSlot(targetSlot);
+		target.xs[targetSlot] = this.xs[slot];
+		target.ys[targetSlot] = this.ys[slot];
+		target.radii[targetSlot] = this.radii[slot];
+	}
+
+	/**
+	 * Function that returns the x-coordinate stored in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be read
+	 * @return this.xs[slot]
+	 * 			The x-coordinate of the object in the slot
+	 */
+	final double getX(int slot) {
+		return this.xs[slot];
+	}
+
+	/**
+	 * Function that returns the y-coordinate stored in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be read
+	 * @return this.ys[slot]
+	 * 			The y-coordinate of the object in the slot
+	 */
+	final double getY(int slot) {
+		return this.ys[slot];
+	}
+
+	/**
+	 * Method that stores the provided position in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be changed
+	 * @param x
+	 * 			The new x-coordinate of the object in the slot
+	 * @param y
+	 * 			The new y-coordinate of the object in the slot
+	 * @post	| (new this).getX(slot) == x && (new this).getY(slot) == y
+	 */
+	final void setPosition(int slot, double x, double y) {
+		this.xs[slot] = x;
+		this.ys[slot] = y;
+	}
+
+	/**
+	 * Function that returns the radius stored in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be read
+	 * @return this.radii[slot]
+	 * 			The radius of the object in the slot
+	 */
+	final double getRadius(int slot) {
+		return this.radii[slot];
+	}
+
+	/**
+	 * Method that stores the provided radius in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be changed
+	 * @param radius
+	 * 			The new radius of the object in the slot
+	 * @post	| (new this).getRadius(slot) == radius
+	 */
+	final void setRadius(int slot, double radius) {
+		this.radii[slot] = radius;
+	}
+}
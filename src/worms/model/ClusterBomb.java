@@ -0,0 +1,212 @@
+package worms.model;
+
+import java.util.ArrayList;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import worms.model.Projectile;
+import worms.model.Worm;
+
+/**
+ * This class extends the Projectile class, it is a specific case of that class.
+ * This class implements the methods specific to the cluster bomb of this game. All methods of Projectile are in here by standard and don't have to be written again, unless they 
+ * have to be overridden.
+ * The properties specific to the cluster bomb are also declared in this class.
+ * On impact, a cluster bomb splits into fragments that fly away in all directions and damage the worms they hit. 
+ * The fragments are followed together in a FragmentBatch.
+ * 
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class ClusterBomb extends Projectile {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final int NUMBER_OF_FRAGMENTS = 64;
+	public static final double FRAGMENT_VELOCITY = 4.0;
+	public static final double FRAGMENT_RADIUS = .03;
+	public static final int FRAGMENT_DAMAGE = 4;
+	public static final double FRAGMENT_TIME_STEP = 1.0 / 240;
+	private final int ACTION_POINTS_COST = 60;
+	private final int HIT_POINTS_REDUCE = 30;
+	private final double MASS = .4;
+	private final String WEAPON_NAME = "Cluster bomb";
+	private double force;
+	private double lowerForce = 2.5, upperForce = 9.5;
+
+	/**
+	 * Constructor of the class ClusterBomb.
+	 * The constructor calls on the constructor of the superclass to be created.
+	 * 
+	 * @param worm
+	 * 			The worm to which this cluster bomb belongs
+	 * @post	The given worm must be equal to the worm that has to shoot.
+	 * 			| (new this).getWorm() == worm
+	 * @post	The x-coordinate has to be located at the radius of the worm to which this cluster bomb belongs, while respecting the orientation of the worm.
+	 * 			| (new this).getX() == worm.getX() + (Math.cos(worm.getOrientation()) * worm.getRadius())
+	 * @post	The y-coordinate has to be located at the radius of the worm to which this cluster bomb belongs, while respecting the orientation of the worm.
+	 * 			| (new this).getY() == worm.getY() + (Math.sin(worm.getOrientation()) * worm.getRadius())
+	 * @post	The given direction has to be equal to the orientation of the worm.
+	 * 			The given direction first has to be recalculated to an angle in the interval [0, 2 * Math.PI[
+	 * 			| (new this).getOrientation() == worm.recalculateOrientation(worm.getOrientation())
+	 * @throws	IllegalArgumentException
+	 * 			The x- and y-coordinate of this cluster bomb have to be valid x- and y-coordinates. If they are not, an exception has to be thrown.
+	 * 			The functions concerning checking valid x- and y-coordinates are written in the class Worm.
+	 * 			| !Worm.isValidX(worm.getX() + (Math.cos(worm.getOrientation()) * worm.getRadius())) || 
+	 *			|	!Worm.isValidY(worm.getY() + (Math.sin(worm.getOrientation()) * worm.getRadius()))
+	 */
+	public ClusterBomb(Worm worm) {
+		super(worm);
+	}
+
+	/**
+	 * Function which returns the cost of Action Points to throw the cluster bomb.
+	 * 
+	 * @return this.ACTION_POINTS_COST
+	 * 			The cost of Action Points to throw the cluster bomb
+	 */
+	@Override
+	@Basic
+	public int getActionPointsCost() {
+		return this.ACTION_POINTS_COST;
+	}
+
+	/**
+	 * Function which returns the amount of Hit Points that have to be subtracted from the current amount of Hit Points of the worm that is hit by the bomb itself.
+	 * 
+	 * @return this.HIT_POINTS_REDUCE
+	 * 			The amount of Hit Points that have to be subtracted from the amount of Hit Points of the worm that is hit.
+	 */
+	@Override
+	@Basic
+	public int getHitPointsReduction() {
+		return this.HIT_POINTS_REDUCE;
+	}
+
+	/**
+	 * Function which returns the mass of the cluster bomb.
+	 * 
+	 * @return this.MASS
+	 * 			The mass of the cluster bomb
+	 */
+	@Override
+	@Basic
+	public double getMass() {
+		return this.MASS;
+	}
+
+	/**
+	 * Function that returns the name of this weapon.
+	 * 
+	 * @return this.WEAPON_NAME
+	 * 			The name of this weapon
+	 */
+	@Basic
+	@Override
+	public String getWeaponName() {
+		return this.WEAPON_NAME;
+	}
+
+	/**
+	 * Function which returns the initial force of the cluster bomb, just before its launch.
+	 * 
+	 * @return this.force
+	 * 			The initial force of the cluster bomb.
+	 */
+	@Override
+	public double getForce() {
+		return this.force;
+	}
+
+	/**
+	 * Function that calculates and returns the radius of a cluster bomb.
+	 * 
+	 * @return radius
+	 * 			The radius of the cluster bomb
+	 */
+	@Override
+	public double getRadius() {
+		return this.cbrt((3 * (MASS / DENSITY)) / (4 * Math.PI));
+	}
+
+	/**
+	 * Function that sets the force to the correct force, using the yield that is determined when the worm wants to shoot.
+	 * 
+	 * @post	The force has to be set to the correct amount, using the propulsion yield from the shoot.
+	 * 			| (new this).getForce() == this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
+	 */
+	@Override
+	public void setForce(int yield) {
+		this.force = this.calculateForce(yield);
+	}
+
+	/**
+	 * Function that calculates the force of a cluster bomb for the provided yield, without changing its force.
+	 * 
+	 * @param yield
+	 * 			The propulsion yield with which the cluster bomb would be thrown
+	 * @return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
+	 * 			The force for the provided yield
+	 */
+	@Override
+	public double calculateForce(int yield) {
+		return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0);
+	}
+
+	/**
+	 * Function that creates the outcome of a flight of this cluster bomb that ends at the provided position.
+	 * Unless the bomb has left the world, it splits into NUMBER_OF_FRAGMENTS fragments that fly away from the 
+	 * provided position at FRAGMENT_VELOCITY, evenly spread over all directions. Every worm hit by a fragment loses 
+	 * FRAGMENT_DAMAGE Hit Points per fragment, on top of the damage of a direct hit. Fragments don't hit the worm 
+	 * that threw the bomb, nor the worm that is hit directly. Nothing is changed.
+	 * 
+	 * @param x
+	 * 			The x-coordinate at which the flight ends
+	 * @param y
+	 * 			The y-coordinate at which the flight ends
+	 * @param duration
+	 * 			The time the flight takes
+	 * @param endEvent
+	 * 			The event that ended the flight
+	 * @param hitWorm
+	 * 			The worm that is hit directly, or null if no worm is hit
+	 * @return outcome
+	 * 			The outcome of the flight, with the damage of the direct hit and the fragments per hit worm
+	 */
+	@Override
+	TrajectoryOutcome createOutcome(double x, double y, double duration,
+			int endEvent, Worm hitWorm) {
+		if (endEvent == Trajectory.LEFT_WORLD)
+			return super.createOutcome(x, y, duration, endEvent, hitWorm);
+		double[] velocityX = new double[NUMBER_OF_FRAGMENTS];
+		double[] velocityY = new double[NUMBER_OF_FRAGMENTS];
+		for (int i = 0; i < NUMBER_OF_FRAGMENTS; i++) {
+			double angle = (i + .5) * 2 * Math.PI / NUMBER_OF_FRAGMENTS;
+			velocityX[i] = FRAGMENT_VELOCITY * this.cos(angle);
+			velocityY[i] = FRAGMENT_VELOCITY * this.sin(angle);
+		}
+		ArrayList<Worm> fragmentHits = new ArrayList<Worm>();
+		new FragmentBatch(x, y, velocityX, velocityY).simulate(
+				this.getWorm().getWorld(), FRAGMENT_RADIUS, this.getWorm().GRAV_CST,
+				FRAGMENT_TIME_STEP, new Worm[] { this.getWorm(), hitWorm },
+				fragmentHits);
+		ArrayList<Worm> hitWorms = new ArrayList<Worm>();
+		ArrayList<Integer> damages = new ArrayList<Integer>();
+		if (hitWorm != null) {
+			hitWorms.add(hitWorm);
+			damages.add(this.getHitPointsReduction());
+		}
+		for (Worm fragmentHit : fragmentHits) {
+			int index = hitWorms.indexOf(fragmentHit);
+			if (index == -1) {
+				hitWorms.add(fragmentHit);
+				damages.add(FRAGMENT_DAMAGE);
+			} else
+				damages.set(index, damages.get(index) + FRAGMENT_DAMAGE);
+		}
+		int[] damageArray = new int[damages.size()];
+		for (int i = 0; i < damageArray.length; i++)
+			damageArray[i] = damages.get(i);
+		return new TrajectoryOutcome(x, y, duration, endEvent,
+				hitWorms.toArray(new Worm[hitWorms.size()]), damageArray);
+	}
+}
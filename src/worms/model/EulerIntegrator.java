@@ -0,0 +1,45 @@
+package worms.model;
+
+/**
+ * A class that integrates the motion of worms and projectiles with the semi-implicit Euler method: the velocity is
+ * updated first and the position is updated with the new velocity. The error on the position grows linearly with
+ * the size of the step.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class EulerIntegrator extends NumericIntegrator {
+	/**
+	 * Constructor of the class EulerIntegrator, with steps of NumericIntegrator.DEFAULT_STEP.
+	 *
+	 * @effect	| this(NumericIntegrator.DEFAULT_STEP)
+	 */
+	public EulerIntegrator() {
+		this(DEFAULT_STEP);
+	}
+
+	/**
+	 * Constructor of the class EulerIntegrator.
+	 *
+	 * @param step
+	 * 			The size of one integration step (in seconds)
+	 * @effect	| super(step)
+	 */
+	public EulerIntegrator(double step) throws IllegalArgumentException {
+		super(step);
+	}
+
+	/**
+	 * Method that advances the provided state by one semi-implicit Euler step.
+	 */
+	@Override
+	protected void integrate(double[] state, double step, double gravity,
+			double[] acceleration) {
+		this.getAcceleration(state[0], state[1], state[2], state[3], gravity,
+				acceleration);
+		state[2] += acceleration[0] * step;
+		state[3] += acceleration[1] * step;
+		state[0] += state[2] * step;
+		state[1] += state[3] * step;
+	}
+}
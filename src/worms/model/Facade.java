@@ -1,6 +1,7 @@
 package worms.model;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
 
 import worms.model.Worm;
@@ -330,6 +331,77 @@ public class Facade implements IFacade {
 		return projectile.getJumpStep(t);
 	}
 
+	/**
+	 * Function that returns the precomputed trajectory of the provided projectile, which can be animated without 
+	 * calling getJumpStep() for every frame.
+	 * 
+	 * @param projectile
+	 * 			The projectile whose trajectory has to be returned
+	 * @param timeStep
+	 * 			A sufficiently small time interval to avoid that the projectile would pass through
+	 * 			impassable terrain during this interval
+	 * @return projectile.getTrajectory(timeStep)
+	 * 			The trajectory of the provided projectile
+	 * @throws	ModelException
+	 * 			The projectile is an empty reference (a null pointer), an exception has to be thrown.
+	 * 			| projectile == null
+	 */
+	public Trajectory getTrajectory(Projectile projectile, double timeStep)
+			throws ModelException {
+		if (projectile == null)
+			throw new ModelException("Invalid projectile: null");
+		return projectile.getTrajectory(timeStep);
+	}
+
+	/**
+	 * Function that returns the precomputed trajectory of the jump of the provided worm, which can be animated 
+	 * without calling getJumpStep() for every frame.
+	 * 
+	 * @param worm
+	 * 			The worm whose trajectory has to be returned
+	 * @param timeStep
+	 * 			A sufficiently small time interval to avoid that the worm would pass through
+	 * 			impassable terrain during this interval
+	 * @return worm.getTrajectory(timeStep)
+	 * 			The trajectory of the jump of the provided worm
+	 * @throws	ModelException
+	 * 			The worm is an empty reference (a null pointer), an exception has to be thrown.
+	 * 			| worm == null
+	 */
+	public Trajectory getTrajectory(Worm worm, double timeStep)
+			throws ModelException {
+		if (worm == null)
+			throw new ModelException("Invalid worm: null");
+		return worm.getTrajectory(timeStep);
+	}
+
+	/**
+	 * Function that returns where the current weapon of the provided worm lands for every yield from 0 to 100, 
+	 * fired in the current orientation of the worm, to preview the shot while the yield is chosen.
+	 * 
+	 * @param worm
+	 * 			The worm that would shoot
+	 * @param timeStep
+	 * 			A sufficiently small time interval to avoid that the projectile would pass through
+	 * 			impassable terrain during this interval
+	 * @return worm.getYieldTable(timeStep)
+	 * 			The landing points and hit worms by yield
+	 * @throws	ModelException
+	 * 			The worm is an empty reference (a null pointer) or the calculation has been interrupted.
+	 * 			| worm == null
+	 */
+	public YieldTable getYieldTable(Worm worm, double timeStep)
+			throws ModelException {
+		if (worm == null)
+			throw new ModelException("Invalid worm: null");
+		try {
+			return worm.getYieldTable(timeStep);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ModelException("Yield table calculation interrupted");
+		}
+	}
+
 	/**
 	 * Function that returns the time that the provided projectile will take to executes its jump.
 	 * 
@@ -434,7 +506,7 @@ public class Facade implements IFacade {
 	 * @param worm
 	 * 			The worm of which the active weapon has to be returned
 	 * @return worm.getSelectedWeapon()
-	 * 			The selected weapon of the provided worm
+	 * 			The selected weapon of the provided worm: "Rifle", "Bazooka" or "Cluster bomb"
 	 * @throws	ModelException
 	 * 			The worm is an empty reference (a null pointer), an exception has to be thrown.
 	 * 			| worm == null
@@ -801,6 +873,7 @@ public class Facade implements IFacade {
 
 	/**
 	 * Function that makes the provided worm select its next weapon.
+	 * The weapons are selected in the order Rifle, Bazooka, Cluster bomb, after which the Rifle is selected again.
 	 * 
 	 * @param worm
 	 * 			The worm that has to switch weapons
@@ -817,6 +890,35 @@ public class Facade implements IFacade {
 		worm.selectNextWeapon();
 	}
 
+	/**
+	 * Function that searches the orientations and yields with which the given worm hits the target worm 
+	 * with its current weapon, without shooting.
+	 * 
+	 * @param worm
+	 * 			The worm that has to shoot
+	 * @param target
+	 * 			The worm that has to be hit
+	 * @param timeBudget
+	 * 			The number of milliseconds the candidate shots may be checked
+	 * @return new AimSolver(worm, target, timeBudget).solve()
+	 * 			The shots that hit the target, shortest flight first
+	 * @throws	ModelException
+	 * 			One of the worms is an empty reference (a null pointer), both worms are the same, 
+	 * 			the time budget is negative or the search has been interrupted.
+	 * 			| worm == null || target == null || worm == target || timeBudget < 0
+	 */
+	public List<AimSolution> solveAim(Worm worm, Worm target, long timeBudget)
+			throws ModelException {
+		try {
+			return new AimSolver(worm, target, timeBudget).solve();
+		} catch (IllegalArgumentException e) {
+			throw new ModelException("Invalid worms or time budget");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ModelException("Aim search interrupted");
+		}
+	}
+
 	/**
 	 * Function that makes the given worm shoot a projectile of its current weapon with a provided 
 	 * yield.
@@ -1145,4 +1247,189 @@ public class Facade implements IFacade {
 			throw new ModelException("Invalid worm: null");
 		worm.turn(angle);
 	}
+
+	/**
+	 * Function that returns the worm of the provided world with the provided identifier.
+	 * 
+	 * @param world
+	 * 			The world in which the worm has to be looked up
+	 * @param id
+	 * 			The identifier of the worm (see Worm.getId())
+	 * @return world.getWormById(id)
+	 * 			The worm with the provided identifier
+	 * @throws	ModelException
+	 * 			The world is an empty reference (a null pointer) or it has no worm with the provided identifier.
+	 * 			| world == null || world.getWormById(id) == null
+	 */
+	public Worm getWorm(World world, int id) throws ModelException {
+		if (world == null)
+			throw new ModelException("Invalid world: null");
+		Worm worm = world.getWormById(id);
+		if (worm == null)
+			throw new ModelException("Invalid worm id: " + id);
+		return worm;
+	}
+
+	/**
+	 * Function that returns the piece of food of the provided world with the provided identifier.
+	 * 
+	 * @param world
+	 * 			The world in which the piece of food has to be looked up
+	 * @param id
+	 * 			The identifier of the piece of food (see Food.getId())
+	 * @return world.getFoodById(id)
+	 * 			The piece of food with the provided identifier
+	 * @throws	ModelException
+	 * 			The world is an empty reference (a null pointer) or it has no food with the provided identifier.
+	 * 			| world == null || world.getFoodById(id) == null
+	 */
+	public Food getFood(World world, int id) throws ModelException {
+		if (world == null)
+			throw new ModelException("Invalid world: null");
+		Food food = world.getFoodById(id);
+		if (food == null)
+			throw new ModelException("Invalid food id: " + id);
+		return food;
+	}
+
+	/**
+	 * Function that returns the projectile of the provided world with the provided identifier.
+	 * 
+	 * @param world
+	 * 			The world in which the projectile has to be looked up
+	 * @param id
+	 * 			The identifier of the projectile (see Projectile.getId())
+	 * @return world.getProjectileById(id)
+	 * 			The projectile with the provided identifier
+	 * @throws	ModelException
+	 * 			The world is an empty reference (a null pointer) or it has no projectile with the provided identifier.
+	 * 			| world == null || world.getProjectileById(id) == null
+	 */
+	public Projectile getProjectile(World world, int id) throws ModelException {
+		if (world == null)
+			throw new ModelException("Invalid world: null");
+		Projectile projectile = world.getProjectileById(id);
+		if (projectile == null)
+			throw new ModelException("Invalid projectile id: " + id);
+		return projectile;
+	}
+
+	/**
+	 * Function that returns the x-coordinate of the worm, piece of food or projectile of the provided world with the 
+	 * provided identifier.
+	 * 
+	 * @param world
+	 * 			The world in which the object has to be looked up
+	 * @param id
+	 * 			The identifier of the object
+	 * @return world.getObjectById(id).getX()
+	 * 			The x-coordinate of the object
+	 * @throws	ModelException
+	 * 			The world is an empty reference (a null pointer) or it has no object with the provided identifier.
+	 * 			| world == null || world.getObjectById(id) == null
+	 */
+	public double getX(World world, int id) throws ModelException {
+		Object object = this.getObject(world, id);
+		if (object instanceof Worm)
+			return ((Worm) object).getX();
+		if (object instanceof Food)
+			return ((Food) object).getX();
+		return ((Projectile) object).getX();
+	}
+
+	/**
+	 * Function that returns the y-coordinate of the worm, piece of food or projectile of the provided world with the 
+	 * provided identifier.
+	 * 
+	 * @param world
+	 * 			The world in which the object has to be looked up
+	 * @param id
+	 * 			The identifier of the object
+	 * @return world.getObjectById(id).getY()
+	 * 			The y-coordinate of the object
+	 * @throws	ModelException
+	 * 			The world is an empty reference (a null pointer) or it has no object with the provided identifier.
+	 * 			| world == null || world.getObjectById(id) == null
+	 */
+	public double getY(World world, int id) throws ModelException {
+		Object object = this.getObject(world, id);
+		if (object instanceof Worm)
+			return ((Worm) object).getY();
+		if (object instanceof Food)
+			return ((Food) object).getY();
+		return ((Projectile) object).getY();
+	}
+
+	/**
+	 * Function that makes the worm of the provided world with the provided identifier move.
+	 * 
+	 * @param world
+	 * 			The world of the worm
+	 * @param wormId
+	 * 			The identifier of the worm that has to move
+	 * @effect	| this.move(this.getWorm(world, wormId))
+	 */
+	public void move(World world, int wormId) throws ModelException {
+		this.move(this.getWorm(world, wormId));
+	}
+
+	/**
+	 * Function that makes the worm of the provided world with the provided identifier jump.
+	 * 
+	 * @param world
+	 * 			The world of the worm
+	 * @param wormId
+	 * 			The identifier of the worm that has to jump
+	 * @param timeStep
+	 * 			A sufficiently small time interval to avoid that the worm would pass through impassable terrain
+	 * @effect	| this.jump(this.getWorm(world, wormId), timeStep)
+	 */
+	public void jump(World world, int wormId, double timeStep) throws ModelException {
+		this.jump(this.getWorm(world, wormId), timeStep);
+	}
+
+	/**
+	 * Function that makes the worm of the provided world with the provided identifier turn over the provided angle.
+	 * 
+	 * @param world
+	 * 			The world of the worm
+	 * @param wormId
+	 * 			The identifier of the worm that has to turn
+	 * @param angle
+	 * 			The angle over which the worm has to turn
+	 * @effect	| this.turn(this.getWorm(world, wormId), angle)
+	 */
+	public void turn(World world, int wormId, double angle) throws ModelException {
+		this.turn(this.getWorm(world, wormId), angle);
+	}
+
+	/**
+	 * Function that makes the worm of the provided world with the provided identifier shoot with the provided yield.
+	 * 
+	 * @param world
+	 * 			The world of the worm
+	 * @param wormId
+	 * 			The identifier of the worm that has to shoot
+	 * @param yield
+	 * 			The yield with which the worm shoots
+	 * @effect	| this.shoot(this.getWorm(world, wormId), yield)
+	 */
+	public void shoot(World world, int wormId, int yield) throws ModelException {
+		this.shoot(this.getWorm(world, wormId), yield);
+	}
+
+	/**
+	 * Function that returns the worm, piece of food or projectile of the provided world with the provided identifier.
+	 * 
+	 * @throws	ModelException
+	 * 			The world is an empty reference (a null pointer) or it has no object with the provided identifier.
+	 */
+	private Object getObject(World world, int id) throws ModelException {
+		if (world == null)
+			throw new ModelException("Invalid world: null");
+		Object object = world.getObjectById(id);
+		if (object == null)
+			throw new ModelException("Invalid id: " + id);
+		return object;
+	}
 }
@@ -0,0 +1,172 @@
+package worms.model;
+
+/**
+ * A class that implements the fixed-point arithmetic used by worlds with deterministic physics.
+ * Numbers are stored in a long with FRACTION_BITS bits after the binary point. Sines and cosines are read from a
+ * table that is filled with StrictMath and then rounded to fixed-point numbers, so every JVM uses exactly the same
+ * values. Together with integer arithmetic, this makes the results of the physics identical on every platform,
+ * which is not guaranteed for Math.cos, Math.sin and Math.pow.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public final class FixedPoint {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final int FRACTION_BITS = 16;
+	public static final long ONE = 1L << FRACTION_BITS;
+	private static final int TABLE_SIZE = 1 << 14;
+	private static final double TABLE_STEPS_PER_RADIAN = TABLE_SIZE / (2 * Math.PI);
+	private static final long[] SINE_TABLE = new long[TABLE_SIZE];
+
+	/**
+	 * The sine table covers one full circle.
+	 */
+	static {
+		for (int i = 0; i < TABLE_SIZE; i++)
+			SINE_TABLE[i] = toFixed(StrictMath.sin(i * 2 * StrictMath.PI / TABLE_SIZE));
+	}
+
+	/**
+	 * This class only has static functions and can't be instantiated.
+	 */
+	private FixedPoint() {
+	}
+
+	/**
+	 * Function that converts the provided number to the nearest fixed-point number.
+	 *
+	 * @param value
+	 * 			The number that has to be converted
+	 * @return Math.round(value * ONE)
+	 * 			The fixed-point number nearest to the provided number
+	 */
+	public static long toFixed(double value) {
+		return Math.round(value * ONE);
+	}
+
+	/**
+	 * Function that converts the provided fixed-point number to a double. Every fixed-point number can be
+	 * represented exactly.
+	 *
+	 * @param value
+	 * 			The fixed-point number that has to be converted
+	 * @return value / (double) ONE
+	 * 			The provided number as a double
+	 */
+	public static double toDouble(long value) {
+		return value / (double) ONE;
+	}
+
+	/**
+	 * Function that multiplies two fixed-point numbers.
+	 *
+	 * @param first
+	 * 			The first fixed-point number
+	 * @param second
+	 * 			The second fixed-point number
+	 * @return (first * second) >> FRACTION_BITS
+	 * 			The product of both numbers, rounded down to a fixed-point number
+	 */
+	public static long multiply(long first, long second) {
+		return (first * second) >> FRACTION_BITS;
+	}
+
+	/**
+	 * Function that returns the sine of the provided angle from the table, as a fixed-point number.
+	 *
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return SINE_TABLE[index]
+	 * 			The sine of the table entry nearest to the provided angle
+	 */
+	public static long sine(double angle) {
+		return SINE_TABLE[getIndex(angle, 0)];
+	}
+
+	/**
+	 * Function that returns the cosine of the provided angle from the table, as a fixed-point number.
+	 *
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return SINE_TABLE[index + TABLE_SIZE / 4]
+	 * 			The cosine of the table entry nearest to the provided angle
+	 */
+	public static long cosine(double angle) {
+		return SINE_TABLE[getIndex(angle, TABLE_SIZE / 4)];
+	}
+
+	/**
+	 * Function that returns the sine of the provided angle from the table, converted to a double.
+	 *
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return toDouble(sine(angle))
+	 * 			The sine of the provided angle from the table
+	 */
+	public static double sin(double angle) {
+		return toDouble(sine(angle));
+	}
+
+	/**
+	 * Function that returns the cosine of the provided angle from the table, converted to a double.
+	 *
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return toDouble(cosine(angle))
+	 * 			The cosine of the provided angle from the table
+	 */
+	public static double cos(double angle) {
+		return toDouble(cosine(angle));
+	}
+
+	/**
+	 * Method that calculates the position on a parabola through the provided starting point in fixed-point arithmetic.
+	 * Only the inputs are converted to fixed-point numbers; everything else is done with integers.
+	 *
+	 * @param x
+	 * 			The x-coordinate of the starting point
+	 * @param y
+	 * 			The y-coordinate of the starting point
+	 * @param velocity
+	 * 			The initial velocity
+	 * @param angle
+	 * 			The angle under which the parabola starts
+	 * @param gravity
+	 * 			The gravitational acceleration
+	 * @param t
+	 * 			The time at which the position has to be calculated
+	 * @param result
+	 * 			The array in which the (x,y)-coordinates at time t have to be stored
+	 * @post	The provided array holds the (x,y)-coordinates at time t, rounded to fixed-point numbers.
+	 * 			| result[0] == x + velocity * cos(angle) * t
+	 * 			|	&& result[1] == y + velocity * sin(angle) * t - .5 * gravity * t * t
+	 */
+	public static void getParabolaPoint(double x, double y, double velocity,
+			double angle, double gravity, double t, double[] result) {
+		long time = toFixed(t);
+		long fixedVelocity = toFixed(velocity);
+		long velocityX = multiply(fixedVelocity, cosine(angle));
+		long velocityY = multiply(fixedVelocity, sine(angle));
+		long halfGravity = toFixed(.5 * gravity);
+		result[0] = toDouble(toFixed(x) + multiply(velocityX, time));
+		result[1] = toDouble(toFixed(y) + multiply(velocityY, time)
+				- multiply(multiply(halfGravity, time), time));
+	}
+
+	/**
+	 * Function that returns the index in the sine table of the entry nearest to the provided angle.
+	 *
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @param offset
+	 * 			The number of entries that has to be added to the index (a quarter of the table for a cosine)
+	 * @return index
+	 * 			The index of the entry, in the interval [0, TABLE_SIZE[
+	 */
+	private static int getIndex(double angle, int offset) {
+		long index = Math.round(angle * TABLE_STEPS_PER_RADIAN) + offset;
+		return (int) (((index % TABLE_SIZE) + TABLE_SIZE) % TABLE_SIZE);
+	}
+}
@@ -15,8 +15,10 @@ public class Food {
 	 * Declaration of variables.
 	 */
 	public static final double RADIUS = 0.2;
-	private double x, y;
+	private CircleStates states = new CircleStates(1);
+	private int slot = 0;
 	private boolean isTerminated = false;
+	private int id = -1;
 	private World world;
 
 	/**
@@ -37,8 +39,8 @@ public class Food {
 	 */
 	public Food(World world, double x, double y) {
 		this.world = world;
-		this.x = x;
-		this.y = y;
+		this.states.setPosition(this.slot, x, y);
+		this.states.setRadius(this.slot, RADIUS);
 	}
 
 	/**
@@ -55,23 +57,23 @@ public class Food {
 	/**
 	 * Function that returns the x-coordinate of this piece of food.
 	 * 
-	 * @return this.x
+	 * @return this.states.getX(this.slot)
 	 * 			The x-coordinate of this piece of food
 	 */
 	@Basic
 	public double getX() {
-		return this.x;
+		return this.states.getX(this.slot);
 	}
 
 	/**
 	 * Function that returns the y-coordinate of this piece of food.
 	 * 
-	 * @return this.y
+	 * @return this.states.getY(this.slot)
 	 * 			The y-coordinate of this piece of food
 	 */
 	@Basic
 	public double getY() {
-		return this.y;
+		return this.states.getY(this.slot);
 	}
 
 	/**
@@ -111,6 +113,59 @@ public class Food {
 		this.isTerminated = true;
 	}
 
+	/**
+	 * Function that returns the identifier of this piece of food in its world (see World.getObjectById()).
+	 * 
+	 * @return this.id
+	 * 			The identifier of this piece of food, or -1 if this piece of food isn't part of a world (anymore)
+	 */
+	@Basic
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * Method that sets the identifier of this piece of food in its world.
+	 * 
+	 * @param id
+	 * 			The new identifier, or -1 if this piece of food is no longer part of a world
+	 * @post	| (new this).getId() == id
+	 */
+	void setId(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * Function that returns the slot of the store in which the position of this piece of food is kept. While this 
+	 * piece of food is part of a world, that is its position in the food of the world (see World.getFood()).
+	 * 
+	 * @return this.slot
+	 * 			The slot of this piece of food
+	 */
+	@Basic
+	int getSlot() {
+		return this.slot;
+	}
+
+	/**
+	 * Method that moves the position of this piece of food to the provided slot of the provided store, which it is 
+	 * read from from then on. A world moves the food it registers into its own store, and gives the food it removes 
+	 * a store of its own again.
+	 * 
+	 * @param newStates
+	 * 			The store in which the position of this piece of food has to be kept
+	 * @param newSlot
+	 * 			The slot of the store that belongs to this piece of food
+	 * @post	The position of this piece of food hasn't changed.
+	 * 			| (new this).getX() == this.getX() && (new this).getY() == this.getY()
+	 * @post	| (new this).getSlot() == newSlot
+	 */
+	void moveStates(CircleStates newStates, int newSlot) {
+		this.states.copyTo(this.slot, newStates, newSlot);
+		this.states = newStates;
+		this.slot = newSlot;
+	}
+
 	/**
 	 * Function that returns whether or not this piece of food has been terminated.
 	 * 
@@ -0,0 +1,153 @@
+package worms.model;
+
+import java.util.ArrayList;
+
+/**
+ * A class that follows the flights of the fragments of a cluster bomb together.
+ * The state of the fragments is stored as a structure of arrays: one primitive array per property, with the 
+ * fragments that are still flying at the first indices. Every tick, all flying fragments are moved, checked against 
+ * the terrain in one batch query (see World.findImpassable()) and checked against the worms near them; fragments 
+ * that stop are swapped to the end of the arrays. A batch of N fragments thus costs one loop over the ticks, 
+ * instead of N separate flights through Projectile.simulate().
+ * Nothing in the world is changed.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+final class FragmentBatch {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final double MAX_FLIGHT_TIME = 10.0;
+	private final double startX, startY;
+	private final double[] velocityX, velocityY, x, y, previousX, previousY;
+	private final boolean[] impassable;
+	private int count;
+
+	/**
+	 * Constructor of the class FragmentBatch.
+	 *
+	 * @param startX
+	 * 			The x-coordinate from which all fragments start
+	 * @param startY
+	 * 			The y-coordinate from which all fragments start
+	 * @param velocityX
+	 * 			The horizontal velocity of each fragment; this array is used as it is
+	 * @param velocityY
+	 * 			The initial vertical velocity of each fragment; this array is used as it is
+	 */
+	FragmentBatch(double startX, double startY, double[] velocityX,
+			double[] velocityY) {
+		this.startX = startX;
+		this.startY = startY;
+		this.velocityX = velocityX;
+		this.velocityY = velocityY;
+		this.count = velocityX.length;
+		this.x = new double[this.count];
+		this.y = new double[this.count];
+		this.previousX = new double[this.count];
+		this.previousY = new double[this.count];
+		this.impassable = new boolean[this.count];
+		for (int i = 0; i < this.count; i++) {
+			this.x[i] = startX;
+			this.y[i] = startY;
+		}
+	}
+
+	/**
+	 * Method that follows all fragments until they have hit a worm or impassable terrain, or have left the world.
+	 * A fragment hits the first worm it reaches along the segment between two ticks (see Projectile.getHitFraction()).
+	 *
+	 * @param world
+	 * 			The world in which the fragments fly
+	 * @param radius
+	 * 			The radius of every fragment
+	 * @param gravity
+	 * 			The gravitational acceleration
+	 * @param timeStep
+	 * 			The duration of one tick
+	 * @param ignoredWorms
+	 * 			The worms that the fragments can't hit
+	 * @param hitWorms
+	 * 			The list to which the worm hit by each fragment that hits a worm is added, once per fragment
+	 */
+	void simulate(World world, double radius, double gravity, double timeStep,
+			Worm[] ignoredWorms, ArrayList<Worm> hitWorms) {
+		ArrayList<Worm> nearbyWorms = new ArrayList<Worm>();
+		for (double time = timeStep; this.count > 0 && time <= MAX_FLIGHT_TIME; time += timeStep) {
+			for (int i = 0; i < this.count; i++) {
+				this.previousX[i] = this.x[i];
+				this.previousY[i] = this.y[i];
+				this.x[i] = this.startX + this.velocityX[i] * time;
+				this.y[i] = this.startY + this.velocityY[i] * time - .5 * gravity * time * time;
+			}
+			world.findImpassable(this.x, this.y, this.count, radius, this.impassable);
+			for (int i = this.count - 1; i >= 0; i--) {
+				Worm hitWorm = this.findHitWorm(world, i, radius, ignoredWorms, nearbyWorms);
+				if (hitWorm != null)
+					hitWorms.add(hitWorm);
+				if (hitWorm != null || this.impassable[i]
+						|| !world.liesInWorld(this.x[i], this.y[i], radius))
+					this.stop(i);
+			}
+		}
+	}
+
+	/**
+	 * Function that returns the first worm the provided fragment reaches along its last segment.
+	 */
+	private Worm findHitWorm(World world, int fragment, double radius,
+			Worm[] ignoredWorms, ArrayList<Worm> nearbyWorms) {
+		double x0 = this.previousX[fragment], y0 = this.previousY[fragment];
+		double x1 = this.x[fragment], y1 = this.y[fragment];
+		double halfLength = .5 * Math.sqrt((x1 - x0) * (x1 - x0) + (y1 - y0) * (y1 - y0));
+		nearbyWorms.clear();
+		world.findWorms(.5 * (x0 + x1), .5 * (y0 + y1), halfLength + radius, nearbyWorms);
+		double bestFraction = Double.POSITIVE_INFINITY;
+		Worm bestWorm = null;
+		for (int i = 0; i < nearbyWorms.size(); i++) {
+			Worm worm = nearbyWorms.get(i);
+			if (isIgnored(worm, ignoredWorms))
+				continue;
+			double fraction = Projectile.getHitFraction(x0, y0, x1, y1,
+					worm.getX(), worm.getY(), worm.getRadius() + radius);
+			if (fraction < bestFraction) {
+				bestFraction = fraction;
+				bestWorm = worm;
+			}
+		}
+		return bestWorm;
+	}
+
+	/**
+	 * Function that checks whether or not the provided worm is one of the provided worms.
+	 */
+	private static boolean isIgnored(Worm worm, Worm[] ignoredWorms) {
+		for (Worm ignoredWorm : ignoredWorms)
+			if (worm == ignoredWorm)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Method that stops the provided fragment, by swapping it with the last flying fragment.
+	 */
+	private void stop(int fragment) {
+		int last = --this.count;
+		swap(this.velocityX, fragment, last);
+		swap(this.velocityY, fragment, last);
+		swap(this.x, fragment, last);
+		swap(this.y, fragment, last);
+		swap(this.previousX, fragment, last);
+		swap(this.previousY, fragment, last);
+	}
+
+	/**
+	 * Method that swaps the provided elements of the provided array.
+	 */
+	private static void swap(double[] array, int first, int second) {
+		double element = array[first];
+		array[first] = array[second];
+		array[second] = element;
+	}
+}
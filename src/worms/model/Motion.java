@@ -0,0 +1,180 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that moves a worm or a projectile in the real-time mode of a world. A world with real-time mode advances
+ * all its motions together, one tick of World.TICK_DURATION at a time (see World.advanceTime()). Every motion keeps
+ * its position before and after the last tick, so the renderer can interpolate between them with the interpolation
+ * factor of the world.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public abstract class Motion {
+	/**
+	 * Declaration of variables.
+	 */
+	private double x, y, previousX, previousY;
+	private double elapsedTime = 0;
+	private boolean isFinished = false;
+
+	/**
+	 * Constructor of the class Motion.
+	 *
+	 * @param x
+	 * 			The x-coordinate at which the motion starts
+	 * @param y
+	 * 			The y-coordinate at which the motion starts
+	 * @post	The current and the previous position of this motion are the provided position.
+	 * 			| (new this).getX() == x && (new this).getPreviousX() == x
+	 * 			|	&& (new this).getY() == y && (new this).getPreviousY() == y
+	 */
+	protected Motion(double x, double y) {
+		this.x = x;
+		this.y = y;
+		this.previousX = x;
+		this.previousY = y;
+	}
+
+	/**
+	 * Function that returns the x-coordinate of this motion after the last tick.
+	 *
+	 * @return this.x
+	 * 			The current x-coordinate
+	 */
+	@Basic
+	public double getX() {
+		return this.x;
+	}
+
+	/**
+	 * Function that returns the y-coordinate of this motion after the last tick.
+	 *
+	 * @return this.y
+	 * 			The current y-coordinate
+	 */
+	@Basic
+	public double getY() {
+		return this.y;
+	}
+
+	/**
+	 * Function that returns the x-coordinate of this motion before the last tick.
+	 *
+	 * @return this.previousX
+	 * 			The previous x-coordinate
+	 */
+	@Basic
+	public double getPreviousX() {
+		return this.previousX;
+	}
+
+	/**
+	 * Function that returns the y-coordinate of this motion before the last tick.
+	 *
+	 * @return this.previousY
+	 * 			The previous y-coordinate
+	 */
+	@Basic
+	public double getPreviousY() {
+		return this.previousY;
+	}
+
+	/**
+	 * Function that returns how long this motion has been going on.
+	 *
+	 * @return this.elapsedTime
+	 * 			The time this motion has been advanced
+	 */
+	@Basic
+	public double getElapsedTime() {
+		return this.elapsedTime;
+	}
+
+	/**
+	 * Function that returns whether or not this motion is finished.
+	 *
+	 * @return this.isFinished
+	 * 			Whether or not this motion is finished
+	 */
+	@Basic
+	public boolean isFinished() {
+		return this.isFinished;
+	}
+
+	/**
+	 * Method that stores the position of this motion between the last two ticks in the provided array.
+	 *
+	 * @param alpha
+	 * 			The interpolation factor, between 0 (the previous position) and 1 (the current position)
+	 * @param result
+	 * 			The array in which the interpolated (x,y)-coordinates have to be stored
+	 * @post	| result[0] == this.getPreviousX() + (this.getX() - this.getPreviousX()) * alpha
+	 * 			|	&& result[1] == this.getPreviousY() + (this.getY() - this.getPreviousY()) * alpha
+	 */
+	public void getPosition(double alpha, double[] result) {
+		result[0] = this.previousX + (this.x - this.previousX) * alpha;
+		result[1] = this.previousY + (this.y - this.previousY) * alpha;
+	}
+
+	/**
+	 * Method that advances this motion by one tick.
+	 *
+	 * @param duration
+	 * 			The duration of the tick
+	 * @effect	The current position becomes the previous position and, if this motion isn't finished, it is advanced.
+	 * 			| this.step(duration)
+	 */
+	void advance(double duration) {
+		this.previousX = this.x;
+		this.previousY = this.y;
+		if (this.isFinished())
+			return;
+		this.step(duration);
+		this.elapsedTime += duration;
+	}
+
+	/**
+	 * Method that moves the body of this motion over the provided time, and finishes this motion if it has arrived.
+	 *
+	 * @param duration
+	 * 			The time this motion has to be advanced
+	 */
+	abstract void step(double duration);
+
+	/**
+	 * Method that sets the current position of this motion.
+	 *
+	 * @param x
+	 * 			The new x-coordinate
+	 * @param y
+	 * 			The new y-coordinate
+	 */
+	void moveTo(double x, double y) {
+		this.x = x;
+		this.y = y;
+	}
+
+	/**
+	 * Function that returns the worm that this motion moves.
+	 * 
+	 * @return null
+	 * 			By default, a motion doesn't move any worm
+	 */
+	Worm getMovedWorm() {
+		return null;
+	}
+
+	/**
+	 * Method that marks this motion as finished. The worm it moves, if any, is told that this motion no longer 
+	 * moves it.
+	 */
+	void finish() {
+		if (this.isFinished)
+			return;
+		this.isFinished = true;
+		if (this.getMovedWorm() != null)
+			this.getMovedWorm().removeMotion();
+	}
+}
@@ -0,0 +1,34 @@
+package worms.model;
+
+/**
+ * An interface for the calculation of the motion of worms and projectiles in the air.
+ * A world uses one motion integrator for every jump and every shot in it (see World.setMotionIntegrator()).
+ * Implementations have to be stateless, or keep their state per thread, because jumps and shots can be simulated
+ * on several threads at once.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public interface MotionIntegrator {
+	/**
+	 * Method that stores the position at time t of an object launched from the provided position with the provided
+	 * velocity and angle, in the provided array.
+	 *
+	 * @param x
+	 * 			The x-coordinate from which the object is launched
+	 * @param y
+	 * 			The y-coordinate from which the object is launched
+	 * @param velocity
+	 * 			The initial velocity of the object
+	 * @param angle
+	 * 			The angle under which the object is launched
+	 * @param gravity
+	 * 			The gravitational acceleration
+	 * @param t
+	 * 			The time after the launch
+	 * @param result
+	 * 			The array in which the (x,y)-coordinates at time t have to be stored
+	 */
+	void getPosition(double x, double y, double velocity, double angle,
+			double gravity, double t, double[] result);
+}
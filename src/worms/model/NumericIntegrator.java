@@ -0,0 +1,165 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that calculates the motion of worms and projectiles by integrating their acceleration numerically, in steps
+ * of a fixed size. The acceleration is only gravity, but subclasses can override getAcceleration() to add wind, drag
+ * or a gravity that depends on the position.
+ *
+ * The steps always start at the launch, but every thread remembers the state after the last whole step of the
+ * motion it asked for last. Asking for a later position of the same motion continues from there, so following a
+ * motion step by step takes as many integration steps as the motion is long, instead of integrating it from the
+ * launch for every position. The positions are exactly the same as when they are integrated from the launch.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public abstract class NumericIntegrator implements MotionIntegrator {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final double DEFAULT_STEP = 1e-3;
+	private static final ThreadLocal<Integration> INTEGRATION = new ThreadLocal<Integration>() {
+		@Override
+		protected Integration initialValue() {
+			return new Integration();
+		}
+	};
+	private final double step;
+
+	/**
+	 * Constructor of the class NumericIntegrator.
+	 *
+	 * @param step
+	 * 			The size of one integration step (in seconds)
+	 * @post	The step of this integrator is the provided step.
+	 * 			| (new this).getStep() == step
+	 * @throws	IllegalArgumentException
+	 * 			The provided step isn't a positive number.
+	 * 			| !(step > 0)
+	 */
+	protected NumericIntegrator(double step) throws IllegalArgumentException {
+		if (!(step > 0))
+			throw new IllegalArgumentException();
+		this.step = step;
+	}
+
+	/**
+	 * Function that returns the size of one integration step of this integrator.
+	 *
+	 * @return this.step
+	 * 			The step of this integrator (in seconds)
+	 */
+	@Basic
+	public double getStep() {
+		return this.step;
+	}
+
+	/**
+	 * Method that integrates the motion until time t, in steps of this.getStep() from the launch and one last
+	 * shorter step. The whole steps that have been integrated before for the same motion on this thread are
+	 * skipped.
+	 */
+	@Override
+	public void getPosition(double x, double y, double velocity, double angle,
+			double gravity, double t, double[] result) {
+		Integration integration = INTEGRATION.get();
+		if (!integration.continues(this, x, y, velocity, angle, gravity, t))
+			integration.start(this, x, y, velocity, angle, gravity);
+		double[] state = integration.state;
+		while (integration.time + this.getStep() <= t) {
+			this.integrate(state, this.getStep(), gravity, integration.acceleration);
+			integration.time += this.getStep();
+		}
+		if (t > integration.time) {
+			state = integration.lastStepState;
+			System.arraycopy(integration.state, 0, state, 0, state.length);
+			this.integrate(state, t - integration.time, gravity, integration.acceleration);
+		}
+		result[0] = state[0];
+		result[1] = state[1];
+	}
+
+	/**
+	 * Method that stores the acceleration of an object in the provided state in the provided array.
+	 * The acceleration may only depend on the provided arguments, because integrated steps are reused.
+	 *
+	 * @param x
+	 * 			The x-coordinate of the object
+	 * @param y
+	 * 			The y-coordinate of the object
+	 * @param velocityX
+	 * 			The horizontal velocity of the object
+	 * @param velocityY
+	 * 			The vertical velocity of the object
+	 * @param gravity
+	 * 			The gravitational acceleration
+	 * @param result
+	 * 			The array in which the horizontal and vertical acceleration have to be stored
+	 * @post	The acceleration is gravity only.
+	 * 			| result[0] == 0 && result[1] == -gravity
+	 */
+	protected void getAcceleration(double x, double y, double velocityX,
+			double velocityY, double gravity, double[] result) {
+		result[0] = 0;
+		result[1] = -gravity;
+	}
+
+	/**
+	 * Method that advances the provided state (x, y, horizontal velocity, vertical velocity) by one step.
+	 *
+	 * @param state
+	 * 			The state that has to be advanced
+	 * @param step
+	 * 			The size of the step (in seconds)
+	 * @param gravity
+	 * 			The gravitational acceleration
+	 * @param acceleration
+	 * 			An array of two elements in which getAcceleration() can store the acceleration, so no array has to
+	 * 			be allocated for every step
+	 */
+	protected abstract void integrate(double[] state, double step,
+			double gravity, double[] acceleration);
+
+	/**
+	 * A class that holds the motion a thread integrated last: its launch, the state after the last whole step and
+	 * the time of that step.
+	 */
+	private static class Integration {
+		private final double[] state = new double[4];
+		private final double[] lastStepState = new double[4];
+		private final double[] acceleration = new double[2];
+		private NumericIntegrator integrator;
+		private double x, y, velocity, angle, gravity, time;
+
+		/**
+		 * Function that checks whether or not the position at time t of the provided motion can be integrated
+		 * from the state of this integration.
+		 */
+		private boolean continues(NumericIntegrator integrator, double x,
+				double y, double velocity, double angle, double gravity, double t) {
+			return this.integrator == integrator && this.x == x && this.y == y
+					&& this.velocity == velocity && this.angle == angle
+					&& this.gravity == gravity && this.time <= t;
+		}
+
+		/**
+		 * Method that sets this integration to the launch of the provided motion.
+		 */
+		private void start(NumericIntegrator integrator, double x, double y,
+				double velocity, double angle, double gravity) {
+			this.integrator = integrator;
+			this.x = x;
+			this.y = y;
+			this.velocity = velocity;
+			this.angle = angle;
+			this.gravity = gravity;
+			this.time = 0;
+			this.state[0] = x;
+			this.state[1] = y;
+			this.state[2] = velocity * Math.cos(angle);
+			this.state[3] = velocity * Math.sin(angle);
+		}
+	}
+}
@@ -1,9 +1,13 @@
 package worms.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+
 import be.kuleuven.cs.som.annotate.Basic;
 
 /**
- * A class that implements all the aspects related to the projectiles in this game. This is the superclass for the subclasses Rifle and Bazooka.
+ * A class that implements all the aspects related to the projectiles in this game. This is the superclass for the subclasses Rifle, Bazooka and ClusterBomb.
  * The values of the properties for this class are dummy-values. This means that the values that are particular to a certain type of projectile (rifle bullet or bazooka) 
  * will be set in each of the subclasses, while the implementation of the functions is written in this class.
  * When necessary, particular functions in this class will be overridden in the subclasses.
@@ -33,8 +37,24 @@ public class Projectile {
 	private double force = 0;
 	private double upperForce, lowerForce;
 	private boolean isTerminated = false;
+	private int id = -1;
 	private String weaponName = "Projectile";
 	private Worm worm;
+	private final Trajectory trajectory = new Trajectory();
+	private long stateVersion = 0, trajectoryVersion = -1;
+	private double trajectoryStep, trajectoryForce;
+	private static final ThreadLocal<double[]> JUMP_STEP_BUFFER = new ThreadLocal<double[]>() {
+		@Override
+		protected double[] initialValue() {
+			return new double[2];
+		}
+	};
+	private static final ThreadLocal<ArrayList<Worm>> NEARBY_WORMS_BUFFER = new ThreadLocal<ArrayList<Worm>>() {
+		@Override
+		protected ArrayList<Worm> initialValue() {
+			return new ArrayList<Worm>();
+		}
+	};
 
 	/**
 	 * Constructor of the class Projectile.
@@ -59,15 +79,15 @@ public class Projectile {
 	public Projectile(Worm worm) throws IllegalArgumentException {
 		this.worm = worm;
 		if (!Worm.isValidX(this.getWorm().getX()
-				+ (Math.cos(this.getWorm().getOrientation()) * this.getWorm()
+				+ (this.cos(this.getWorm().getOrientation()) * this.getWorm()
 						.getRadius()))
 				|| !Worm.isValidY(worm.getY()
-						+ (Math.sin(worm.getOrientation()) * worm.getRadius())))
+						+ (this.sin(worm.getOrientation()) * worm.getRadius())))
 			throw new IllegalArgumentException();
 		this.x = worm.getX()
-				+ (Math.cos(worm.getOrientation()) * worm.getRadius());
+				+ (this.cos(worm.getOrientation()) * worm.getRadius());
 		this.y = worm.getY()
-				+ (Math.sin(worm.getOrientation()) * worm.getRadius());
+				+ (this.sin(worm.getOrientation()) * worm.getRadius());
 		this.direction = worm.recalculateAngle(worm.getOrientation());
 	}
 
@@ -176,7 +196,7 @@ public class Projectile {
 	 * 			The radius of this projectile
 	 */
 	public double getRadius() {
-		return Math.cbrt((3 * (mass / DENSITY)) / (4 * Math.PI));
+		return this.cbrt((3 * (mass / DENSITY)) / (4 * Math.PI));
 	}
 
 	/**
@@ -189,8 +209,31 @@ public class Projectile {
 		return (this.getForce() / this.getMass()) * .5;
 	}
 
+	/**
+	 * Function that returns the radius of the explosion of this projectile on impact.
+	 * A projectile without explosion only damages the worm it hits.
+	 * 
+	 * @return 0
+	 * 			This projectile doesn't explode
+	 */
+	public double getBlastRadius() {
+		return 0;
+	}
+
+	/**
+	 * Function that returns the distance over which the explosion of this projectile pushes away a worm at its 
+	 * center, if its world allows knockback.
+	 * 
+	 * @return 0
+	 * 			This projectile doesn't push worms away
+	 */
+	public double getKnockback() {
+		return 0;
+	}
+
 	/**
 	 * Function that returns the time this projectile will travel before exploding.
+	 * The flight is followed in the same way as in jump(), but the worm that is hit isn't damaged.
 	 * 
 	 * @param timeStep 
 	 * 			A time scale for which the projectile will not go through any impassable terrain
@@ -198,16 +241,46 @@ public class Projectile {
 	 * 			The time this projectile will travel before exploding.
 	 */
 	public double getJumpTime(double timeStep) {
-		double newX = 0, newY = 0;
-		double[] jumpStep = new double[2];
-		double totalJumpTime = 0;
-		do {
-			jumpStep = this.getJumpStep(totalJumpTime);
-			newX = jumpStep[0];
-			newY = jumpStep[1];
-			totalJumpTime += timeStep;
-		} while (!(this.isJumpFinished(newX, newY)));
-		return totalJumpTime;
+		return this.getTrajectory(timeStep).getDuration();
+	}
+
+	/**
+	 * Function that returns the trajectory of the flight of this projectile, to animate it without doing any physics.
+	 * The trajectory is calculated once when this projectile is fired (or when it is asked for before that) and 
+	 * stays the same until this projectile is aimed again, so the animation after the shot shows the flight that 
+	 * has actually happened, even if the worm that was hit has left the world since.
+	 * 
+	 * @param timeStep 
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 * @return this.trajectory
+	 * 			The trajectory of the flight of this projectile
+	 */
+	public Trajectory getTrajectory(double timeStep) {
+		if (this.trajectoryVersion != this.stateVersion
+				|| this.trajectoryStep != timeStep
+				|| this.trajectoryForce != this.getForce())
+			this.calculateTrajectory(timeStep, this.simulate(timeStep));
+		return this.trajectory;
+	}
+
+	/**
+	 * Method that fills in the trajectory of this projectile for the provided flight.
+	 * 
+	 * @param timeStep 
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 * @param outcome
+	 * 			The outcome of the flight with the provided time step
+	 */
+	private void calculateTrajectory(double timeStep, TrajectoryOutcome outcome) {
+		double[] jumpStep = JUMP_STEP_BUFFER.get();
+		this.trajectory.reset(outcome.getDuration(), timeStep, outcome.getEndEvent());
+		for (int i = 0; i < this.trajectory.getNumberOfSamples(); i++) {
+			this.getJumpStep(this.trajectory.getTime(i), jumpStep);
+			this.trajectory.setSample(i, jumpStep[0], jumpStep[1]);
+		}
+		this.trajectoryVersion = this.stateVersion;
+		this.trajectoryStep = timeStep;
+		this.trajectoryForce = this.getForce();
 	}
 
 	/**
@@ -219,28 +292,79 @@ public class Projectile {
 	 * 			An array which holds the (x,y)-coordinates of this projectile after being shot at time t
 	 */
 	public double[] getJumpStep(double t) {
-		double initVelocityX = this.getInitialVelocity()
-				* Math.cos(this.getOrientation());
-		double initVelocityY = this.getInitialVelocity()
-				* Math.sin(this.getOrientation());
-		double Xt = this.getX() + (initVelocityX * t);
-		double Yt = this.getY()
-				+ ((initVelocityY * t) - (.5 * this.getWorm().GRAV_CST * Math
-						.pow(t, 2)));
-		double[] result = { Xt, Yt };
+		double[] result = new double[2];
+		this.getJumpStep(t, result);
 		return result;
 	}
 
+	/**
+	 * Method that stores the (x,y)-coordinates of this projectile after being shot at time t in the provided array.
+	 * 
+	 * @param t
+	 * 			The time after being shot
+	 * @param result
+	 * 			The array in which the (x,y)-coordinates of this projectile at time t have to be stored
+	 * @effect	The (x,y)-coordinates of this projectile at time t are calculated by the motion integrator of 
+	 * 			its world, which is the closed-form parabola by default.
+	 * 			| this.getWorm().getWorld().getMotionIntegrator().getPosition(this.getX(), this.getY(), 
+	 * 			|	this.getInitialVelocity(), this.getOrientation(), this.getWorm().GRAV_CST, t, result)
+	 */
+	public void getJumpStep(double t, double[] result) {
+		this.getJumpStep(this.getX(), this.getY(), this.getInitialVelocity(),
+				this.getOrientation(), t, result);
+	}
+
+	/**
+	 * Method that stores the (x,y)-coordinates at time t of a projectile of this kind, fired from the provided 
+	 * position with the provided velocity and angle, in the provided array. Nothing is changed.
+	 * 
+	 * @param startX
+	 * 			The x-coordinate from which the projectile is fired
+	 * @param startY
+	 * 			The y-coordinate from which the projectile is fired
+	 * @param velocity
+	 * 			The initial velocity of the projectile
+	 * @param angle
+	 * 			The angle under which the projectile is fired
+	 * @param t
+	 * 			The time after being shot
+	 * @param result
+	 * 			The array in which the (x,y)-coordinates at time t have to be stored
+	 */
+	void getJumpStep(double startX, double startY, double velocity,
+			double angle, double t, double[] result) {
+		if (this.getWorm().getWorld().isFixedPointPhysics()) {
+			FixedPoint.getParabolaPoint(startX, startY, velocity, angle,
+					this.getWorm().GRAV_CST, t, result);
+			return;
+		}
+		this.getWorm().getWorld().getMotionIntegrator().getPosition(startX,
+				startY, velocity, angle, this.getWorm().GRAV_CST, t, result);
+	}
+
 	/**
 	 * Function which will define the correct force to fire this projectile, according to the given yield.
 	 * 
 	 * @param yield
 	 * 			The propulsion yield with which this projectile has to be fired
 	 * @post	The force must be calculated, according to the propulsion yield.
-	 * 			| (new this).getForce() == this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100)
+	 * 			| (new this).getForce() == this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
 	 */
 	public void setForce(int yield) {
-		this.force = this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100);
+		this.force = this.calculateForce(yield);
+	}
+
+	/**
+	 * Function that calculates the force with which this projectile is fired for the provided yield, without 
+	 * changing the force of this projectile.
+	 * 
+	 * @param yield
+	 * 			The propulsion yield with which this projectile would be fired
+	 * @return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
+	 * 			The force for the provided yield
+	 */
+	public double calculateForce(int yield) {
+		return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0);
 	}
 	
 	/**
@@ -253,6 +377,7 @@ public class Projectile {
 	 */
 	public void setOrientation(double orientation) {
 		this.direction = orientation;
+		this.stateVersion++;
 	}
 
 	/**
@@ -270,6 +395,7 @@ public class Projectile {
 		if (!Worm.isValidX(newX))
 			throw new IllegalArgumentException();
 		this.x = newX;
+		this.stateVersion++;
 	}
 
 	/**
@@ -287,6 +413,7 @@ public class Projectile {
 		if (!Worm.isValidY(newY))
 			throw new IllegalArgumentException();
 		this.y = newY;
+		this.stateVersion++;
 	}
 
 	/**
@@ -315,7 +442,13 @@ public class Projectile {
 	 * @post	The y-coordinate of this projectile must be adjusted.
 	 * 			| (new this).getY() == newY
 	 * @effect	If the projectile hits a worm, that worm's Hit Points have to be reduced (a worm cannot hit itself).
-	 * 			| this.hitsWorm()
+	 * 			The worms that are hit are the ones of the outcome of the simulated flight; a projectile that 
+	 * 			explodes also damages and pushes away the worms around its impact.
+	 * 			| this.applyOutcome(this.simulate(timeStep))
+	 * @effect	In the real-time mode of the world, the flight is only started and this projectile is moved, 
+	 * 			checked and removed tick by tick by a ProjectileMotion.
+	 * 			| if (this.getWorm().getWorld().isRealTime())
+	 * 			|	then this.getWorm().getWorld().addMotion(new ProjectileMotion(this, timeStep))
 	 * @effect	At the end, this projectile has to be removed from the game world.
 	 * 			| (new this).getWorm().getWorld().removeProjectileFromWorld(this)
 	 * @throws	ArithmeticException
@@ -325,34 +458,257 @@ public class Projectile {
 	public void jump(double timeStep) throws ArithmeticException {
 		if (!canJump())
 			throw new ArithmeticException();
-		double newX = 0, newY = 0;
-		double[] jumpStep = new double[2];
-		double totalJumpTime = 0;
-		do {
-			jumpStep = this.getJumpStep(totalJumpTime);
-			newX = jumpStep[0];
-			newY = jumpStep[1];
-			totalJumpTime += timeStep;
-		} while (!(this.isJumpFinished(newX, newY)));
+		if (this.getWorm().getWorld().isRealTime()) {
+			this.getWorm().getWorld().addMotion(new ProjectileMotion(this, timeStep));
+			return;
+		}
+		TrajectoryOutcome outcome = this.simulate(timeStep);
+		this.calculateTrajectory(timeStep, outcome);
+		this.applyOutcome(outcome);
 		this.getWorm().getWorld().removeProjectileFromWorld(this);
 	}
 
 	/**
-	 * Function that handles the events that need to be handled when a worm is hit.
+	 * Function that simulates the flight of this projectile as it is aimed now, without changing anything.
 	 * 
-	 * @post	The Hit Points of the worm that has been hit have to be adjusted, according to the number of Hit Points that should be removed for a certain projectile.
-	 * 			| hitWorm.setHitPoints(hitWorm.getHitPoints() - this.getHitPointsReduction())
+	 * @param timeStep
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 * @return this.simulate(this.getX(), this.getY(), this.getInitialVelocity(), this.getOrientation(), timeStep)
+	 * 			The outcome of the flight of this projectile
+	 * @throws	CancellationException
+	 * 			The calling thread has been interrupted while the flight was followed.
+	 */
+	public TrajectoryOutcome simulate(double timeStep) {
+		return this.simulate(this.getX(), this.getY(),
+				this.getInitialVelocity(), this.getOrientation(), timeStep);
+	}
+
+	/**
+	 * Function that simulates the flight of this projectile if the worm it belongs to would fire it in the provided 
+	 * direction with the provided yield, without changing anything: not this projectile, nor its worm, nor the world.
+	 * Simulations only read the world, so many candidate shots can be simulated at once on several threads, 
+	 * as long as the world isn't changed in the meantime.
+	 * 
+	 * @param orientation
+	 * 			The direction in which the projectile would be fired
+	 * @param yield
+	 * 			The propulsion yield with which the projectile would be fired
+	 * @param timeStep
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 * @return outcome
+	 * 			The outcome of the flight, fired from the rim of the worm in the provided direction
+	 * @throws	CancellationException
+	 * 			The calling thread has been interrupted while the flight was followed.
+	 */
+	public TrajectoryOutcome simulate(double orientation, int yield,
+			double timeStep) {
+		Worm worm = this.getWorm();
+		double startX = worm.getX() + this.cos(orientation) * worm.getRadius();
+		double startY = worm.getY() + this.sin(orientation) * worm.getRadius();
+		double velocity = (this.calculateForce(yield) / this.getMass()) * .5;
+		return this.simulate(startX, startY, velocity, orientation, timeStep);
+	}
+
+	/**
+	 * Function that follows the flight of a projectile of this kind step by step, until it hits a worm, hits 
+	 * impassable terrain or leaves its world. Nothing is changed.
+	 * Worms are hit along the straight segment between two steps, not only at the steps themselves, so a fast 
+	 * projectile can't pass through a worm in between two steps. Terrain is checked at every step, like before.
+	 * Only the worms in the grid of the world around every segment are tested (see findHitWorm()), so following 
+	 * the flight takes time in the order of the number of steps plus the number of worms near the flight.
+	 * The flight is given up as soon as the calling thread is interrupted, so a simulation whose result is no 
+	 * longer waited for (such as a candidate of an AimSolver that ran out of time) doesn't keep its thread busy.
+	 * 
+	 * @param startX
+	 * 			The x-coordinate from which the projectile is fired
+	 * @param startY
+	 * 			The y-coordinate from which the projectile is fired
+	 * @param velocity
+	 * 			The initial velocity of the projectile
+	 * @param angle
+	 * 			The angle under which the projectile is fired
+	 * @param timeStep
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 * @return outcome
+	 * 			The outcome of the flight: where and when it ends, why, and the worm that is hit
+	 * @throws	CancellationException
+	 * 			The calling thread has been interrupted while the flight was followed.
+	 * 			| Thread.currentThread().isInterrupted()
+	 */
+	private TrajectoryOutcome simulate(double startX, double startY,
+			double velocity, double angle, double timeStep) {
+		double[] jumpStep = JUMP_STEP_BUFFER.get();
+		World world = this.getWorm().getWorld();
+		double radius = this.getRadius();
+		Worm hitWorm = null;
+		this.getJumpStep(startX, startY, velocity, angle, 0, jumpStep);
+		double previousX = jumpStep[0], previousY = jumpStep[1];
+		double previousTime = 0, time = 0, endTime;
+		int endEvent;
+		while (true) {
+			if (Thread.currentThread().isInterrupted())
+				throw new CancellationException("Simulation interrupted");
+			hitWorm = this.findHitWorm(previousX, previousY, jumpStep[0], jumpStep[1]);
+			if (hitWorm != null) {
+				double fraction = getHitFraction(previousX, previousY, jumpStep[0],
+						jumpStep[1], hitWorm.getX(), hitWorm.getY(),
+						hitWorm.getRadius() + radius);
+				endTime = previousTime + fraction * (time - previousTime);
+				endEvent = Trajectory.HIT_WORM;
+				break;
+			}
+			if (!world.liesInWorld(jumpStep[0], jumpStep[1], radius)) {
+				endTime = time + timeStep;
+				endEvent = Trajectory.LEFT_WORLD;
+				break;
+			}
+			if (world.isImpassable(jumpStep[0], jumpStep[1], radius)) {
+				endTime = time + timeStep;
+				endEvent = Trajectory.HIT_TERRAIN;
+				break;
+			}
+			previousX = jumpStep[0];
+			previousY = jumpStep[1];
+			previousTime = time;
+			time += timeStep;
+			this.getJumpStep(startX, startY, velocity, angle, time, jumpStep);
+		}
+		this.getJumpStep(startX, startY, velocity, angle, endTime, jumpStep);
+		return this.createOutcome(jumpStep[0], jumpStep[1], endTime, endEvent,
+				hitWorm);
+	}
+
+	/**
+	 * Function that creates the outcome of a flight of this projectile that ends at the provided position.
+	 * A projectile without explosion only damages the worm it hits. A projectile that explodes damages every worm 
+	 * (except the worm it belongs to) within its blast radius, unless it has left the world: the damage falls off 
+	 * linearly from the full damage at the center of the explosion to nothing at the blast radius, by the distance 
+	 * from the center to the nearest point of the worm, less the radius of this projectile. The worms are looked up 
+	 * in the grid of the world within the blast radius plus the radius of this projectile, so only the worms near the 
+	 * explosion are looked at and none that the falloff reaches is missed. The worm that is hit directly always 
+	 * comes first, with the full damage, even if the blast radius is smaller than this projectile. Nothing is changed.
+	 * 
+	 * @param x
+	 * 			The x-coordinate at which the flight ends
+	 * @param y
+	 * 			The y-coordinate at which the flight ends
+	 * @param duration
+	 * 			The time the flight takes
+	 * @param endEvent
+	 * 			The event that ended the flight
+	 * @param hitWorm
+	 * 			The worm that is hit directly, or null if no worm is hit
+	 * @return outcome
+	 * 			The outcome of the flight
+	 */
+	TrajectoryOutcome createOutcome(double x, double y, double duration,
+			int endEvent, Worm hitWorm) {
+		double blastRadius = this.getBlastRadius();
+		if (blastRadius <= 0 || endEvent == Trajectory.LEFT_WORLD) {
+			if (hitWorm == null)
+				return new TrajectoryOutcome(x, y, duration, endEvent,
+						new Worm[0], new int[0]);
+			return new TrajectoryOutcome(x, y, duration, endEvent,
+					new Worm[] { hitWorm }, new int[] { this.getHitPointsReduction() });
+		}
+		ArrayList<Worm> nearbyWorms = NEARBY_WORMS_BUFFER.get();
+		nearbyWorms.clear();
+		this.getWorm().getWorld().findWorms(x, y, blastRadius + this.getRadius(), nearbyWorms);
+		nearbyWorms.remove(this.getWorm());
+		// The worm that is hit directly comes first.
+		if (hitWorm != null) {
+			int directHit = nearbyWorms.indexOf(hitWorm);
+			if (directHit == -1)
+				nearbyWorms.add(0, hitWorm);
+			else if (directHit > 0)
+				Collections.swap(nearbyWorms, 0, directHit);
+		}
+		Worm[] hitWorms = new Worm[nearbyWorms.size()];
+		int[] damages = new int[nearbyWorms.size()];
+		for (int i = 0; i < hitWorms.length; i++) {
+			Worm worm = nearbyWorms.get(i);
+			double distance = Math.sqrt((x - worm.getX()) * (x - worm.getX())
+					+ (y - worm.getY()) * (y - worm.getY()));
+			double gap = Math.max(0, distance - worm.getRadius() - this.getRadius());
+			hitWorms[i] = worm;
+			damages[i] = worm == hitWorm ? this.getHitPointsReduction()
+					: (int) Math.round(this.getHitPointsReduction()
+							* Math.max(0, 1 - gap / blastRadius));
+		}
+		nearbyWorms.clear();
+		return new TrajectoryOutcome(x, y, duration, endEvent, hitWorms, damages);
+	}
+
+	/**
+	 * Method that applies the provided outcome of a flight of this projectile to the worms it hits.
+	 * Every hit worm loses its damage. If the world allows knockback, the worms that survive an explosion are 
+	 * pushed away from its center, by the knockback of this projectile with the same falloff as the damage. Only the 
+	 * hit worms are pushed; afterwards the world settles the pushed worms, so the ones that no longer stand on 
+	 * terrain fall together (see World.settleWorms(Collection)). Only the worms near the explosion are looked at.
+	 * 
+	 * @param outcome
+	 * 			The outcome of the flight
+	 * @effect	The hit worms lose their damage.
+	 * 			| for each index in 0..outcome.getNumberOfHitWorms() - 1:
+	 * 			|	outcome.getHitWorm(index).setHitPoints(outcome.getHitWorm(index).getHitPoints() - outcome.getDamage(index))
+	 */
+	void applyOutcome(TrajectoryOutcome outcome) {
+		for (int i = 0; i < outcome.getNumberOfHitWorms(); i++) {
+			Worm hitWorm = outcome.getHitWorm(i);
+			hitWorm.setHitPoints(hitWorm.getHitPoints() - outcome.getDamage(i));
+		}
+		double blastRadius = this.getBlastRadius();
+		if (blastRadius <= 0 || this.getKnockback() <= 0
+				|| !this.getWorm().getWorld().isExplosionKnockback())
+			return;
+		ArrayList<Worm> pushedWorms = new ArrayList<Worm>(outcome.getNumberOfHitWorms());
+		for (int i = 0; i < outcome.getNumberOfHitWorms(); i++) {
+			Worm hitWorm = outcome.getHitWorm(i);
+			if (hitWorm.isTerminated())
+				continue;
+			double distanceX = hitWorm.getX() - outcome.getX();
+			double distanceY = hitWorm.getY() - outcome.getY();
+			double distance = Math.sqrt(distanceX * distanceX + distanceY * distanceY);
+			if (distance == 0) {
+				distanceX = 0;
+				distanceY = 1;
+				distance = 1;
+			}
+			double gap = Math.max(0, distance - hitWorm.getRadius() - this.getRadius());
+			double push = this.getKnockback() * Math.max(0, 1 - gap / blastRadius);
+			hitWorm.knockBack(distanceX / distance * push, distanceY / distance * push);
+			pushedWorms.add(hitWorm);
+		}
+		this.getWorm().getWorld().settleWorms(pushedWorms);
+	}
+
+	/**
+	 * Function that checks whether or not this projectile, at the provided position, overlaps a worm other than 
+	 * the worm it belongs to. Nothing is changed; the damage is only done when this projectile is fired.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of this projectile
+	 * @param y
+	 * 			The y-coordinate of this projectile
+	 * @return true
+	 * 			This projectile overlaps another worm at the provided position
+	 * @return false
+	 * 			This projectile doesn't overlap any other worm at the provided position
 	 */
 	public boolean hitsWorm(double x, double y) {
-		for (Worm hitWorm : this.getWorm().getWorld().getWorms()) {
+		ArrayList<Worm> nearbyWorms = NEARBY_WORMS_BUFFER.get();
+		nearbyWorms.clear();
+		this.getWorm().getWorld().findWorms(x, y, this.getRadius(), nearbyWorms);
+		boolean hitsWorm = false;
+		for (int i = 0; i < nearbyWorms.size() && !hitsWorm; i++) {
+			Worm hitWorm = nearbyWorms.get(i);
 			if (hitWorm != this.getWorm() && Math.sqrt(Math.pow((x - hitWorm.getX()), 2)
 					+ Math.pow((y - hitWorm.getY()), 2)) < this
-					.getRadius() + hitWorm.getRadius()) {
-				hitWorm.setHitPoints(hitWorm.getHitPoints() - this.getHitPointsReduction());
-				return true;
-			}
+					.getRadius() + hitWorm.getRadius())
+				hitsWorm = true;
 		}
-		return false;
+		nearbyWorms.clear();
+		return hitsWorm;
 	}
 
 	/**
@@ -379,6 +735,28 @@ public class Projectile {
 		this.isTerminated = true;
 	}
 
+	/**
+	 * Function that returns the identifier of this projectile in its world (see World.getObjectById()).
+	 * 
+	 * @return this.id
+	 * 			The identifier of this projectile, or -1 if this projectile isn't part of a world (anymore)
+	 */
+	@Basic
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * Method that sets the identifier of this projectile in its world.
+	 * 
+	 * @param id
+	 * 			The new identifier, or -1 if this projectile is no longer part of a world
+	 * @post	| (new this).getId() == id
+	 */
+	void setId(int id) {
+		this.id = id;
+	}
+
 	/**
 	 * Function that returns whether or not this projectile has been terminated.
 	 * 
@@ -391,6 +769,57 @@ public class Projectile {
 		return this.isTerminated;
 	}
 
+	/**
+	 * Function that returns the cosine of the provided angle, taken from the fixed-point table if the world of 
+	 * this projectile uses deterministic physics.
+	 * 
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return FixedPoint.cos(angle)
+	 * 			The world of this projectile uses fixed-point physics
+	 * @return Math.cos(angle)
+	 * 			The world of this projectile doesn't use fixed-point physics
+	 */
+	double cos(double angle) {
+		if (this.getWorm().getWorld().isFixedPointPhysics())
+			return FixedPoint.cos(angle);
+		return Math.cos(angle);
+	}
+
+	/**
+	 * Function that returns the sine of the provided angle, taken from the fixed-point table if the world of 
+	 * this projectile uses deterministic physics.
+	 * 
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return FixedPoint.sin(angle)
+	 * 			The world of this projectile uses fixed-point physics
+	 * @return Math.sin(angle)
+	 * 			The world of this projectile doesn't use fixed-point physics
+	 */
+	double sin(double angle) {
+		if (this.getWorm().getWorld().isFixedPointPhysics())
+			return FixedPoint.sin(angle);
+		return Math.sin(angle);
+	}
+
+	/**
+	 * Function that returns the cube root of the provided value, calculated with StrictMath if the world of this 
+	 * projectile uses deterministic physics.
+	 * 
+	 * @param value
+	 * 			The value of which the cube root has to be calculated
+	 * @return StrictMath.cbrt(value)
+	 * 			The world of this projectile uses fixed-point physics
+	 * @return Math.cbrt(value)
+	 * 			The world of this projectile doesn't use fixed-point physics
+	 */
+	double cbrt(double value) {
+		if (this.getWorm().getWorld().isFixedPointPhysics())
+			return StrictMath.cbrt(value);
+		return Math.cbrt(value);
+	}
+
 	/**
 	 * Function that returns whether or not the jump of this projectile is finished.
 	 * 
@@ -411,4 +840,83 @@ public class Projectile {
 		boolean hasHitWorm = this.hitsWorm(newX, newY);
 		return (!projectileLiesInWorld || projectileHitsImpTerrain || hasHitWorm);
 	}
+
+	/**
+	 * Function that returns the first worm other than the worm it belongs to that this projectile hits along the 
+	 * segment from (x0,y0) to (x1,y1), with the worms where they are now. Only the worms in the grid of the world 
+	 * around the segment are looked at. Nothing is changed.
+	 * 
+	 * @param x0
+	 * 			The x-coordinate at the start of the segment
+	 * @param y0
+	 * 			The y-coordinate at the start of the segment
+	 * @param x1
+	 * 			The x-coordinate at the end of the segment
+	 * @param y1
+	 * 			The y-coordinate at the end of the segment
+	 * @return hitWorm
+	 * 			The worm that is reached first along the segment, or null if no worm is hit
+	 */
+	Worm findHitWorm(double x0, double y0, double x1, double y1) {
+		ArrayList<Worm> nearbyWorms = NEARBY_WORMS_BUFFER.get();
+		nearbyWorms.clear();
+		this.getWorm().getWorld().findWorms(x0, y0, x1, y1, this.getRadius(), nearbyWorms);
+		double bestFraction = Double.POSITIVE_INFINITY;
+		Worm bestWorm = null;
+		for (int i = 0; i < nearbyWorms.size(); i++) {
+			Worm worm = nearbyWorms.get(i);
+			if (worm == this.getWorm())
+				continue;
+			double fraction = getHitFraction(x0, y0, x1, y1, worm.getX(),
+					worm.getY(), worm.getRadius() + this.getRadius());
+			if (fraction < bestFraction) {
+				bestFraction = fraction;
+				bestWorm = worm;
+			}
+		}
+		nearbyWorms.clear();
+		return bestWorm;
+	}
+
+	/**
+	 * Function that returns the fraction of the segment from (x0,y0) to (x1,y1) at which it first comes within the 
+	 * provided reach of the provided center. A segment that starts within reach is hit at fraction 0; a segment of 
+	 * length zero only hits when its point lies within reach.
+	 * 
+	 * @param x0
+	 * 			The x-coordinate at the start of the segment
+	 * @param y0
+	 * 			The y-coordinate at the start of the segment
+	 * @param x1
+	 * 			The x-coordinate at the end of the segment
+	 * @param y1
+	 * 			The y-coordinate at the end of the segment
+	 * @param centerX
+	 * 			The x-coordinate of the center
+	 * @param centerY
+	 * 			The y-coordinate of the center
+	 * @param reach
+	 * 			The distance to the center at which the segment hits
+	 * @return fraction
+	 * 			The fraction in the interval [0, 1] at which the segment hits, or Double.NaN if it doesn't hit
+	 */
+	static double getHitFraction(double x0, double y0, double x1, double y1,
+			double centerX, double centerY, double reach) {
+		double dx = x1 - x0, dy = y1 - y0;
+		double a = dx * dx + dy * dy;
+		double fx = x0 - centerX, fy = y0 - centerY;
+		double c = fx * fx + fy * fy - reach * reach;
+		if (c < 0)
+			return 0;
+		if (a == 0)
+			return Double.NaN;
+		double b = fx * dx + fy * dy;
+		double discriminant = b * b - a * c;
+		if (discriminant <= 0)
+			return Double.NaN;
+		double fraction = (-b - Math.sqrt(discriminant)) / a;
+		if (fraction < 0 || fraction > 1)
+			return Double.NaN;
+		return fraction;
+	}
 }
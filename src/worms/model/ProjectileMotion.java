@@ -0,0 +1,107 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that moves a projectile along its flight in the real-time mode of its world.
+ * Every step of the flight is checked against the worms as they are at that tick, so a projectile can hit a worm
+ * that is jumping or falling at the same time. The projectile hits the worm that it reaches first along the segment
+ * between two steps, and stops at impassable terrain or when it leaves the world, just like an instant shot.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public final class ProjectileMotion extends Motion {
+	/**
+	 * Declaration of variables.
+	 */
+	private final Projectile projectile;
+	private final double startX, startY, velocity, orientation, timeStep;
+	private final double[] jumpStep = new double[2];
+	private double time = 0;
+
+	/**
+	 * Constructor of the class ProjectileMotion, which stores the flight the provided projectile starts now.
+	 *
+	 * @param projectile
+	 * 			The projectile that is fired
+	 * @param timeStep
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 */
+	ProjectileMotion(Projectile projectile, double timeStep) {
+		super(projectile.getX(), projectile.getY());
+		this.projectile = projectile;
+		this.startX = projectile.getX();
+		this.startY = projectile.getY();
+		this.velocity = projectile.getInitialVelocity();
+		this.orientation = projectile.getOrientation();
+		this.timeStep = timeStep;
+	}
+
+	/**
+	 * Function that returns the projectile that is fired.
+	 *
+	 * @return this.projectile
+	 * 			The projectile of this motion
+	 */
+	@Basic
+	public Projectile getProjectile() {
+		return this.projectile;
+	}
+
+	/**
+	 * Method that follows the steps of the flight until the end of the tick.
+	 * A projectile that has been removed from its world doesn't move anymore.
+	 */
+	@Override
+	void step(double duration) {
+		if (this.projectile.isTerminated()) {
+			this.finish();
+			return;
+		}
+		World world = this.projectile.getWorm().getWorld();
+		double radius = this.projectile.getRadius();
+		double end = this.time + duration;
+		while (this.time < end) {
+			this.projectile.getJumpStep(this.startX, this.startY, this.velocity,
+					this.orientation, this.time, this.jumpStep);
+			Worm hitWorm = this.projectile.findHitWorm(this.getX(), this.getY(),
+					this.jumpStep[0], this.jumpStep[1]);
+			if (hitWorm != null) {
+				double fraction = Projectile.getHitFraction(this.getX(), this.getY(),
+						this.jumpStep[0], this.jumpStep[1], hitWorm.getX(),
+						hitWorm.getY(), hitWorm.getRadius() + radius);
+				this.moveTo(this.getX() + fraction * (this.jumpStep[0] - this.getX()),
+						this.getY() + fraction * (this.jumpStep[1] - this.getY()));
+				this.land(Trajectory.HIT_WORM, hitWorm);
+				return;
+			}
+			this.moveTo(this.jumpStep[0], this.jumpStep[1]);
+			if (!world.liesInWorld(this.jumpStep[0], this.jumpStep[1], radius)) {
+				this.land(Trajectory.LEFT_WORLD, null);
+				return;
+			}
+			if (world.isImpassable(this.jumpStep[0], this.jumpStep[1], radius)) {
+				this.land(Trajectory.HIT_TERRAIN, null);
+				return;
+			}
+			this.time += this.timeStep;
+		}
+	}
+
+	/**
+	 * Method that ends the flight at the current position of this motion, damages the worms that are hit (see 
+	 * Projectile.applyOutcome()) and removes the projectile from its world.
+	 * 
+	 * @param endEvent
+	 * 			The event that ended the flight
+	 * @param hitWorm
+	 * 			The worm that is hit directly, or null if no worm is hit
+	 */
+	private void land(int endEvent, Worm hitWorm) {
+		this.projectile.applyOutcome(this.projectile.createOutcome(this.getX(),
+				this.getY(), this.time, endEvent, hitWorm));
+		this.projectile.getWorm().getWorld().removeProjectileFromWorld(this.projectile);
+		this.finish();
+	}
+}
@@ -0,0 +1,296 @@
+package worms.model;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+import worms.gui.GUIConstants;
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that calculates all the positions a worm can reach during its turn with its current Action Points.
+ * The states that can be reached by turning, moving and jumping are explored best-first, cheapest in Action Points
+ * first. Orientations are discretized in ORIENTATIONS steps starting from the worm's own orientation and positions
+ * are discretized in square cells of half the worm's radius. The reachable cells are stored in a BitSet.
+ *
+ * The state of the worm is stored when this map is created and explored when calculate() is invoked, so the
+ * exploration can run on another thread while the game goes on.
+ * The exploration is done with a separate worm that is put in every state that is explored, so the worm for which
+ * the map is calculated and its world are never changed. Food is not eaten during the exploration.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class ReachabilityMap {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final int ORIENTATIONS = 8;
+	public static final int MAX_EXPANDED_STATES = 1000;
+	private final double x, y, direction, radius, cellSize;
+	private final int actionPoints, columns, rows;
+	private final long stateVersion;
+	private final Worm worm;
+	private final BitSet reachableCells = new BitSet();
+	private int numberOfExpandedStates = 0;
+	private boolean isCalculated = false;
+
+	/**
+	 * Constructor of the class ReachabilityMap, which stores the current state of the provided worm.
+	 *
+	 * @param worm
+	 * 			The worm for which the reachable positions have to be calculated
+	 * @post	The provided worm is the worm of this map.
+	 * 			| (new this).getWorm() == worm
+	 * @post	The state version of the worm at the moment this map is created has been stored.
+	 * 			| (new this).getStateVersion() == worm.getStateVersion()
+	 * @throws	IllegalArgumentException
+	 * 			The worm is the null reference.
+	 * 			| worm == null
+	 */
+	public ReachabilityMap(Worm worm) throws IllegalArgumentException {
+		if (worm == null)
+			throw new IllegalArgumentException();
+		this.worm = worm;
+		this.stateVersion = worm.getStateVersion();
+		this.x = worm.getX();
+		this.y = worm.getY();
+		this.direction = worm.getOrientation();
+		this.actionPoints = worm.getActionPoints();
+		this.radius = worm.getRadius();
+		this.cellSize = this.radius * .5;
+		this.columns = (int) Math.ceil(worm.getWorld().getWidth() / this.cellSize) + 1;
+		this.rows = (int) Math.ceil(worm.getWorld().getHeight() / this.cellSize) + 1;
+	}
+
+	/**
+	 * Method that explores all states the worm of this map can reach from the state it was in when this map was created.
+	 * The exploration stops early when MAX_EXPANDED_STATES states have been explored or when the calling thread
+	 * has been interrupted. Invoking this method a second time has no effect.
+	 *
+	 * @effect	The states reachable from the stored state are explored.
+	 * 			| this.explore()
+	 * @return this
+	 * 			This map, for chaining
+	 */
+	public synchronized ReachabilityMap calculate() {
+		if (!this.isCalculated) {
+			this.explore();
+			this.isCalculated = true;
+		}
+		return this;
+	}
+
+	/**
+	 * Function that returns the worm for which this map has been calculated.
+	 *
+	 * @return this.worm
+	 * 			The worm of this map
+	 */
+	@Basic
+	public Worm getWorm() {
+		return this.worm;
+	}
+
+	/**
+	 * Function that returns the state version of the worm for which this map has been calculated.
+	 *
+	 * @return this.stateVersion
+	 * 			The state version of the worm at the start of the exploration
+	 */
+	@Basic
+	public long getStateVersion() {
+		return this.stateVersion;
+	}
+
+	/**
+	 * Function that returns the size of the cells in which the positions are discretized (in meters).
+	 *
+	 * @return this.cellSize
+	 * 			The width and height of one cell
+	 */
+	@Basic
+	public double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Function that returns the number of states that have been explored to calculate this map.
+	 *
+	 * @return this.numberOfExpandedStates
+	 * 			The number of explored states
+	 */
+	@Basic
+	public int getNumberOfExpandedStates() {
+		return this.numberOfExpandedStates;
+	}
+
+	/**
+	 * Function that returns the number of cells that can be reached by the worm of this map.
+	 *
+	 * @return this.reachableCells.cardinality()
+	 * 			The number of reachable cells
+	 */
+	public int getNumberOfReachableCells() {
+		return this.reachableCells.cardinality();
+	}
+
+	/**
+	 * Function that checks whether or not this map is still up to date, i.e. the worm and its world haven't changed
+	 * since this map has been calculated.
+	 *
+	 * @return this.getStateVersion() == this.getWorm().getStateVersion()
+	 * 			Whether or not this map is up to date
+	 */
+	public boolean isUpToDate() {
+		return this.getStateVersion() == this.getWorm().getStateVersion();
+	}
+
+	/**
+	 * Function that checks whether or not the worm of this map can reach the cell containing the provided position.
+	 *
+	 * @param x
+	 * 			The x-coordinate of the position
+	 * @param y
+	 * 			The y-coordinate of the position
+	 * @return true
+	 * 			The cell containing the provided position can be reached
+	 * @return false
+	 * 			The cell containing the provided position can't be reached or lies outside the world
+	 */
+	public boolean isReachable(double x, double y) {
+		int cell = this.getCell(x, y);
+		return cell >= 0 && this.reachableCells.get(cell);
+	}
+
+	/**
+	 * Method that explores all states that can be reached from the stored state, cheapest in Action Points first.
+	 */
+	private void explore() {
+		int actionPoints = this.actionPoints;
+		Worm ghost = new Worm(this.getWorm().getWorld(), this.x, this.y,
+				this.direction, this.radius, "Ghost");
+		double[] result = new double[3];
+		HashMap<Long, Integer> bestActionPoints = new HashMap<Long, Integer>();
+		PriorityQueue<State> queue = new PriorityQueue<State>();
+		this.offer(queue, bestActionPoints, new State(this.x, this.y, 0,
+				actionPoints, actionPoints));
+		while (!queue.isEmpty()
+				&& this.numberOfExpandedStates < MAX_EXPANDED_STATES
+				&& !Thread.currentThread().isInterrupted()) {
+			State state = queue.poll();
+			if (bestActionPoints.get(this.getKey(state)) > state.actionPoints)
+				continue;
+			this.numberOfExpandedStates++;
+			double stateDirection = (this.direction + state.orientation * 2
+					* Math.PI / ORIENTATIONS) % (2 * Math.PI);
+			// Turning to every other discretized orientation.
+			for (int orientation = 0; orientation < ORIENTATIONS; orientation++) {
+				if (orientation == state.orientation)
+					continue;
+				int turnCost = ghost.getTurnCost((orientation - state.orientation
+						+ ORIENTATIONS) % ORIENTATIONS * 2 * Math.PI / ORIENTATIONS);
+				if (turnCost <= state.actionPoints)
+					this.offer(queue, bestActionPoints, new State(state.x, state.y,
+							orientation, state.actionPoints - turnCost,
+							actionPoints));
+			}
+			// Moving and falling in the current orientation.
+			ghost.setSimulationState(state.x, state.y, stateDirection,
+					state.actionPoints);
+			if (ghost.simulateMove(result))
+				this.offer(queue, bestActionPoints, new State(result[0],
+						result[1], state.orientation, (int) result[2],
+						actionPoints));
+			// Jumping in the current orientation, which uses all Action Points.
+			ghost.setSimulationState(state.x, state.y, stateDirection,
+					state.actionPoints);
+			if (ghost.simulateJump(GUIConstants.JUMP_TIME_STEP, result))
+				this.offer(queue, bestActionPoints, new State(result[0],
+						result[1], state.orientation, 0, actionPoints));
+		}
+	}
+
+	/**
+	 * Method that marks the cell of the provided state as reachable and queues the state for exploration,
+	 * if no state with the same cell and orientation and at least as many Action Points has been queued before.
+	 *
+	 * @param queue
+	 * 			The queue of states that still have to be explored
+	 * @param bestActionPoints
+	 * 			The most Action Points found so far for every cell and orientation
+	 * @param state
+	 * 			The state that has been reached
+	 */
+	private void offer(PriorityQueue<State> queue,
+			HashMap<Long, Integer> bestActionPoints, State state) {
+		int cell = this.getCell(state.x, state.y);
+		if (cell < 0)
+			return;
+		this.reachableCells.set(cell);
+		Long key = this.getKey(state);
+		Integer best = bestActionPoints.get(key);
+		if (best != null && best >= state.actionPoints)
+			return;
+		bestActionPoints.put(key, state.actionPoints);
+		queue.add(state);
+	}
+
+	/**
+	 * Function that returns the key of the provided state, which combines its cell and its orientation.
+	 *
+	 * @param state
+	 * 			The state for which the key has to be calculated
+	 * @return this.getCell(state.x, state.y) * ORIENTATIONS + state.orientation
+	 * 			The key of the provided state
+	 */
+	private long getKey(State state) {
+		return (long) this.getCell(state.x, state.y) * ORIENTATIONS
+				+ state.orientation;
+	}
+
+	/**
+	 * Function that returns the index of the cell that contains the provided position.
+	 *
+	 * @param x
+	 * 			The x-coordinate of the position
+	 * @param y
+	 * 			The y-coordinate of the position
+	 * @return row * this.columns + column
+	 * 			The index of the cell containing the provided position
+	 * @return -1
+	 * 			The provided position lies outside the world
+	 */
+	private int getCell(double x, double y) {
+		if (x < 0 || y < 0)
+			return -1;
+		int column = (int) (x / this.cellSize);
+		int row = (int) (y / this.cellSize);
+		if (column >= this.columns || row >= this.rows)
+			return -1;
+		return row * this.columns + column;
+	}
+
+	/**
+	 * A class that holds a state in the exploration: a position, a discretized orientation and the remaining
+	 * Action Points. States that used fewer Action Points are explored first.
+	 */
+	private static class State implements Comparable<State> {
+		private final double x, y;
+		private final int orientation, actionPoints, cost;
+
+		private State(double x, double y, int orientation, int actionPoints,
+				int startActionPoints) {
+			this.x = x;
+			this.y = y;
+			this.orientation = orientation;
+			this.actionPoints = actionPoints;
+			this.cost = startActionPoints - actionPoints;
+		}
+
+		@Override
+		public int compareTo(State other) {
+			return Integer.compare(this.cost, other.cost);
+		}
+	}
+}
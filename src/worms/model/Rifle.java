@@ -116,17 +116,30 @@ public class Rifle extends Projectile {
 	 */
 	@Override
 	public double getRadius() {
-		return Math.cbrt((3 * (MASS / DENSITY)) / (4 * Math.PI));
+		return this.cbrt((3 * (MASS / DENSITY)) / (4 * Math.PI));
 	}
 	
 	/**
 	 * Function that sets the force to the correct force, using the yield that is determined when the worm wants to shoot.
 	 * 
 	 * @post	The force has to be set to the correct amount, using the propulsion yield from the shoot.
-	 * 			| (new this).getForce() == this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100)
+	 * 			| (new this).getForce() == this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
 	 */
 	@Override
 	public void setForce(int yield) {
-		this.force = this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100);
+		this.force = this.calculateForce(yield);
+	}
+	
+	/**
+	 * Function that calculates the force of a rifle bullet for the provided yield, without changing its force.
+	 * 
+	 * @param yield
+	 * 			The propulsion yield with which the bullet would be fired
+	 * @return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0)
+	 * 			The force for the provided yield
+	 */
+	@Override
+	public double calculateForce(int yield) {
+		return this.lowerForce + (this.upperForce - this.lowerForce) * (yield / 100.0);
 	}
 }
@@ -0,0 +1,59 @@
+package worms.model;
+
+/**
+ * A class that integrates the motion of worms and projectiles with the classic fourth-order Runge-Kutta method.
+ * Under constant gravity the motion is a polynomial of the second degree, which this method integrates exactly
+ * (up to rounding); with wind or drag its error shrinks with the fourth power of the step.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class RungeKuttaIntegrator extends NumericIntegrator {
+	/**
+	 * Constructor of the class RungeKuttaIntegrator, with steps of NumericIntegrator.DEFAULT_STEP.
+	 *
+	 * @effect	| this(NumericIntegrator.DEFAULT_STEP)
+	 */
+	public RungeKuttaIntegrator() {
+		this(DEFAULT_STEP);
+	}
+
+	/**
+	 * Constructor of the class RungeKuttaIntegrator.
+	 *
+	 * @param step
+	 * 			The size of one integration step (in seconds)
+	 * @effect	| super(step)
+	 */
+	public RungeKuttaIntegrator(double step) throws IllegalArgumentException {
+		super(step);
+	}
+
+	/**
+	 * Method that advances the provided state by one Runge-Kutta step. The accelerations and velocities of the 
+	 * four stages are kept in local variables.
+	 */
+	@Override
+	protected void integrate(double[] state, double step, double gravity,
+			double[] a) {
+		double x = state[0], y = state[1], vx = state[2], vy = state[3];
+		this.getAcceleration(x, y, vx, vy, gravity, a);
+		double ax1 = a[0], ay1 = a[1];
+		double vx2 = vx + ax1 * step / 2, vy2 = vy + ay1 * step / 2;
+		this.getAcceleration(x + vx * step / 2, y + vy * step / 2, vx2, vy2,
+				gravity, a);
+		double ax2 = a[0], ay2 = a[1];
+		double vx3 = vx + ax2 * step / 2, vy3 = vy + ay2 * step / 2;
+		this.getAcceleration(x + vx2 * step / 2, y + vy2 * step / 2, vx3, vy3,
+				gravity, a);
+		double ax3 = a[0], ay3 = a[1];
+		double vx4 = vx + ax3 * step, vy4 = vy + ay3 * step;
+		this.getAcceleration(x + vx3 * step, y + vy3 * step, vx4, vy4,
+				gravity, a);
+		double ax4 = a[0], ay4 = a[1];
+		state[0] = x + step / 6 * (vx + 2 * vx2 + 2 * vx3 + vx4);
+		state[1] = y + step / 6 * (vy + 2 * vy2 + 2 * vy3 + vy4);
+		state[2] = vx + step / 6 * (ax1 + 2 * ax2 + 2 * ax3 + ax4);
+		state[3] = vy + step / 6 * (ay1 + 2 * ay2 + 2 * ay3 + ay4);
+	}
+}
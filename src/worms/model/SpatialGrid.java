@@ -0,0 +1,352 @@
+package worms.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A class that indexes circular objects of a world (worms, food) on a uniform grid of square cells, so the objects
+ * near a position can be found without looking at all objects of the world.
+ * Every object is stored once, in the cell of its center. A query looks at the cells that lie within the query
+ * radius plus the largest radius stored so far, so it takes time in the order of the number of objects near the
+ * query instead of the number of objects in the world.
+ * The cells are kept at least as large as the diameter of the largest object, so that reach stays within a few
+ * cells: when an object grows beyond that, the grid is rebuilt with larger cells.
+ * Positions outside the world are stored in the cells at its border.
+ *
+ * The grid doesn't keep positions of its own: it indexes the slots of a store (see CircleStates), whose positions
+ * and radii it reads directly, and the object in a slot is the element at that index of a list that is kept in step
+ * with the store. The store has to be changed first, and the grid told afterwards (see update()). A cell is a list of
+ * slots that is linked through arrays of primitives, indexed by the slot. A query therefore runs over numbers instead
+ * of following a reference per object, and an object that moves to another cell, even one that has never held an
+ * object before, doesn't allocate anything.
+ *
+ * A grid may be read from several threads at once, as long as it isn't changed in the meantime.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+class SpatialGrid<T> {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final int MAX_CELLS_PER_SIDE = 256;
+	private static final int INITIAL_CAPACITY = 16;
+	private final double width, height;
+	private double cellSize;
+	private int columns, rows;
+	private int[] firstInCell, lastInCell;
+	private final CircleStates states;
+	private final List<? extends T> elements;
+	private int[] cellOfSlot = new int[0];
+	private int[] nextInCell = new int[0];
+	private int[] previousInCell = new int[0];
+	private int numberOfStored = 0;
+	private double largestRadius = 0;
+
+	/**
+	 * Constructor of the class SpatialGrid.
+	 *
+	 * @param width
+	 * 			The width of the area that has to be indexed
+	 * @param height
+	 * 			The height of the area that has to be indexed
+	 * @param cellSize
+	 * 			The preferred side of a cell; larger cells are used when the area would need more than
+	 * 			MAX_CELLS_PER_SIDE cells along one of its sides, or when an object is larger than a cell
+	 * @param states
+	 * 			The store from which the positions and radii of the objects are read
+	 * @param elements
+	 * 			The objects, at the index of their slot in the store
+	 */
+	SpatialGrid(double width, double height, double cellSize, CircleStates states,
+			List<? extends T> elements) {
+		this.width = width;
+		this.height = height;
+		this.states = states;
+		this.elements = elements;
+		this.resize(cellSize);
+	}
+
+	/**
+	 * Function that returns the side of the cells of this grid.
+	 *
+	 * @return this.cellSize
+	 * 			The side of a cell
+	 */
+	double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Function that returns the number of objects stored in this grid.
+	 *
+	 * @return this.numberOfStored
+	 * 			The number of objects in this grid
+	 */
+	int size() {
+		return this.numberOfStored;
+	}
+
+	/**
+	 * Method that stores the object in the provided slot of the store of this grid, at its current position.
+	 *
+	 * @param slot
+	 * 			The slot of the object that has to be stored, which may not be stored yet
+	 */
+	void add(int slot) {
+		if (slot >= this.cellOfSlot.length) {
+			int capacity = Math.max(Math.max(2 * this.cellOfSlot.length, slot + 1), INITIAL_CAPACITY);
+			this.cellOfSlot = Arrays.copyOf(this.cellOfSlot, capacity);
+			this.nextInCell = Arrays.copyOf(this.nextInCell, capacity);
+			this.previousInCell = Arrays.copyOf(this.previousInCell, capacity);
+		}
+		this.growLargestRadius(this.states.getRadius(slot));
+		this.addToCell(slot, this.getCell(this.states.getX(slot), this.states.getY(slot)));
+		this.numberOfStored++;
+	}
+
+	/**
+	 * Method that moves the object in the provided slot of the store of this grid to the cell of its current
+	 * position, after its position or radius has been changed in the store.
+	 *
+	 * @param slot
+	 * 			The slot of the object that has moved or grown, which has to be stored in this grid
+	 */
+	void update(int slot) {
+		this.growLargestRadius(this.states.getRadius(slot));
+		int cell = this.getCell(this.states.getX(slot), this.states.getY(slot));
+		if (cell != this.cellOfSlot[slot]) {
+			this.removeFromCell(slot);
+			this.addToCell(slot, cell);
+		}
+	}
+
+	/**
+	 * Method that removes the object in the provided slot of the store of this grid from this grid.
+	 *
+	 * @param slot
+	 * 			The slot of the object that has to be removed, which has to be stored in this grid
+	 */
+	void remove(int slot) {
+		this.removeFromCell(slot);
+		this.numberOfStored--;
+	}
+
+	/**
+	 * Method that stores the object in the provided slot under another slot, which it has been moved to in the store 
+	 * of this grid, at the same place in its cell.
+	 *
+	 * @param slot
+	 * 			The slot in which the object has been stored, which has to be stored in this grid
+	 * @param newSlot
+	 * 			The slot to which the object has been moved, which may not be stored in this grid
+	 */
+	void moveSlot(int slot, int newSlot) {
+		int cellIndex = this.cellOfSlot[slot];
+		int previous = this.previousInCell[slot], next = this.nextInCell[slot];
+		if (previous < 0)
+			this.firstInCell[cellIndex] = newSlot;
+		else
+			this.nextInCell[previous] = newSlot;
+		if (next < 0)
+			this.lastInCell[cellIndex] = newSlot;
+		else
+			this.previousInCell[next] = newSlot;
+		this.cellOfSlot[newSlot] = cellIndex;
+		this.previousInCell[newSlot] = previous;
+		this.nextInCell[newSlot] = next;
+	}
+
+	/**
+	 * Method that adds the objects of this grid that overlap the provided circle to the provided collection.
+	 * Objects overlap when the distance between their centers is smaller than the sum of their radii.
+	 *
+	 * @param x
+	 * 			The x-coordinate of the center of the circle
+	 * @param y
+	 * 			The y-coordinate of the center of the circle
+	 * @param radius
+	 * 			The radius of the circle
+	 * @param result
+	 * 			The collection to which the overlapping objects have to be added
+	 */
+	void findOverlapping(double x, double y, double radius, Collection<? super T> result) {
+		this.findOverlapping(x, y, x, y, radius, result);
+	}
+
+	/**
+	 * Method that adds the objects of this grid that overlap the provided circle when it is swept along the provided
+	 * segment to the provided collection, so objects a moving circle passes are found even if it doesn't end on them.
+	 * Only the cells that lie within reach of the segment are looked at, where reach is the radius of the circle 
+	 * plus the largest radius stored so far: row by row, only the columns that the part of the segment within reach 
+	 * of that row passes (widened by reach) are visited. A long diagonal segment therefore takes time in the order 
+	 * of its length in cells instead of the area of its bounding box. Nothing is allocated, unless the collection 
+	 * grows.
+	 *
+	 * @param x0
+	 * 			The x-coordinate at which the center of the circle starts
+	 * @param y0
+	 * 			The y-coordinate at which the center of the circle starts
+	 * @param x1
+	 * 			The x-coordinate at which the center of the circle ends
+	 * @param y1
+	 * 			The y-coordinate at which the center of the circle ends
+	 * @param radius
+	 * 			The radius of the circle
+	 * @param result
+	 * 			The collection to which the overlapping objects have to be added, or null if only the existence of 
+	 * 			such an object has to be checked
+	 * @return true
+	 * 			At least one object of this grid overlaps the swept circle
+	 * @return false
+	 * 			No object of this grid overlaps the swept circle
+	 */
+	boolean findOverlapping(double x0, double y0, double x1, double y1,
+			double radius, Collection<? super T> result) {
+		// A little more than reach, so rounding never leaves out a cell an overlapping object is stored in.
+		double reach = (radius + this.largestRadius) * (1 + 1e-9) + this.cellSize * 1e-9;
+		int lowRow = this.getRow(Math.min(y0, y1) - reach);
+		int highRow = this.getRow(Math.max(y0, y1) + reach);
+		double segmentX = x1 - x0, segmentY = y1 - y0;
+		double lengthSquared = segmentX * segmentX + segmentY * segmentY;
+		boolean found = false;
+		for (int row = lowRow; row <= highRow; row++) {
+			// The part of the segment that comes within reach of the row; the cells at the border also hold the
+			// positions outside the grid.
+			double bottom = row == 0 ? Double.NEGATIVE_INFINITY : row * this.cellSize - reach;
+			double top = row == this.rows - 1 ? Double.POSITIVE_INFINITY : (row + 1) * this.cellSize + reach;
+			double start = 0, end = 1;
+			if (segmentY == 0) {
+				if (!(y0 >= bottom && y0 <= top))
+					continue;
+			} else {
+				double first = (bottom - y0) / segmentY, second = (top - y0) / segmentY;
+				start = Math.max(0, Math.min(first, second));
+				end = Math.min(1, Math.max(first, second));
+				if (start > end)
+					continue;
+			}
+			double startX = x0 + start * segmentX, endX = x0 + end * segmentX;
+			int lowColumn = this.getColumn(Math.min(startX, endX) - reach);
+			int highColumn = this.getColumn(Math.max(startX, endX) + reach);
+			for (int column = lowColumn; column <= highColumn; column++) {
+				for (int slot = this.firstInCell[row * this.columns + column]; slot >= 0;
+						slot = this.nextInCell[slot]) {
+					double x = this.states.getX(slot), y = this.states.getY(slot);
+					double t = 0;
+					if (lengthSquared > 0)
+						t = Math.max(0, Math.min(1, ((x - x0) * segmentX
+								+ (y - y0) * segmentY) / lengthSquared));
+					double distanceX = x0 + t * segmentX - x;
+					double distanceY = y0 + t * segmentY - y;
+					double overlap = radius + this.states.getRadius(slot);
+					if (distanceX * distanceX + distanceY * distanceY < overlap * overlap) {
+						if (result == null)
+							return true;
+						result.add(this.elements.get(slot));
+						found = true;
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Method that takes the provided radius of an object into account for the largest radius of this grid, and 
+	 * rebuilds this grid with larger cells if the object no longer fits in a cell.
+	 *
+	 * @param radius
+	 * 			The radius of an object that is (about to be) stored in this grid
+	 */
+	private void growLargestRadius(double radius) {
+		if (!(radius > this.largestRadius))
+			return;
+		this.largestRadius = radius;
+		if (2 * radius > this.cellSize)
+			this.resize(2 * radius);
+	}
+
+	/**
+	 * Method that divides the area of this grid in cells of (at least) the provided side and stores every object 
+	 * of this grid again, in the order in which the old cells held them.
+	 *
+	 * @param cellSize
+	 * 			The preferred side of a cell
+	 */
+	private void resize(double cellSize) {
+		int[] oldFirstInCell = this.firstInCell;
+		int[] order = new int[this.numberOfStored];
+		int numberOfStored = 0;
+		if (oldFirstInCell != null)
+			for (int cellIndex = 0; cellIndex < oldFirstInCell.length; cellIndex++)
+				for (int slot = oldFirstInCell[cellIndex]; slot >= 0; slot = this.nextInCell[slot])
+					order[numberOfStored++] = slot;
+		this.cellSize = Math.max(cellSize, Math.max(this.width, this.height) / MAX_CELLS_PER_SIDE);
+		this.columns = Math.max(1, (int) Math.ceil(this.width / this.cellSize));
+		this.rows = Math.max(1, (int) Math.ceil(this.height / this.cellSize));
+		this.firstInCell = new int[this.columns * this.rows];
+		this.lastInCell = new int[this.columns * this.rows];
+		Arrays.fill(this.firstInCell, -1);
+		Arrays.fill(this.lastInCell, -1);
+		for (int i = 0; i < numberOfStored; i++)
+			this.addToCell(order[i], this.getCell(this.states.getX(order[i]), this.states.getY(order[i])));
+	}
+
+	/**
+	 * Function that returns the index of the cell that contains the provided position.
+	 */
+	private int getCell(double x, double y) {
+		return this.getRow(y) * this.columns + this.getColumn(x);
+	}
+
+	/**
+	 * Function that returns the column that contains the provided x-coordinate, clamped to the grid.
+	 */
+	private int getColumn(double x) {
+		if (!(x > 0))
+			return 0;
+		return (int) Math.min(x / this.cellSize, this.columns - 1);
+	}
+
+	/**
+	 * Function that returns the row that contains the provided y-coordinate, clamped to the grid.
+	 */
+	private int getRow(double y) {
+		if (!(y > 0))
+			return 0;
+		return (int) Math.min(y / this.cellSize, this.rows - 1);
+	}
+
+	/**
+	 * Method that adds the provided slot to the end of the provided cell.
+	 */
+	private void addToCell(int slot, int cellIndex) {
+		int last = this.lastInCell[cellIndex];
+		if (last < 0)
+			this.firstInCell[cellIndex] = slot;
+		else
+			this.nextInCell[last] = slot;
+		this.previousInCell[slot] = last;
+		this.nextInCell[slot] = -1;
+		this.lastInCell[cellIndex] = slot;
+		this.cellOfSlot[slot] = cellIndex;
+	}
+
+	/**
+	 * Method that removes the provided slot from its cell, by linking its neighbours in the cell to each other.
+	 */
+	private void removeFromCell(int slot) {
+		int cellIndex = this.cellOfSlot[slot];
+		int previous = this.previousInCell[slot], next = this.nextInCell[slot];
+		if (previous < 0)
+			this.firstInCell[cellIndex] = next;
+		else
+			this.nextInCell[previous] = next;
+		if (next < 0)
+			this.lastInCell[cellIndex] = previous;
+		else
+			this.previousInCell[next] = previous;
+	}
+}
@@ -20,7 +20,7 @@ public class Team {
 	 * Declaration of variables.
 	 */
 	private String name;
-	private ArrayList<Worm> teamMembers = new ArrayList<Worm>();
+	private final ArrayList<Worm> liveMembers = new ArrayList<Worm>();
 
 	/**
 	 * Constructor of the class Team.
@@ -52,16 +52,76 @@ public class Team {
 
 	/**
 	 * Function that returns all live worms in this team (i.e. the worms who are still alive).
+	 * The live worms are kept up to date when they die, are healed, change team or are removed, so only the live 
+	 * worms are copied here, instead of checking every worm that has ever been in this team. The order of the worms 
+	 * changes when one of them dies. To go over the live worms without copying them, use getNumberOfLiveWorms() and 
+	 * getLiveWorm().
 	 * 
 	 * @return liveWorms
 	 * 			An ArrayList containing all of the live worms in this team
 	 */
 	public ArrayList<Worm> getLiveWormsInTeam() {
-		ArrayList<Worm> liveWorms = new ArrayList<Worm>();
-		for (Worm liveWorm : this.teamMembers)
-			if (liveWorm.isAlive())
-				liveWorms.add(liveWorm);
-		return liveWorms;	
+		return new ArrayList<Worm>(this.liveMembers);
+	}
+
+	/**
+	 * Function that returns the number of live worms in this team.
+	 * 
+	 * @return this.getLiveWormsInTeam().size()
+	 * 			The number of live worms in this team
+	 */
+	public int getNumberOfLiveWorms() {
+		return this.liveMembers.size();
+	}
+
+	/**
+	 * Function that returns the live worm of this team at the provided index, in the order of getLiveWormsInTeam(). 
+	 * Nothing is copied or allocated.
+	 * 
+	 * @param index
+	 * 			The index of the live worm, between 0 and this.getNumberOfLiveWorms() - 1
+	 * @return this.getLiveWormsInTeam().get(index)
+	 * 			The live worm at the provided index
+	 * @throws	IndexOutOfBoundsException
+	 * 			The index doesn't refer to a live worm of this team.
+	 * 			| index < 0 || index >= this.getNumberOfLiveWorms()
+	 */
+	public Worm getLiveWorm(int index) throws IndexOutOfBoundsException {
+		return this.liveMembers.get(index);
+	}
+
+	/**
+	 * Method that adds the provided worm to the live worms of this team. A worm that is already one of the live 
+	 * worms of this team is left alone.
+	 * 
+	 * @param worm
+	 * 			The worm of this team that is alive
+	 * @post	| (new this).getLiveWormsInTeam().contains(worm)
+	 */
+	void addLiveMember(Worm worm) {
+		if (worm.getIndexInTeam() != -1)
+			return;
+		worm.setIndexInTeam(this.liveMembers.size());
+		this.liveMembers.add(worm);
+	}
+
+	/**
+	 * Method that removes the provided worm from the live worms of this team, by moving the last live worm into 
+	 * its place. A worm that isn't one of the live worms of this team is left alone.
+	 * 
+	 * @param worm
+	 * 			The worm of this team that is no longer alive
+	 * @post	| !(new this).getLiveWormsInTeam().contains(worm)
+	 */
+	void removeLiveMember(Worm worm) {
+		if (worm.getIndexInTeam() == -1)
+			return;
+		Worm last = this.liveMembers.remove(this.liveMembers.size() - 1);
+		if (last != worm) {
+			this.liveMembers.set(worm.getIndexInTeam(), last);
+			last.setIndexInTeam(worm.getIndexInTeam());
+		}
+		worm.setIndexInTeam(-1);
 	}
 
 	/**
@@ -69,11 +129,11 @@ public class Team {
 	 * 
 	 * @param worm
 	 * 			The worm that has to be added to this team
-	 * @post	The provided worm must be added to this team.
-	 * 			| (new worm).getTeamName().equals(this.getTeamName())
+	 * @effect	The provided worm must be added to this team.
+	 * 			| worm.addToTeam(this)
 	 */
 	public void addTeamMember(Worm worm) {
-		this.teamMembers.add(worm);
+		worm.addToTeam(this);
 	}
 
 	/**
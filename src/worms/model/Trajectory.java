@@ -0,0 +1,161 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that holds the precomputed trajectory of a jump or a shot, so it can be animated without doing any
+ * physics. The positions are stored in primitive arrays at evenly spaced moments, from the start of the jump until
+ * its end, together with the event that ended the jump. Positions in between two samples are interpolated linearly;
+ * between two samples the parabola deviates at most GRAV_CST * interval^2 / 8 from a straight line.
+ *
+ * A trajectory is filled in by the worm or projectile that owns it and is reused for its next jump, so reading and
+ * refilling it never allocates anything.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class Trajectory {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final int LANDED = 0, HIT_TERRAIN = 1, LEFT_WORLD = 2, HIT_WORM = 3;
+	public static final int MAX_SEGMENTS = 128;
+	private final double[] xs = new double[MAX_SEGMENTS + 1];
+	private final double[] ys = new double[MAX_SEGMENTS + 1];
+	private int segments = 0;
+	private double duration = 0;
+	private int endEvent = LANDED;
+
+	/**
+	 * Function that returns the time the jump of this trajectory takes.
+	 *
+	 * @return this.duration
+	 * 			The duration of the jump
+	 */
+	@Basic
+	public double getDuration() {
+		return this.duration;
+	}
+
+	/**
+	 * Function that returns the event that ended the jump of this trajectory.
+	 *
+	 * @return this.endEvent
+	 * 			One of LANDED, HIT_TERRAIN, LEFT_WORLD and HIT_WORM
+	 */
+	@Basic
+	public int getEndEvent() {
+		return this.endEvent;
+	}
+
+	/**
+	 * Function that returns the number of stored positions of this trajectory.
+	 *
+	 * @return this.segments + 1
+	 * 			The number of samples
+	 */
+	public int getNumberOfSamples() {
+		return this.segments + 1;
+	}
+
+	/**
+	 * Function that returns the moment in the jump at which the provided sample has been taken.
+	 *
+	 * @param index
+	 * 			The index of the sample
+	 * @return this.getDuration() * index / (this.getNumberOfSamples() - 1)
+	 * 			The time of the sample
+	 */
+	public double getTime(int index) {
+		if (this.segments == 0)
+			return 0;
+		return this.duration * index / this.segments;
+	}
+
+	/**
+	 * Function that returns the x-coordinate of the provided sample.
+	 *
+	 * @param index
+	 * 			The index of the sample
+	 * @return this.xs[index]
+	 * 			The x-coordinate at this.getTime(index)
+	 */
+	public double getX(int index) {
+		return this.xs[index];
+	}
+
+	/**
+	 * Function that returns the y-coordinate of the provided sample.
+	 *
+	 * @param index
+	 * 			The index of the sample
+	 * @return this.ys[index]
+	 * 			The y-coordinate at this.getTime(index)
+	 */
+	public double getY(int index) {
+		return this.ys[index];
+	}
+
+	/**
+	 * Method that stores the position at the provided moment in the jump in the provided array, interpolated
+	 * between the two nearest samples. Moments before the start or after the end of the jump give the first
+	 * or the last position.
+	 *
+	 * @param t
+	 * 			The moment in the jump
+	 * @param result
+	 * 			The array in which the (x,y)-coordinates have to be stored
+	 * @post	The provided array holds the interpolated (x,y)-coordinates at time t.
+	 */
+	public void getPosition(double t, double[] result) {
+		if (this.segments == 0 || !(t > 0)) {
+			result[0] = this.xs[0];
+			result[1] = this.ys[0];
+			return;
+		}
+		if (t >= this.duration) {
+			result[0] = this.xs[this.segments];
+			result[1] = this.ys[this.segments];
+			return;
+		}
+		double position = t / this.duration * this.segments;
+		int index = Math.min((int) position, this.segments - 1);
+		double fraction = position - index;
+		result[0] = this.xs[index] + (this.xs[index + 1] - this.xs[index]) * fraction;
+		result[1] = this.ys[index] + (this.ys[index + 1] - this.ys[index]) * fraction;
+	}
+
+	/**
+	 * Method that prepares this trajectory to be filled in for a new jump.
+	 *
+	 * @param duration
+	 * 			The time the new jump takes
+	 * @param timeStep
+	 * 			The time step of the jump; there are never more segments than steps, nor more than MAX_SEGMENTS
+	 * @param endEvent
+	 * 			The event that ended the new jump
+	 * @post	The duration and end event of this trajectory are the provided ones and there is room for all samples.
+	 * 			| (new this).getDuration() == duration && (new this).getEndEvent() == endEvent
+	 */
+	void reset(double duration, double timeStep, int endEvent) {
+		double steps = Math.ceil(duration / timeStep);
+		this.segments = steps >= 1 ? (int) Math.min(steps, MAX_SEGMENTS) : 0;
+		this.duration = duration;
+		this.endEvent = endEvent;
+	}
+
+	/**
+	 * Method that stores the position of the provided sample.
+	 *
+	 * @param index
+	 * 			The index of the sample, between 0 and this.getNumberOfSamples() - 1
+	 * @param x
+	 * 			The x-coordinate at this.getTime(index)
+	 * @param y
+	 * 			The y-coordinate at this.getTime(index)
+	 */
+	void setSample(int index, double x, double y) {
+		this.xs[index] = x;
+		this.ys[index] = y;
+	}
+}
@@ -0,0 +1,139 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that holds the outcome of a simulated shot: where and when the projectile stops, why it stops and which
+ * worms it hits with how much damage. An outcome is calculated without changing anything in the world (see
+ * Projectile.simulate()), so outcomes can be calculated for many candidate shots, also on several threads at once.
+ * An outcome can't be changed once it has been created.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class TrajectoryOutcome {
+	/**
+	 * Declaration of variables.
+	 */
+	private final double x, y, duration;
+	private final int endEvent;
+	private final Worm[] hitWorms;
+	private final int[] damages;
+
+	/**
+	 * Constructor of the class TrajectoryOutcome.
+	 *
+	 * @param x
+	 * 			The x-coordinate at which the projectile stops
+	 * @param y
+	 * 			The y-coordinate at which the projectile stops
+	 * @param duration
+	 * 			The time the flight of the projectile takes
+	 * @param endEvent
+	 * 			The event that ended the flight, one of the events of Trajectory
+	 * @param hitWorms
+	 * 			The worms that are hit by the projectile; this array isn't copied
+	 * @param damages
+	 * 			The number of Hit Points each of the hit worms loses; this array isn't copied
+	 */
+	TrajectoryOutcome(double x, double y, double duration, int endEvent,
+			Worm[] hitWorms, int[] damages) {
+		this.x = x;
+		this.y = y;
+		this.duration = duration;
+		this.endEvent = endEvent;
+		this.hitWorms = hitWorms;
+		this.damages = damages;
+	}
+
+	/**
+	 * Function that returns the x-coordinate at which the projectile stops.
+	 *
+	 * @return this.x
+	 * 			The x-coordinate of the landing point
+	 */
+	@Basic
+	public double getX() {
+		return this.x;
+	}
+
+	/**
+	 * Function that returns the y-coordinate at which the projectile stops.
+	 *
+	 * @return this.y
+	 * 			The y-coordinate of the landing point
+	 */
+	@Basic
+	public double getY() {
+		return this.y;
+	}
+
+	/**
+	 * Function that returns the time the flight of the projectile takes.
+	 *
+	 * @return this.duration
+	 * 			The duration of the flight
+	 */
+	@Basic
+	public double getDuration() {
+		return this.duration;
+	}
+
+	/**
+	 * Function that returns the event that ended the flight of the projectile.
+	 *
+	 * @return this.endEvent
+	 * 			One of Trajectory.HIT_TERRAIN, Trajectory.LEFT_WORLD and Trajectory.HIT_WORM
+	 */
+	@Basic
+	public int getEndEvent() {
+		return this.endEvent;
+	}
+
+	/**
+	 * Function that returns the number of worms that are hit by the projectile.
+	 *
+	 * @return this.hitWorms.length
+	 * 			The number of hit worms
+	 */
+	public int getNumberOfHitWorms() {
+		return this.hitWorms.length;
+	}
+
+	/**
+	 * Function that returns the provided hit worm.
+	 *
+	 * @param index
+	 * 			The index of the hit worm, between 0 and this.getNumberOfHitWorms() - 1
+	 * @return this.hitWorms[index]
+	 * 			The hit worm
+	 */
+	public Worm getHitWorm(int index) {
+		return this.hitWorms[index];
+	}
+
+	/**
+	 * Function that returns the number of Hit Points the provided hit worm loses.
+	 *
+	 * @param index
+	 * 			The index of the hit worm, between 0 and this.getNumberOfHitWorms() - 1
+	 * @return this.damages[index]
+	 * 			The damage done to the hit worm
+	 */
+	public int getDamage(int index) {
+		return this.damages[index];
+	}
+
+	/**
+	 * Function that returns the total number of Hit Points the hit worms lose.
+	 *
+	 * @return totalDamage
+	 * 			The sum of the damage done to every hit worm
+	 */
+	public int getTotalDamage() {
+		int totalDamage = 0;
+		for (int damage : this.damages)
+			totalDamage += damage;
+		return totalDamage;
+	}
+}
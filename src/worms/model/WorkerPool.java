@@ -0,0 +1,116 @@
+package worms.model;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A class that holds the pool of threads on which independent calculations of the game are run in parallel: the
+ * candidate shots of an AimSolver, the shots of a YieldTable, the landing searches of World.settleWorms() and the
+ * reachability map that a world calculates for the current worm at the start of every turn.
+ * There is one thread for every processor. The threads are daemon threads, so they don't keep the game running.
+ *
+ * The reachability maps are background work (see submitInBackground()): a task that is waited for is always taken
+ * from the queue before them, so it never waits for more than the background tasks that are already running.
+ * Tasks of the same kind are run in the order in which they have been submitted.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+final class WorkerPool {
+	/**
+	 * Declaration of variables.
+	 */
+	static final int NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors();
+	private static final AtomicLong SUBMISSIONS = new AtomicLong();
+	static final ExecutorService EXECUTOR = new ThreadPoolExecutor(NUMBER_OF_THREADS, NUMBER_OF_THREADS,
+			0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Worms worker");
+					thread.setDaemon(true);
+					return thread;
+				}
+			}) {
+		@Override
+		protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+			return new Task<T>(callable, false);
+		}
+
+		@Override
+		protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+			return new Task<T>(Executors.callable(runnable, value), false);
+		}
+	};
+
+	/**
+	 * There are no worker pools; the pool is shared by all worlds.
+	 */
+	private WorkerPool() {
+	}
+
+	/**
+	 * Method that submits the provided calculation as background work: it is only started when no other task of
+	 * this pool is waiting.
+	 *
+	 * @param callable
+	 * 			The calculation that has to be run in the background
+	 * @return task
+	 * 			The pending result of the calculation, which can also be used to cancel it
+	 */
+	static <T> Future<T> submitInBackground(Callable<T> callable) {
+		Task<T> task = new Task<T>(callable, true);
+		EXECUTOR.execute(task);
+		return task;
+	}
+
+	/**
+	 * A class of tasks of the worker pool, which are ordered in its queue: tasks that are waited for before
+	 * background tasks, and then in the order in which they have been submitted.
+	 */
+	private static final class Task<T> extends FutureTask<T> implements Comparable<Task<?>> {
+		/**
+		 * Declaration of variables.
+		 */
+		private final boolean isBackground;
+		private final long submission = SUBMISSIONS.getAndIncrement();
+
+		/**
+		 * Constructor of the class Task.
+		 *
+		 * @param callable
+		 * 			The calculation of this task
+		 * @param isBackground
+		 * 			Whether or not this task is background work
+		 */
+		Task(Callable<T> callable, boolean isBackground) {
+			super(callable);
+			this.isBackground = isBackground;
+		}
+
+		/**
+		 * Function that compares the order of this task and the provided task in the queue of the worker pool.
+		 *
+		 * @param other
+		 * 			The task to which this task has to be compared
+		 * @return Long.compare(this.submission, other.submission)
+		 * 			If both tasks are of the same kind, the task that has been submitted first comes first
+		 * @return this.isBackground ? 1 : -1
+		 * 			Otherwise the task that is waited for comes first
+		 */
+		@Override
+		public int compareTo(Task<?> other) {
+			if (this.isBackground != other.isBackground)
+				return this.isBackground ? 1 : -1;
+			return Long.compare(this.submission, other.submission);
+		}
+	}
+}
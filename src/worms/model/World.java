@@ -1,8 +1,14 @@
 package worms.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import be.kuleuven.cs.som.annotate.Basic;
 
@@ -20,16 +26,61 @@ public class World {
 	public static final double LOWER_BOUND_Y = 0.0;
 	public static final double UPPER_BOUND_X = Double.MAX_VALUE;
 	public static final double UPPER_BOUND_Y = Double.MAX_VALUE;
+	public static final double TICK_DURATION = 1.0 / 60;
+	public static final int MAX_TICKS_PER_ADVANCE = 30;
+	public static final double WORM_GRID_CELL_SIZE = 1.0;
+	public static final double FOOD_GRID_CELL_SIZE = .5;
+	public static final int MAX_SPAWN_OVERLAP_ATTEMPTS = 100;
 	private final double MAX_UPPER_LIMIT_RADIUS_WORM_INIT = 1.0;
 	private double width, height;
 	private boolean[][] area;
+	private static final int PASSABLE = 0, ADJACENT = 1, IMPASSABLE = 2;
+	private static final int RIM_SAMPLES = 36;
+	private static final double[] RIM_COS = new double[RIM_SAMPLES];
+	private static final double[] RIM_SIN = new double[RIM_SAMPLES];
 	private Random randomSeed;
-	private boolean passable, adjacent, impassable;
 	private boolean isStarted = false;
-	private ArrayList<Worm> collectionOfWorms = new ArrayList<Worm>();
-	private ArrayList<Food> collectionOfFood = new ArrayList<Food>();
+	private final boolean fixedPointPhysics;
+	private MotionIntegrator motionIntegrator = AnalyticIntegrator.INSTANCE;
+	private boolean isRealTime = false;
+	private boolean isCrawlMovement = false;
+	private boolean isExplosionKnockback = false;
+	private ArrayList<Motion> motions = new ArrayList<Motion>();
+	private final List<Motion> motionsView = Collections.unmodifiableList(this.motions);
+	private double unsimulatedTime = 0;
+	private long tickBudget = (long) (TICK_DURATION * 1e9);
+	private long lastTickDuration = 0;
+	private int numberOfSlowTicks = 0;
+	private final ArrayList<Worm> collectionOfWorms = new ArrayList<Worm>();
+	private final WormStates wormStates = new WormStates(16);
+	private final SpatialGrid<Worm> wormGrid;
+	private final ArrayList<Food> collectionOfFood = new ArrayList<Food>();
+	private final CircleStates foodStates = new CircleStates(16);
+	private final SpatialGrid<Food> foodGrid;
+	private final ArrayList<Object> objectsById = new ArrayList<Object>();
+	private int[] freeIds = new int[16];
+	private int numberOfFreeIds = 0;
+	private int[] nextInTurn = new int[16], previousInTurn = new int[16];
+	private int lastInTurn = -1, nextTurnId = -1;
+	private int numberOfLiveWorms = 0, numberOfLiveSoloWorms = 0;
+	private long sumOfLiveSoloIds = 0;
+	private final ArrayList<Team> liveTeams = new ArrayList<Team>();
 	private ArrayList<Team> collectionOfTeams = new ArrayList<Team>();
 	private Worm currentWorm;
+	private long version = 0, wormsVersion = 0;
+	private Future<ReachabilityMap> reachabilityMap;
+	private volatile int[][] clearanceMap;
+
+	/**
+	 * The unit vectors of the sample points on the rim of a circle (every 10 degrees), computed once
+	 * with exactly the same expressions as the terrain checks used to evaluate on every call.
+	 */
+	static {
+		for (int i = 0; i < RIM_SAMPLES; i++) {
+			RIM_COS[i] = Math.cos(Math.toRadians(i * 10));
+			RIM_SIN[i] = Math.sin(Math.toRadians(i * 10));
+		}
+	}
 
 	/**
 	 * Constructor of the class World.
@@ -56,12 +107,52 @@ public class World {
 	 */
 	public World(double width, double height, boolean[][] passableMap,
 			Random random) throws IllegalArgumentException {
+		this(width, height, passableMap, random, false);
+	}
+
+	/**
+	 * Constructor of the class World, in which the physics mode can be chosen.
+	 * With fixed-point physics, the worms and projectiles in this world calculate their motion with fixed-point
+	 * arithmetic and table-based trigonometry (see FixedPoint), so the results are identical on every JVM and games
+	 * can be played in lockstep by only exchanging the actions of the players.
+	 * 
+	 * @param width
+	 * 			The width of the world
+	 * @param height
+	 * 			The height of the world
+	 * @param passableMap
+	 * 			An array containing the impassable/passable value in all the pixels of the image file that is the world 
+	 * @param random
+	 * 			A random generator which is used as a seed to randomize aspects of the game world
+	 * @param fixedPointPhysics
+	 * 			Whether or not the physics in this world have to be deterministic fixed-point physics
+	 * @post	The width of the world has to be equal to the provided width.
+	 * 			| (new this).getWidth() == width
+	 * @post	The height of the world has to be equal to the provided height.
+	 * 			| (new this).getHeight() == height
+	 * @post	The calculated game map (impassable/passable per pixel) has to be equal to the array area.
+	 * 			| (new this).area = passableMap
+	 * @post	The random seed generator has to be equal to the random seed generator provided by the arguments.
+	 * 			| (new this).randomSeed = random
+	 * @post	The physics mode of this world is the provided physics mode.
+	 * 			| (new this).isFixedPointPhysics() == fixedPointPhysics
+	 * @throws	IllegalArgumentException
+	 * 			The provided width and/or the provided height are invalid.
+	 * 			|!isValidWidth(width) || !isValidHeight(height)
+	 */
+	public World(double width, double height, boolean[][] passableMap,
+			Random random, boolean fixedPointPhysics) throws IllegalArgumentException {
 		if (!isValidWidth(width) || !isValidHeight(height))
 			throw new IllegalArgumentException();
 		this.width = width;
 		this.height = height;
 		this.area = passableMap;
 		this.randomSeed = random;
+		this.fixedPointPhysics = fixedPointPhysics;
+		this.wormGrid = new SpatialGrid<Worm>(width, height, WORM_GRID_CELL_SIZE,
+				this.wormStates, this.collectionOfWorms);
+		this.foodGrid = new SpatialGrid<Food>(width, height, FOOD_GRID_CELL_SIZE,
+				this.foodStates, this.collectionOfFood);
 	}
 
 	/**
@@ -86,6 +177,451 @@ public class World {
 		return this.height;
 	}
 
+	/**
+	 * Function that returns the version of this world.
+	 * The version changes every time the terrain of this world changes or an object is added to or removed from 
+	 * this world, so results derived from this world can be cached against it.
+	 * 
+	 * @return this.version
+	 * 			The version of this world
+	 */
+	@Basic
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Function that returns the version of the positions of the worms of this world.
+	 * This version changes every time a worm of this world moves or grows, which doesn't change the version of 
+	 * this world itself, so results that depend on where the other worms are can be cached against both.
+	 * 
+	 * @return this.wormsVersion
+	 * 			The version of the positions of the worms of this world
+	 */
+	long getWormsVersion() {
+		return this.wormsVersion;
+	}
+
+	/**
+	 * Function that returns the height of one pixel of the map of this world (in meters).
+	 * 
+	 * @return this.getHeight() / this.area.length
+	 * 			The height of one pixel of this world
+	 */
+	public double getPixelHeight() {
+		return this.getHeight() / this.area.length;
+	}
+
+	/**
+	 * Function that returns whether or not the physics in this world are deterministic fixed-point physics.
+	 * 
+	 * @return this.fixedPointPhysics
+	 * 			Whether or not this world uses fixed-point physics
+	 */
+	@Basic
+	public boolean isFixedPointPhysics() {
+		return this.fixedPointPhysics;
+	}
+
+	/**
+	 * Function that returns the motion integrator with which the jumps of worms and the flights of projectiles 
+	 * in this world are calculated. Worlds with fixed-point physics don't use it.
+	 * 
+	 * @return this.motionIntegrator
+	 * 			The motion integrator of this world
+	 */
+	@Basic
+	public MotionIntegrator getMotionIntegrator() {
+		return this.motionIntegrator;
+	}
+
+	/**
+	 * Method that sets the motion integrator with which the jumps of worms and the flights of projectiles 
+	 * in this world are calculated.
+	 * 
+	 * @param motionIntegrator
+	 * 			The new motion integrator of this world
+	 * @post	The motion integrator of this world is the provided one.
+	 * 			| (new this).getMotionIntegrator() == motionIntegrator
+	 * @post	The version of this world has been increased, because every jump may have changed.
+	 * 			| (new this).getVersion() > this.getVersion()
+	 * @throws	IllegalArgumentException
+	 * 			The provided motion integrator is the null reference.
+	 * 			| motionIntegrator == null
+	 */
+	public void setMotionIntegrator(MotionIntegrator motionIntegrator)
+			throws IllegalArgumentException {
+		if (motionIntegrator == null)
+			throw new IllegalArgumentException();
+		this.motionIntegrator = motionIntegrator;
+		this.incrementVersion();
+	}
+
+	/**
+	 * Function that returns whether or not the worms in this world crawl along the terrain when they move.
+	 * A crawling worm follows the contour of the terrain it touches, instead of sampling all directions 
+	 * around its orientation (see Worm.move()).
+	 * 
+	 * @return this.isCrawlMovement
+	 * 			Whether or not the worms in this world crawl
+	 */
+	@Basic
+	public boolean isCrawlMovement() {
+		return this.isCrawlMovement;
+	}
+
+	/**
+	 * Method that sets whether or not the worms in this world crawl along the terrain when they move.
+	 * 
+	 * @param isCrawlMovement
+	 * 			Whether or not the worms in this world have to crawl
+	 * @post	The movement mode of this world is the provided one.
+	 * 			| (new this).isCrawlMovement() == isCrawlMovement
+	 * @post	The version of this world has been increased, because every move may have changed.
+	 * 			| (new this).getVersion() > this.getVersion()
+	 */
+	public void setCrawlMovement(boolean isCrawlMovement) {
+		this.isCrawlMovement = isCrawlMovement;
+		this.incrementVersion();
+	}
+
+	/**
+	 * Function that returns whether or not explosions in this world push the worms around them away.
+	 * 
+	 * @return this.isExplosionKnockback
+	 * 			Whether or not explosions in this world cause knockback
+	 */
+	@Basic
+	public boolean isExplosionKnockback() {
+		return this.isExplosionKnockback;
+	}
+
+	/**
+	 * Method that sets whether or not explosions in this world push the worms around them away.
+	 * 
+	 * @param isExplosionKnockback
+	 * 			Whether or not explosions in this world have to cause knockback
+	 * @post	The knockback of explosions in this world is switched on or off as provided.
+	 * 			| (new this).isExplosionKnockback() == isExplosionKnockback
+	 */
+	public void setExplosionKnockback(boolean isExplosionKnockback) {
+		this.isExplosionKnockback = isExplosionKnockback;
+	}
+
+	/**
+	 * Function that returns whether or not this world runs in real-time mode.
+	 * In real-time mode, jumps, falls and shots only start when they are called; the worms and projectiles are then 
+	 * moved by their motions, which advance together in ticks of TICK_DURATION (see advanceTime()). Every tick, the 
+	 * motions see each other where they are at that moment, so a projectile can hit a worm that is still jumping.
+	 * 
+	 * @return this.isRealTime
+	 * 			Whether or not this world runs in real-time mode
+	 */
+	@Basic
+	public boolean isRealTime() {
+		return this.isRealTime;
+	}
+
+	/**
+	 * Method that switches the real-time mode of this world on or off.
+	 * 
+	 * @param isRealTime
+	 * 			Whether or not this world has to run in real-time mode
+	 * @post	The real-time mode of this world is the provided one.
+	 * 			| (new this).isRealTime() == isRealTime
+	 * @effect	When the real-time mode is switched off, the motions that are still going on are advanced until 
+	 * 			they are all finished, so the world is left as if they had been instant.
+	 * 			| if (!isRealTime)
+	 * 			|	then (new this).getMotions().isEmpty()
+	 */
+	public void setRealTime(boolean isRealTime) {
+		if (!isRealTime) {
+			while (!this.motions.isEmpty())
+				this.tick();
+			this.unsimulatedTime = 0;
+		}
+		this.isRealTime = isRealTime;
+	}
+
+	/**
+	 * Function that returns the motions that are going on in this world, in the order in which they were started.
+	 * The returned list can't be changed and follows the motions of this world.
+	 * 
+	 * @return this.motions
+	 * 			The motions of this world
+	 */
+	@Basic
+	public List<Motion> getMotions() {
+		return this.motionsView;
+	}
+
+	/**
+	 * Method that starts the provided motion in this world. It is advanced from the next tick on. The worm it 
+	 * moves, if any, knows that it is moved until the motion finishes.
+	 * 
+	 * @param motion
+	 * 			The motion that has to be started
+	 * @post	The provided motion is the last motion of this world.
+	 * 			| (new this).getMotions().get((new this).getMotions().size() - 1) == motion
+	 */
+	void addMotion(Motion motion) {
+		this.motions.add(motion);
+		if (motion.getMovedWorm() != null && !motion.isFinished())
+			motion.getMovedWorm().addMotion();
+	}
+
+	/**
+	 * Method that makes every worm of this world that isn't supported by terrain anymore fall, all at once.
+	 * Every worm of this world is checked, by going over the positions in the store of this world, so this takes 
+	 * time in the order of the number of worms; when only a few worms can have lost their support, only those have 
+	 * to be settled (see settleWorms(Collection)).
+	 * 
+	 * @return this.settleWorms(this.getWorms())
+	 * 			The number of worms that have started falling
+	 */
+	public int settleWorms() {
+		ArrayList<Worm> falling = new ArrayList<Worm>();
+		for (int slot = 0; slot < this.collectionOfWorms.size(); slot++)
+			if (this.isPassable(this.wormStates.getX(slot), this.wormStates.getY(slot),
+					this.wormStates.getRadius(slot)) && !this.collectionOfWorms.get(slot).isMovedByMotion())
+				falling.add(this.collectionOfWorms.get(slot));
+		return this.startFalls(falling);
+	}
+
+	/**
+	 * Method that makes the provided worms of this world that aren't supported by terrain anymore fall, all at once.
+	 * A landing position only depends on the terrain, so the unsupported worms are split in a chunk per thread of 
+	 * the WorkerPool and the landing positions of the chunks are searched in parallel, without changing anything; 
+	 * afterwards the worms are moved and lose their fall damage in one step, in the order in which they are 
+	 * provided. Worms that are no longer in this world or that are already moved by a motion are left alone; in the 
+	 * real-time mode of this world, the falls only start here (see WormFallMotion).
+	 * 
+	 * @param worms
+	 * 			The worms that may have lost their support
+	 * @return falling.size()
+	 * 			The number of worms that have started falling
+	 * @effect	| for (Worm worm : worms)
+	 * 			|	if (this.getWormById(worm.getId()) == worm && worm can fall)
+	 * 			|		worm.finishFall(worm.getY(), landing y-coordinate of worm)
+	 */
+	int settleWorms(Collection<Worm> worms) {
+		ArrayList<Worm> falling = new ArrayList<Worm>();
+		for (Worm worm : worms)
+			if (this.getWormById(worm.getId()) == worm && !worm.isMovedByMotion()
+					&& worm.isUnsupported())
+				falling.add(worm);
+		return this.startFalls(falling);
+	}
+
+	/**
+	 * Method that makes the provided worms of this world, which aren't supported by terrain anymore, fall all at 
+	 * once (see settleWorms(Collection)).
+	 * 
+	 * @param falling
+	 * 			The worms that have to fall, in the order in which they have to be moved
+	 * @return falling.size()
+	 * 			The number of worms that have started falling
+	 */
+	private int startFalls(List<Worm> falling) {
+		if (falling.isEmpty())
+			return 0;
+		double[] landings = new double[falling.size()];
+		int numberOfChunks = Math.min(falling.size(), WorkerPool.NUMBER_OF_THREADS);
+		List<Callable<Void>> chunks = new ArrayList<Callable<Void>>(numberOfChunks);
+		for (int chunk = 0; chunk < numberOfChunks; chunk++)
+			chunks.add(this.createLandingSearch(falling,
+					chunk * falling.size() / numberOfChunks,
+					(chunk + 1) * falling.size() / numberOfChunks, landings));
+		this.searchLandings(chunks);
+		for (int i = 0; i < falling.size(); i++) {
+			Worm worm = falling.get(i);
+			if (worm.isTerminated())
+				continue;
+			if (this.isRealTime())
+				this.addMotion(new WormFallMotion(worm, landings[i]));
+			else
+				worm.finishFall(worm.getY(), landings[i]);
+		}
+		return falling.size();
+	}
+
+	/**
+	 * Function that creates the search of the landing positions of the provided chunk of falling worms.
+	 * 
+	 * @param falling
+	 * 			The falling worms
+	 * @param start
+	 * 			The index of the first worm of the chunk in the falling worms
+	 * @param end
+	 * 			The index after the last worm of the chunk in the falling worms
+	 * @param landings
+	 * 			The array in which the landing y-coordinates have to be stored, at the index of their worm
+	 * @return search
+	 * 			A task that searches the landing positions of the chunk, without changing anything
+	 */
+	private Callable<Void> createLandingSearch(final List<Worm> falling,
+			final int start, final int end, final double[] landings) {
+		return new Callable<Void>() {
+			@Override
+			public Void call() {
+				for (int index = start; index < end; index++) {
+					Worm worm = falling.get(index);
+					landings[index] = worm.calculateFallLandingY(worm.getX(), worm.getY());
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Method that runs the provided landing searches, in parallel if there are several. A search that can't be 
+	 * run in parallel, because the calling thread has been interrupted, is run on the calling thread; the 
+	 * interruption is kept.
+	 * 
+	 * @param chunks
+	 * 			The landing searches that have to be run
+	 */
+	private void searchLandings(List<Callable<Void>> chunks) {
+		boolean interrupted = false;
+		List<Future<Void>> results = null;
+		if (chunks.size() > 1) {
+			try {
+				results = WorkerPool.EXECUTOR.invokeAll(chunks);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		for (int i = 0; i < chunks.size(); i++) {
+			try {
+				if (results == null)
+					chunks.get(i).call();
+				else
+					results.get(i).get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				throw new RuntimeException(e.getCause());
+			} catch (InterruptedException e) {
+				interrupted = true;
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * Method that advances the motions of this world by the provided time, in fixed ticks of TICK_DURATION.
+	 * Time that doesn't fill a whole tick is kept for the next call; getInterpolationAlpha() tells how far the 
+	 * world is into the next tick, so the positions can be drawn between the last two ticks. At most 
+	 * MAX_TICKS_PER_ADVANCE ticks are taken in one call, so a long pause (or ticks that take longer than their 
+	 * budget) slows the game down instead of making it fall further and further behind.
+	 * The duration of every tick is measured; ticks that take longer than the tick budget are counted.
+	 * 
+	 * @param seconds
+	 * 			The time by which this world has to be advanced
+	 * @effect	Every whole tick in the provided time (plus the time that was left), up to MAX_TICKS_PER_ADVANCE, 
+	 * 			advances every motion of this world by TICK_DURATION; finished motions are removed.
+	 * @throws	IllegalArgumentException
+	 * 			The provided time is negative or not a number.
+	 * 			| !(seconds >= 0)
+	 */
+	public void advanceTime(double seconds) throws IllegalArgumentException {
+		if (!(seconds >= 0))
+			throw new IllegalArgumentException();
+		this.unsimulatedTime += seconds;
+		int ticks = 0;
+		while (this.unsimulatedTime >= TICK_DURATION) {
+			if (ticks == MAX_TICKS_PER_ADVANCE) {
+				this.unsimulatedTime = 0;
+				break;
+			}
+			long start = System.nanoTime();
+			this.tick();
+			this.lastTickDuration = System.nanoTime() - start;
+			if (this.lastTickDuration > this.tickBudget)
+				this.numberOfSlowTicks++;
+			this.unsimulatedTime -= TICK_DURATION;
+			ticks++;
+		}
+	}
+
+	/**
+	 * Method that advances every motion of this world by one tick and removes the motions that are finished.
+	 * Motions that are started during the tick are advanced from the next tick on.
+	 */
+	private void tick() {
+		int numberOfMotions = this.motions.size();
+		for (int i = 0; i < numberOfMotions; i++)
+			this.motions.get(i).advance(TICK_DURATION);
+		for (int i = this.motions.size() - 1; i >= 0; i--)
+			if (this.motions.get(i).isFinished())
+				this.motions.remove(i);
+	}
+
+	/**
+	 * Function that returns how far this world is into its next tick.
+	 * 
+	 * @return alpha
+	 * 			The fraction of TICK_DURATION that hasn't been simulated yet, between 0 and 1
+	 */
+	public double getInterpolationAlpha() {
+		return Math.min(this.unsimulatedTime / TICK_DURATION, 1);
+	}
+
+	/**
+	 * Function that returns the number of nanoseconds one tick of this world may take.
+	 * 
+	 * @return this.tickBudget
+	 * 			The tick budget of this world
+	 */
+	@Basic
+	public long getTickBudget() {
+		return this.tickBudget;
+	}
+
+	/**
+	 * Method that sets the number of nanoseconds one tick of this world may take.
+	 * 
+	 * @param tickBudget
+	 * 			The new tick budget
+	 * @post	The tick budget of this world is the provided one.
+	 * 			| (new this).getTickBudget() == tickBudget
+	 * @throws	IllegalArgumentException
+	 * 			The provided tick budget isn't positive.
+	 * 			| tickBudget <= 0
+	 */
+	public void setTickBudget(long tickBudget) throws IllegalArgumentException {
+		if (tickBudget <= 0)
+			throw new IllegalArgumentException();
+		this.tickBudget = tickBudget;
+	}
+
+	/**
+	 * Function that returns the number of nanoseconds the last tick of this world took.
+	 * 
+	 * @return this.lastTickDuration
+	 * 			The duration of the last tick
+	 */
+	@Basic
+	public long getLastTickDuration() {
+		return this.lastTickDuration;
+	}
+
+	/**
+	 * Function that returns the number of ticks of this world that took longer than the tick budget.
+	 * 
+	 * @return this.numberOfSlowTicks
+	 * 			The number of slow ticks
+	 */
+	@Basic
+	public int getNumberOfSlowTicks() {
+		return this.numberOfSlowTicks;
+	}
+
 	/**
 	 * Function that returns the random seed generator to randomize certain properties of this world.
 	 * 
@@ -119,6 +655,20 @@ public class World {
 		return this.getCurrentWorm().getProjectile();
 	}
 
+	/**
+	 * Function that returns the reachability map of the worm whose turn it currently is.
+	 * The map is calculated on a background thread from the moment the turn starts, so it might not be ready yet.
+	 * 
+	 * @return this.reachabilityMap
+	 * 			The pending or calculated reachability map of the current worm
+	 * @return null
+	 * 			The game hasn't been started yet
+	 */
+	@Basic
+	public Future<ReachabilityMap> getReachabilityMap() {
+		return this.reachabilityMap;
+	}
+
 	/**
 	 * Function that returns all the pieces of food that are currently in this world.
 	 * 
@@ -148,6 +698,103 @@ public class World {
 	public Collection<Worm> getWorms() {
 		return this.collectionOfWorms;
 	}
+
+	/**
+	 * Function that returns the worm in the provided slot of this world, i.e. the worm at that position in the worms 
+	 * of this world. Together with getWormX(), getWormY(), getWormRadius() and isWormAlive(), which read the store 
+	 * of the state of the worms of this world directly, this lets a sweep over all worms run over contiguous memory 
+	 * instead of following a reference per worm.
+	 * 
+	 * @param slot
+	 * 			The slot of the worm
+	 * @return ((List<Worm>) this.getWorms()).get(slot)
+	 * 			The worm in the provided slot
+	 * @throws	IndexOutOfBoundsException
+	 * 			There is no worm in the provided slot.
+	 * 			| slot < 0 || slot >= this.getWorms().size()
+	 */
+	public Worm getWormInSlot(int slot) throws IndexOutOfBoundsException {
+		return this.collectionOfWorms.get(slot);
+	}
+
+	/**
+	 * Function that returns the x-coordinate of the worm in the provided slot of this world.
+	 * 
+	 * @param slot
+	 * 			The slot of the worm
+	 * @return this.getWormInSlot(slot).getX()
+	 * 			The x-coordinate of the worm in the provided slot
+	 * @throws	IndexOutOfBoundsException
+	 * 			There is no worm in the provided slot.
+	 * 			| slot < 0 || slot >= this.getWorms().size()
+	 */
+	public double getWormX(int slot) throws IndexOutOfBoundsException {
+		this.checkWormSlot(slot);
+		return this.wormStates.getX(slot);
+	}
+
+	/**
+	 * Function that returns the y-coordinate of the worm in the provided slot of this world.
+	 * 
+	 * @param slot
+	 * 			The slot of the worm
+	 * @return this.getWormInSlot(slot).getY()
+	 * 			The y-coordinate of the worm in the provided slot
+	 * @throws	IndexOutOfBoundsException
+	 * 			There is no worm in the provided slot.
+	 * 			| slot < 0 || slot >= this.getWorms().size()
+	 */
+	public double getWormY(int slot) throws IndexOutOfBoundsException {
+		this.checkWormSlot(slot);
+		return this.wormStates.getY(slot);
+	}
+
+	/**
+	 * Function that returns the radius of the worm in the provided slot of this world.
+	 * 
+	 * @param slot
+	 * 			The slot of the worm
+	 * @return this.getWormInSlot(slot).getRadius()
+	 * 			The radius of the worm in the provided slot
+	 * @throws	IndexOutOfBoundsException
+	 * 			There is no worm in the provided slot.
+	 * 			| slot < 0 || slot >= this.getWorms().size()
+	 */
+	public double getWormRadius(int slot) throws IndexOutOfBoundsException {
+		this.checkWormSlot(slot);
+		return this.wormStates.getRadius(slot);
+	}
+
+	/**
+	 * Function that returns whether or not the worm in the provided slot of this world is alive.
+	 * 
+	 * @param slot
+	 * 			The slot of the worm
+	 * @return this.getWormInSlot(slot).isAlive()
+	 * 			Whether or not the worm in the provided slot is alive
+	 * @throws	IndexOutOfBoundsException
+	 * 			There is no worm in the provided slot.
+	 * 			| slot < 0 || slot >= this.getWorms().size()
+	 */
+	public boolean isWormAlive(int slot) throws IndexOutOfBoundsException {
+		this.checkWormSlot(slot);
+		return this.wormStates.isAlive(slot);
+	}
+
+	/**
+	 * Method that checks whether or not there is a worm in the provided slot of this world. The store of this world 
+	 * has room for more slots than there are worms, so the slots after the last worm have to be refused here.
+	 * 
+	 * @param slot
+	 * 			The slot that has to be checked
+	 * @throws	IndexOutOfBoundsException
+	 * 			There is no worm in the provided slot.
+	 * 			| slot < 0 || slot >= this.getWorms().size()
+	 */
+	private void checkWormSlot(int slot) throws IndexOutOfBoundsException {
+		if (slot < 0 || slot >= this.collectionOfWorms.size())
+			throw new IndexOutOfBoundsException();
+	}
 	
 	/**
 	 * Function that returns all objects (i.e. worms, food, teams, active projectile) in this world.
@@ -176,21 +823,17 @@ public class World {
 	 * 			The game isn't finished yet: there is no winner
 	 */
 	public String getWinner() {
-		if (isGameFinished()) {
-			for (Worm searchWinner : this.collectionOfWorms) {
-				if (searchWinner.isAlive()
-						&& searchWinner.getTeamName() == null)
-					return searchWinner.getName();
-				else if (searchWinner.isAlive()
-						&& searchWinner.getTeamName() != null)
-					return searchWinner.getTeamName();
-			}
-		}
-		return null;
+		if (!this.isGameFinished() || this.numberOfLiveWorms == 0)
+			return null;
+		if (this.numberOfLiveSoloWorms == 1)
+			return this.getWormById((int) this.sumOfLiveSoloIds).getName();
+		return this.liveTeams.get(0).getTeamName();
 	}
 
 	/**
-	 * Function that adds a worm to this world on an arbitrarily chosen location, adjacent to impassable terrain.
+	 * Function that adds a worm to this world on an arbitrarily chosen location, adjacent to impassable terrain, 
+	 * where it doesn't overlap with the worms and food that are already in this world (unless no such location has 
+	 * been found after MAX_SPAWN_OVERLAP_ATTEMPTS locations, in which case the next location is taken).
 	 * If the game has already been started, it is no longer allowed to add any worms to this world.
 	 * The values of the properties of the newly created worm have to be valid when the new worm is being created.
 	 * The worm is added to the collection of worms of this world and is arbitrarily assigned to an arbitrarily 
@@ -206,16 +849,18 @@ public class World {
 		if (this.isStarted())
 			return;
 		Random randomGen = new Random();
-		int oldNumberOfWorms = this.collectionOfWorms.size();
+		int oldNumberOfWorms = this.collectionOfWorms.size(), attempts = 0;
 		double radius = Worm.MINIMAL_RADIUS + (this.MAX_UPPER_LIMIT_RADIUS_WORM_INIT - Worm.MINIMAL_RADIUS)
 				* randomGen.nextDouble();
 		do {
 			double[] resultOfLocation = this.locateNewObject(radius);
-			if (resultOfLocation[0] != -1)
+			if (resultOfLocation[0] != -1 && (++attempts > MAX_SPAWN_OVERLAP_ATTEMPTS
+					|| !this.overlapsObject(resultOfLocation[0], resultOfLocation[1], radius))) {
 				// Other values of the result are trivial once the first is -1.
-				this.collectionOfWorms.add(new Worm(this, resultOfLocation[0],
+				this.addWorm(new Worm(this, resultOfLocation[0],
 						resultOfLocation[1], resultOfLocation[2], radius,
 						"Default"));
+			}
 		} while (oldNumberOfWorms + 1 != this.collectionOfWorms.size());
 		// Optionally (at random), add the newly created worm to a random team.
 		if (!this.collectionOfTeams.isEmpty())
@@ -229,6 +874,9 @@ public class World {
 
 	/**
 	 * Method that removes a given worm from this world.
+	 * The worm is taken out of the turn order and its place in the worms of this world is taken by the last worm, 
+	 * so this takes constant time; the order in which the other worms get their turn doesn't change. The removed 
+	 * worm gets a store of its own for its state again, and the state of the last worm is moved into its slot.
 	 * 
 	 * @param worm
 	 * 			The worm that has to be removed from this world
@@ -242,13 +890,31 @@ public class World {
 	public void removeWormFromWorld(Worm worm) throws IllegalArgumentException {
 		if (worm == null)
 			throw new IllegalArgumentException();
+		if (this.getWormById(worm.getId()) == worm) {
+			if (worm.isAlive())
+				this.countLiveWorm(worm, worm.getTeam(), -1);
+			this.removeFromTurnOrder(worm);
+			int slot = worm.getSlot();
+			this.wormGrid.remove(slot);
+			worm.moveStates(new WormStates(1), 0);
+			Worm last = this.collectionOfWorms.remove(this.collectionOfWorms.size() - 1);
+			if (last != worm) {
+				int lastSlot = last.getSlot();
+				this.collectionOfWorms.set(slot, last);
+				last.moveStates(this.wormStates, slot);
+				this.wormGrid.moveSlot(lastSlot, slot);
+			}
+		}
+		this.releaseIds(worm);
 		worm.terminate();
-		this.collectionOfWorms.remove(worm);
+		this.incrementVersion();
 	}
 
 	/**
 	 * Method that adds a piece of food to this world.
-	 * The position of the piece of food that is to be added is chosen arbitrarily, but will always be adjacent to impassable terrain.
+	 * The position of the piece of food that is to be added is chosen arbitrarily, but will always be adjacent to impassable terrain, 
+	 * and the piece of food will not overlap with the worms and food that are already in this world (unless no such 
+	 * location has been found after MAX_SPAWN_OVERLAP_ATTEMPTS locations).
 	 * Once the game has been started, it is no longer allowed to add any more additional pieces of food to this world.
 	 * 
 	 * @post	The newly created piece of food has been added to this world.
@@ -258,18 +924,23 @@ public class World {
 	public void addFoodToWorld() {
 		if (this.isStarted())
 			return;
-		int oldNumberOfFood = this.collectionOfFood.size();
+		int oldNumberOfFood = this.collectionOfFood.size(), attempts = 0;
 		do {
 			double[] resultOfLocation = this.locateNewObject(Food.RADIUS);
-			if (resultOfLocation[0] != -1)
+			if (resultOfLocation[0] != -1 && (++attempts > MAX_SPAWN_OVERLAP_ATTEMPTS
+					|| !this.overlapsObject(resultOfLocation[0], resultOfLocation[1], Food.RADIUS))) {
 				// Other values of the result are trivial once the first is -1.
-				this.collectionOfFood.add(new Food(this, resultOfLocation[0],
+				this.addFood(new Food(this, resultOfLocation[0],
 						resultOfLocation[1]));
+			}
 		} while (this.collectionOfFood.size() != oldNumberOfFood + 1);
 	}
 
 	/**
 	 * Method that removes a given piece of food from this world.
+	 * Its place in the food of this world is taken by the last piece of food, so this takes constant time. The 
+	 * removed piece of food gets a store of its own for its position again, and the position of the last piece of 
+	 * food is moved into its slot.
 	 * 
 	 * @param food
 	 * 			The piece of food that has to be removed from this world.
@@ -283,8 +954,22 @@ public class World {
 	public void removeFoodFromWorld(Food food) throws IllegalArgumentException {
 		if (food == null)
 			throw new IllegalArgumentException();
+		if (this.getObjectById(food.getId()) == food) {
+			int slot = food.getSlot();
+			this.foodGrid.remove(slot);
+			food.moveStates(new CircleStates(1), 0);
+			Food last = this.collectionOfFood.remove(this.collectionOfFood.size() - 1);
+			if (last != food) {
+				int lastSlot = last.getSlot();
+				this.collectionOfFood.set(slot, last);
+				last.moveStates(this.foodStates, slot);
+				this.foodGrid.moveSlot(lastSlot, slot);
+			}
+			this.releaseId(food.getId());
+		}
+		food.setId(-1);
 		food.terminate();
-		this.collectionOfFood.remove(food);
+		this.incrementVersion();
 	}
 
 	/**
@@ -324,6 +1009,244 @@ public class World {
 		projectile.terminate();
 	}
 
+	/**
+	 * Function that returns the worm, piece of food or projectile of this world with the provided identifier.
+	 * Every worm of this world, every weapon of those worms and every piece of food of this world has an identifier 
+	 * (see getId()) from the moment it is added to this world until it is removed from it. The identifiers are dense: 
+	 * they lie between 0 and getNumberOfIds() - 1, and the identifier of a removed object is given to the next object 
+	 * that is added, so an identifier only refers to the same object as long as that object is part of this world.
+	 * 
+	 * @param id
+	 * 			The identifier of the object
+	 * @return object
+	 * 			The object with the provided identifier, or null if no object of this world has that identifier
+	 */
+	public Object getObjectById(int id) {
+		if (id < 0 || id >= this.objectsById.size())
+			return null;
+		return this.objectsById.get(id);
+	}
+
+	/**
+	 * Function that returns the worm of this world with the provided identifier.
+	 * 
+	 * @param id
+	 * 			The identifier of the worm
+	 * @return (Worm) this.getObjectById(id)
+	 * 			The worm with the provided identifier, or null if no worm of this world has that identifier
+	 */
+	public Worm getWormById(int id) {
+		Object object = this.getObjectById(id);
+		return object instanceof Worm ? (Worm) object : null;
+	}
+
+	/**
+	 * Function that returns the piece of food of this world with the provided identifier.
+	 * 
+	 * @param id
+	 * 			The identifier of the piece of food
+	 * @return (Food) this.getObjectById(id)
+	 * 			The piece of food with the provided identifier, or null if no food of this world has that identifier
+	 */
+	public Food getFoodById(int id) {
+		Object object = this.getObjectById(id);
+		return object instanceof Food ? (Food) object : null;
+	}
+
+	/**
+	 * Function that returns the projectile of this world with the provided identifier.
+	 * 
+	 * @param id
+	 * 			The identifier of the projectile
+	 * @return (Projectile) this.getObjectById(id)
+	 * 			The projectile with the provided identifier, or null if no projectile of this world has that identifier
+	 */
+	public Projectile getProjectileById(int id) {
+		Object object = this.getObjectById(id);
+		return object instanceof Projectile ? (Projectile) object : null;
+	}
+
+	/**
+	 * Function that returns the number of identifiers that are in use or can be given again in this world; every 
+	 * identifier of this world is smaller than this number.
+	 * 
+	 * @return this.objectsById.size()
+	 * 			The upper bound of the identifiers of this world
+	 */
+	public int getNumberOfIds() {
+		return this.objectsById.size();
+	}
+
+	/**
+	 * Method that gives identifiers to the provided worm and its weapons.
+	 * 
+	 * @param worm
+	 * 			The worm that has been added to this world
+	 */
+	private void assignIds(Worm worm) {
+		worm.setId(this.assignId(worm));
+		for (Projectile weapon : worm.getWeapons())
+			weapon.setId(this.assignId(weapon));
+	}
+
+	/**
+	 * Method that updates the counts of the live worms of this world after the provided worm may have died, come 
+	 * back to life (by being healed) or changed team. Worms that aren't part of the worms of this world (e.g. worms 
+	 * that have been made with the constructor of Worm) aren't counted by this world, but are still kept up to date 
+	 * in the live worms of their team.
+	 * 
+	 * @param worm
+	 * 			The worm that may have changed
+	 * @param wasAlive
+	 * 			Whether or not the worm was counted as alive before the change
+	 * @param oldTeam
+	 * 			The team of the worm before the change
+	 */
+	void updateLiveCount(Worm worm, boolean wasAlive, Team oldTeam) {
+		if (this.getWormById(worm.getId()) != worm) {
+			if (wasAlive && oldTeam != null)
+				oldTeam.removeLiveMember(worm);
+			if (worm.isAlive() && worm.getTeam() != null)
+				worm.getTeam().addLiveMember(worm);
+			return;
+		}
+		if (wasAlive)
+			this.countLiveWorm(worm, oldTeam, -1);
+		if (worm.isAlive())
+			this.countLiveWorm(worm, worm.getTeam(), 1);
+	}
+
+	/**
+	 * Method that adds the provided change to the counts of the live worms for a worm of the provided team.
+	 * The identifiers of the live worms without a team are summed, so the identifier of the only one left is known 
+	 * without searching; the live worms of a team are kept by the team itself (see Team.getLiveWormsInTeam()), and 
+	 * the teams with live worms are kept in a list, which holds at most as many teams as this world can have.
+	 * 
+	 * @param worm
+	 * 			The worm that is counted
+	 * @param team
+	 * 			The team for which the worm is counted, or null if it is counted without a team
+	 * @param change
+	 * 			1 if the worm is counted as alive, -1 if it is no longer counted
+	 */
+	private void countLiveWorm(Worm worm, Team team, int change) {
+		this.numberOfLiveWorms += change;
+		if (team == null) {
+			this.numberOfLiveSoloWorms += change;
+			this.sumOfLiveSoloIds += change * worm.getId();
+			return;
+		}
+		if (change > 0) {
+			team.addLiveMember(worm);
+			if (team.getNumberOfLiveWorms() == 1)
+				this.liveTeams.add(team);
+		} else {
+			team.removeLiveMember(worm);
+			if (team.getNumberOfLiveWorms() == 0)
+				this.liveTeams.remove(team);
+		}
+	}
+
+	/**
+	 * Method that adds the provided worm, which has just been added as the last worm of this world, at the end of 
+	 * the turn order. The turn order is a ring of the identifiers of the worms, linked in both directions.
+	 * 
+	 * @param worm
+	 * 			The worm that has been added to this world
+	 */
+	private void addToTurnOrder(Worm worm) {
+		int id = worm.getId();
+		if (id >= this.nextInTurn.length) {
+			int capacity = Math.max(2 * this.nextInTurn.length, id + 1);
+			this.nextInTurn = Arrays.copyOf(this.nextInTurn, capacity);
+			this.previousInTurn = Arrays.copyOf(this.previousInTurn, capacity);
+		}
+		if (this.lastInTurn == -1) {
+			this.nextInTurn[id] = id;
+			this.previousInTurn[id] = id;
+		} else {
+			int first = this.nextInTurn[this.lastInTurn];
+			this.nextInTurn[this.lastInTurn] = id;
+			this.previousInTurn[id] = this.lastInTurn;
+			this.nextInTurn[id] = first;
+			this.previousInTurn[first] = id;
+		}
+		this.lastInTurn = id;
+	}
+
+	/**
+	 * Method that takes the provided worm out of the turn order. If it is the current worm, or the worm that gets 
+	 * the next turn after a removed current worm, the worm after it is remembered to get the next turn.
+	 * 
+	 * @param worm
+	 * 			The worm that is removed from this world
+	 */
+	private void removeFromTurnOrder(Worm worm) {
+		int id = worm.getId();
+		int next = this.nextInTurn[id], previous = this.previousInTurn[id];
+		if (next == id) {
+			next = -1;
+			previous = -1;
+		} else {
+			this.nextInTurn[previous] = next;
+			this.previousInTurn[next] = previous;
+		}
+		if (worm == this.getCurrentWorm() || id == this.nextTurnId)
+			this.nextTurnId = next;
+		if (id == this.lastInTurn)
+			this.lastInTurn = previous;
+	}
+
+	/**
+	 * Method that takes back the identifiers of the provided worm and its weapons.
+	 * 
+	 * @param worm
+	 * 			The worm that is removed from this world
+	 */
+	private void releaseIds(Worm worm) {
+		for (Projectile weapon : worm.getWeapons()) {
+			this.releaseId(weapon.getId());
+			weapon.setId(-1);
+		}
+		this.releaseId(worm.getId());
+		worm.setId(-1);
+	}
+
+	/**
+	 * Function that stores the provided object under a free identifier and returns that identifier. The identifier 
+	 * that has been taken back last is given first; only if there is none, a new identifier is made.
+	 * 
+	 * @param object
+	 * 			The object that needs an identifier
+	 * @return id
+	 * 			The identifier of the object
+	 */
+	private int assignId(Object object) {
+		if (this.numberOfFreeIds > 0) {
+			int id = this.freeIds[--this.numberOfFreeIds];
+			this.objectsById.set(id, object);
+			return id;
+		}
+		this.objectsById.add(object);
+		return this.objectsById.size() - 1;
+	}
+
+	/**
+	 * Method that takes back the provided identifier, so it can be given to another object. Identifiers that don't 
+	 * refer to an object of this world (such as -1) are ignored.
+	 * 
+	 * @param id
+	 * 			The identifier that is no longer used
+	 */
+	private void releaseId(int id) {
+		if (this.getObjectById(id) == null)
+			return;
+		this.objectsById.set(id, null);
+		if (this.numberOfFreeIds == this.freeIds.length)
+			this.freeIds = Arrays.copyOf(this.freeIds, 2 * this.freeIds.length);
+		this.freeIds[this.numberOfFreeIds++] = id;
+	}
+
 	/**
 	 * Method that creates a new piece of food, adds it to the food of this world (i.e. the collection) 
 	 * and returns the newly created piece of food.
@@ -345,10 +1268,26 @@ public class World {
 	public Food createFood(double x, double y) throws RuntimeException {
 		if (this.isStarted())
 			throw new RuntimeException();
-		this.collectionOfFood.add(new Food(this, x, y));
+		this.addFood(new Food(this, x, y));
 		return this.collectionOfFood.get(this.collectionOfFood.size() - 1);
 	}
 
+	/**
+	 * Method that adds the provided piece of food to the food of this world and to the grid in which the food 
+	 * is looked up. Its position is moved into the store of this world, in the slot of its position in the food of 
+	 * this world.
+	 * 
+	 * @param food
+	 * 			The piece of food that has to be added
+	 */
+	private void addFood(Food food) {
+		this.collectionOfFood.add(food);
+		food.moveStates(this.foodStates, this.collectionOfFood.size() - 1);
+		this.foodGrid.add(food.getSlot());
+		food.setId(this.assignId(food));
+		this.incrementVersion();
+	}
+
 	/**
 	 * Method that creates a new worm, adds it to the collection of worms that are part of this world 
 	 * and then returns the newly created worm.
@@ -378,10 +1317,28 @@ public class World {
 		if (this.isStarted())
 			throw new RuntimeException();
 		Worm worm = new Worm(this, x, y, direction, radius, name);
-		this.collectionOfWorms.add(worm);
+		this.addWorm(worm);
 		return worm;
 	}
 
+	/**
+	 * Method that adds the provided worm as the last worm of this world: its state is moved into the store of this 
+	 * world, in the slot of its position in the worms of this world, and it gets identifiers, a place in the grid 
+	 * of the worms, the last place in the turn order and is counted if it is alive.
+	 * 
+	 * @param worm
+	 * 			The worm that has to be added
+	 */
+	private void addWorm(Worm worm) {
+		this.collectionOfWorms.add(worm);
+		worm.moveStates(this.wormStates, this.collectionOfWorms.size() - 1);
+		this.wormGrid.add(worm.getSlot());
+		this.assignIds(worm);
+		this.addToTurnOrder(worm);
+		this.updateLiveCount(worm, false, null);
+		this.incrementVersion();
+	}
+
 	/**
 	 * Method that starts the game.
 	 * This method sets the state of the game in this world to "started" and it also selects the 
@@ -390,14 +1347,16 @@ public class World {
 	 * 
 	 * @post	This method sets the state of the game in this world to started.
 	 * 			| (new this).isStarted()
-	 * @post	The first worm has been selected.
+	 * @post	The first worm in the turn order (the first worm that has been added and is still in this world) 
+	 * 			has been selected. As long as no worm has been removed, this is the first worm of this world.
 	 * 			| (new this).getWorms().get(0) == (new this).getCurrentWorm()
 	 */
 	public void startGame() {
 		this.isStarted = true;
 		if (this.collectionOfWorms.isEmpty())
 			return;
-		this.currentWorm = this.collectionOfWorms.get(0);
+		this.currentWorm = this.getWormById(this.nextInTurn[this.lastInTurn]);
+		this.startReachabilityAnalysis();
 	}
 
 	/**
@@ -405,29 +1364,34 @@ public class World {
 	 * Each new turn, the worm whose turn it is, is healed for 10 Hit Points and its 
 	 * Action Points are reset to the maximum amount of Action Points that worm can have.
 	 * The next worm's turn cannot start, until the active projectile of this world has been terminated.
+	 * The worms get their turn in the order in which they have been added to this world; the next worm is found in 
+	 * constant time, also when the current worm is being removed during its turn (then the worm that came after it 
+	 * gets the turn). If there are no worms left, the current worm doesn't change.
 	 * 
 	 * @effect	First of all, the active projectile is removed from this world, if this didn't happen already.
 	 * 			The next worm is selected. This worm's Hit Points is increased by 10 and its Action Points is set 
 	 * 			to the maximum amount of Action Points.
 	 * 			| if (!this.getActiveProjectile().isTerminated())
 	 * 			|	then (this.removeProjectileFromWorld(this.getActiveProjectile()))
-	 * 			| (((new this).getCurrentWorm() == this.getWorms().get((this.getWorms().indexOf(this
-	 *			|	.getCurrentWorm()) + 1) % getWorms().size()))
-	 *			| 		&& ((new this).getCurrentWorm().getHitPoints() == this.getWorms().get(this.getWorms().
-	 *			|			indexOf(this.getCurrentWorm() + 1) % this.getWorms().size()).getHitPoints() + 10)
-	 *			|				&& ((new this).getCurrentWorm().getActionPoints() == this.getWorms().get(this.getWorms().
-	 *			|					indexOf(this.getCurrentWorm() + 1) % this.getWorms().size()).getMaxActionPoints()))
+	 * 			| (new this).getCurrentWorm() == the first worm after this.getCurrentWorm() in the turn order
+	 *			| 	&& (new this).getCurrentWorm().getHitPoints() == (old current worm's successor).getHitPoints() + 10
+	 *			|		&& (new this).getCurrentWorm().getActionPoints() == (new this).getCurrentWorm().getMaxActionPoints()
 	 */
 	public void startNextTurn() {
 		if (!this.getActiveProjectile().isTerminated())
 			this.removeProjectileFromWorld(this.getActiveProjectile());
-		this.currentWorm = ((ArrayList<Worm>) this.getWorms())
-				.get((((ArrayList<Worm>) this.getWorms()).indexOf(this
-						.getCurrentWorm()) + 1) % getWorms().size());
+		Worm current = this.getCurrentWorm();
+		int next = this.getWormById(current.getId()) != current ? this.nextTurnId
+				: this.nextInTurn[current.getId()];
+		if (next == -1)
+			return;
+		this.currentWorm = this.getWormById(next);
+		this.nextTurnId = -1;
 		this.getCurrentWorm().setHitPoints(
 				this.getCurrentWorm().getHitPoints() + 10);
 		this.getCurrentWorm().setActionPoints(
 				this.getCurrentWorm().getMaxActionPoints());
+		this.startReachabilityAnalysis();
 	}
 
 	/**
@@ -448,8 +1412,7 @@ public class World {
 	 * 			The object is not adjacent to impassable terrain
 	 */
 	public boolean isAdjacent(double x, double y, double radius) {
-		this.calculateLocationStatus(x, y, radius);
-		return this.adjacent;
+		return this.calculateLocationStatus(x, y, radius) == ADJACENT;
 	}
 
 	/**
@@ -468,8 +1431,172 @@ public class World {
 	 * 			There is no impassable terrain on the provided radius around the provided coordinates
 	 */
 	public boolean isImpassable(double x, double y, double radius) {
-		this.calculateLocationStatus(x, y, radius);
-		return this.impassable;
+		return this.calculateLocationStatus(x, y, radius) == IMPASSABLE;
+	}
+
+	/**
+	 * Function that checks whether or not a circle with the provided coordinates and radius overlaps with 
+	 * at least one piece of food in this world. The food is looked up in a grid and nothing is allocated.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of the middle point
+	 * @param y
+	 * 			The y-coordinate of the middle point
+	 * @param radius
+	 * 			The radius of the circle
+	 * @return true
+	 * 			The circle overlaps with a piece of food in this world
+	 * @return false
+	 * 			The circle doesn't overlap with any food in this world
+	 */
+	boolean overlapsFood(double x, double y, double radius) {
+		return this.foodGrid.findOverlapping(x, y, x, y, radius, null);
+	}
+
+	/**
+	 * Method that adds the pieces of food of this world that a circle with the provided radius passes, when it 
+	 * moves in a straight line between the provided positions, to the provided collection.
+	 * The food is looked up in a grid, so only the food near the segment is looked at.
+	 * 
+	 * @param x0
+	 * 			The x-coordinate at which the center of the circle starts
+	 * @param y0
+	 * 			The y-coordinate at which the center of the circle starts
+	 * @param x1
+	 * 			The x-coordinate at which the center of the circle ends
+	 * @param y1
+	 * 			The y-coordinate at which the center of the circle ends
+	 * @param radius
+	 * 			The radius of the circle
+	 * @param result
+	 * 			The collection to which the pieces of food have to be added
+	 * @return true
+	 * 			The circle passes at least one piece of food
+	 * @return false
+	 * 			The circle doesn't pass any food
+	 */
+	boolean findFood(double x0, double y0, double x1, double y1, double radius,
+			Collection<Food> result) {
+		return this.foodGrid.findOverlapping(x0, y0, x1, y1, radius, result);
+	}
+
+	/**
+	 * Function that calculates the direction in which the terrain that an object with the provided coordinates and 
+	 * radius touches pushes it away: the opposite of the mean direction of the sample points on 1.1 times the rim 
+	 * (the same points as the terrain checks) that lie on impassable terrain. This function doesn't allocate anything.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of the object
+	 * @param y
+	 * 			The y-coordinate of the object
+	 * @param radius
+	 * 			The radius of the object
+	 * @param result
+	 * 			The array in which the unit vector of the contact normal has to be stored
+	 * @return true
+	 * 			The object touches impassable terrain; the contact normal has been stored
+	 * @return false
+	 * 			The object doesn't touch impassable terrain, or touches it evenly from all sides
+	 */
+	boolean getContactNormal(double x, double y, double radius, double[] result) {
+		double heightPerPixel = this.getHeight() / this.area.length;
+		double widthPerPixel = this.getWidth() / this.area[0].length;
+		double normalX = 0, normalY = 0;
+		for (int i = 0; i < RIM_SAMPLES; i++) {
+			if (!this.area[this.metricToPixelY(y + radius * RIM_SIN[i] * 1.1, heightPerPixel)][this
+					.metricToPixelX(x + radius * RIM_COS[i] * 1.1, widthPerPixel)]) {
+				normalX -= RIM_COS[i];
+				normalY -= RIM_SIN[i];
+			}
+		}
+		double length = Math.sqrt(normalX * normalX + normalY * normalY);
+		if (length < 1e-9)
+			return false;
+		result[0] = normalX / length;
+		result[1] = normalY / length;
+		return true;
+	}
+
+	/**
+	 * Method that adds the worms of this world that overlap the provided circle to the provided collection.
+	 * The worms are looked up in a grid, so only the worms near the circle are looked at.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of the center of the circle
+	 * @param y
+	 * 			The y-coordinate of the center of the circle
+	 * @param radius
+	 * 			The radius of the circle
+	 * @param result
+	 * 			The collection to which the worms whose distance to the center is smaller than the radius of 
+	 * 			the circle plus their own radius have to be added
+	 */
+	void findWorms(double x, double y, double radius, Collection<Worm> result) {
+		this.wormGrid.findOverlapping(x, y, radius, result);
+	}
+
+	/**
+	 * Method that adds the worms of this world that a circle with the provided radius passes, when it moves in a 
+	 * straight line between the provided positions, to the provided collection.
+	 * The worms are looked up in a grid, so only the worms near the segment are looked at.
+	 * 
+	 * @param x0
+	 * 			The x-coordinate at which the center of the circle starts
+	 * @param y0
+	 * 			The y-coordinate at which the center of the circle starts
+	 * @param x1
+	 * 			The x-coordinate at which the center of the circle ends
+	 * @param y1
+	 * 			The y-coordinate at which the center of the circle ends
+	 * @param radius
+	 * 			The radius of the circle
+	 * @param result
+	 * 			The collection to which the worms have to be added
+	 * @return true
+	 * 			The circle passes at least one worm
+	 * @return false
+	 * 			The circle doesn't pass any worm
+	 */
+	boolean findWorms(double x0, double y0, double x1, double y1, double radius,
+			Collection<Worm> result) {
+		return this.wormGrid.findOverlapping(x0, y0, x1, y1, radius, result);
+	}
+
+	/**
+	 * Function that checks whether or not a circle with the provided coordinates and radius overlaps with a worm 
+	 * or a piece of food of this world. Both are looked up in their grid and nothing is allocated.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of the middle point
+	 * @param y
+	 * 			The y-coordinate of the middle point
+	 * @param radius
+	 * 			The radius of the circle
+	 * @return true
+	 * 			The circle overlaps with a worm or a piece of food of this world
+	 * @return false
+	 * 			The circle doesn't overlap with any worm or food of this world
+	 */
+	boolean overlapsObject(double x, double y, double radius) {
+		return this.wormGrid.findOverlapping(x, y, x, y, radius, null)
+				|| this.foodGrid.findOverlapping(x, y, x, y, radius, null);
+	}
+
+	/**
+	 * Method that stores the current position and radius of the provided worm in the grid of the worms of 
+	 * this world. Worms that don't belong to the worms of this world are ignored.
+	 * 
+	 * @param worm
+	 * 			The worm that has moved or grown
+	 * @post	If the worm belongs to this world, the version of the positions of the worms has changed.
+	 * 			| if (this.getWormById(worm.getId()) == worm)
+	 * 			|	then (new this).getWormsVersion() == this.getWormsVersion() + 1
+	 */
+	void updateWormIndex(Worm worm) {
+		if (this.getWormById(worm.getId()) != worm)
+			return;
+		this.wormGrid.update(worm.getSlot());
+		this.wormsVersion++;
 	}
 
 	/**
@@ -488,13 +1615,13 @@ public class World {
 	 * 			Not all of the terrain is passable on the provided radius around the provided coordinates
 	 */
 	public boolean isPassable(double x, double y, double radius) {
-		this.calculateLocationStatus(x, y, radius);
-		return this.passable;
+		return this.calculateLocationStatus(x, y, radius) == PASSABLE;
 	}
 
 	/**
 	 * Function that checks whether or not the game is finished, i.e. a team (all remaining worms are from the same team) 
-	 * or an individual worm (that worm is the only survivor and is not part of a team) has won.
+	 * or an individual worm (that worm is the only survivor and is not part of a team) has won, or no worm is alive 
+	 * anymore. The live worms are counted while the game goes on (see updateLiveCount()), so this takes constant time.
 	 * 
 	 * @return true
 	 * 			The game is finished
@@ -504,30 +1631,102 @@ public class World {
 	public boolean isGameFinished() {
 		if (!this.isStarted())
 			return false;
-		if (this.getWorms().size() == 1)
-			return true;
-		boolean finishedVerification = true;
-		boolean solo = false;
-		for (Worm potentialWinner : this.collectionOfWorms) {
-			if (potentialWinner.isAlive()) {
-				if (potentialWinner.getTeamName() == null)
-					solo = true;
-				int indexCounter = ((ArrayList<Worm>) getWorms())
-						.indexOf(potentialWinner);
-				for (Worm checkPotentialWinner = ((ArrayList<Worm>) getWorms())
-						.get(indexCounter + 1); indexCounter < getWorms()
-						.size(); indexCounter++) {
-					if (checkPotentialWinner.isAlive()
-							&& (solo || checkPotentialWinner.getTeamName() != potentialWinner
-									.getTeamName())) {
-						finishedVerification = false;
-						break;
-					}
+		return this.numberOfLiveWorms <= 1
+				|| (this.numberOfLiveSoloWorms == 0 && this.liveTeams.size() == 1);
+	}
+
+	/**
+	 * Function that returns a lower bound for the distance from the provided position to impassable terrain.
+	 * Every point closer to the provided position than the returned distance is mapped by the terrain checks 
+	 * on a passable pixel. The distance is derived from the number of pixels (in any of the 8 directions) 
+	 * between the pixel of the position and the nearest impassable pixel, minus one pixel for the pixel of the 
+	 * position itself and one pixel for rounding.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of the position
+	 * @param y
+	 * 			The y-coordinate of the position
+	 * @return clearance
+	 * 			The distance (in meters) around the provided position in which all terrain is passable
+	 * @return 0
+	 * 			The provided position lies outside this world or next to impassable terrain
+	 */
+	public double getClearance(double x, double y) {
+		if (!this.liesInWorld(x, y, 0))
+			return 0;
+		double heightPerPixel = this.getHeight() / this.area.length;
+		double widthPerPixel = this.getWidth() / this.area[0].length;
+		int pixels = this.getClearanceMap()[this.metricToPixelY(y,
+				heightPerPixel)][this.metricToPixelX(x, widthPerPixel)];
+		return Math.max(0, pixels - 2) * Math.min(heightPerPixel, widthPerPixel);
+	}
+
+	/**
+	 * Function that returns for every pixel of the map of this world the number of pixels (in any of the 8 directions)
+	 * to the nearest impassable pixel. The map is calculated the first time it is needed, in two passes over 
+	 * the pixels (the chessboard distance transform). Pixels outside the map don't count as impassable, because 
+	 * the terrain checks map positions outside the map on the pixels at its border.
+	 * 
+	 * @return this.clearanceMap
+	 * 			The distance in pixels to the nearest impassable pixel, for every pixel of the map
+	 */
+	private int[][] getClearanceMap() {
+		int[][] result = this.clearanceMap;
+		if (result == null) {
+			synchronized (this) {
+				result = this.clearanceMap;
+				if (result == null) {
+					result = this.calculateClearanceMap();
+					this.clearanceMap = result;
 				}
-				break;
 			}
 		}
-		return finishedVerification;
+		return result;
+	}
+
+	/**
+	 * Function that calculates the distance in pixels to the nearest impassable pixel, for every pixel of the map.
+	 * 
+	 * @return clearanceMap
+	 * 			The distance in pixels to the nearest impassable pixel, for every pixel of the map
+	 */
+	private int[][] calculateClearanceMap() {
+		int rows = this.area.length, columns = this.area[0].length;
+		int far = rows + columns;
+		int[][] clearanceMap = new int[rows][columns];
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				if (!this.area[row][column])
+					continue;
+				int distance = far;
+				if (row > 0) {
+					distance = Math.min(distance, clearanceMap[row - 1][column] + 1);
+					if (column > 0)
+						distance = Math.min(distance, clearanceMap[row - 1][column - 1] + 1);
+					if (column < columns - 1)
+						distance = Math.min(distance, clearanceMap[row - 1][column + 1] + 1);
+				}
+				if (column > 0)
+					distance = Math.min(distance, clearanceMap[row][column - 1] + 1);
+				clearanceMap[row][column] = distance;
+			}
+		}
+		for (int row = rows - 1; row >= 0; row--) {
+			for (int column = columns - 1; column >= 0; column--) {
+				int distance = clearanceMap[row][column];
+				if (row < rows - 1) {
+					distance = Math.min(distance, clearanceMap[row + 1][column] + 1);
+					if (column > 0)
+						distance = Math.min(distance, clearanceMap[row + 1][column - 1] + 1);
+					if (column < columns - 1)
+						distance = Math.min(distance, clearanceMap[row + 1][column + 1] + 1);
+				}
+				if (column < columns - 1)
+					distance = Math.min(distance, clearanceMap[row][column + 1] + 1);
+				clearanceMap[row][column] = distance;
+			}
+		}
+		return clearanceMap;
 	}
 
 	/**
@@ -682,30 +1881,42 @@ public class World {
 	}
 
 	/**
-	 * Method that calculates the pixel-coordinates for the given metric coordinates and returns the result.
+	 * Method that calculates the pixel-column for the given metric x-coordinate.
 	 * 
 	 * @param x
 	 * 			The given metric x-coordinate
-	 * @param y
-	 * 			The given metric y-coordinate
-	 * @return result
-	 * 			An array containing the pixel-coordinates that are equal to those given in metric coordinates
+	 * @param widthPerPixel
+	 * 			The width of one pixel of this world (in meters)
+	 * @return xResult
+	 * 			The column of the pixel that contains the given x-coordinate, clamped to the map
 	 */
-	private int[] metricToPixels(double x, double y) {
-		double heightPerPixel = this.getHeight() / this.area.length;
-		double widthPerPixel = this.getWidth() / this.area[0].length;
+	private int metricToPixelX(double x, double widthPerPixel) {
 		int xResult = (int) (x / widthPerPixel);
 		xResult = Math.max(0, xResult);
-		xResult = Math.min(xResult, this.area[0].length - 1);
+		return Math.min(xResult, this.area[0].length - 1);
+	}
+
+	/**
+	 * Method that calculates the pixel-row for the given metric y-coordinate.
+	 * 
+	 * @param y
+	 * 			The given metric y-coordinate
+	 * @param heightPerPixel
+	 * 			The height of one pixel of this world (in meters)
+	 * @return yResult
+	 * 			The row of the pixel that contains the given y-coordinate, clamped to the map
+	 */
+	private int metricToPixelY(double y, double heightPerPixel) {
 		int yResult = (int) ((this.getHeight() - y) / heightPerPixel);
 		yResult = Math.max(0, yResult);
-		yResult = Math.min(yResult, this.area.length - 1);
-		int[] result = { xResult, yResult };
-		return result;
+		return Math.min(yResult, this.area.length - 1);
 	}
 	
 	/**
 	 * Method that checks the location status of this world for an object that stands on the given coordinates (x,y) and has the given radius.
+	 * The 36 sample points on the rim are taken from a precomputed table and mapped to pixels without allocating, 
+	 * so the result is the same as sampling every 10 degrees with Math.cos and Math.sin, but without the cost.
+	 * This method doesn't store anything in this world, so it can be used from several threads at once.
 	 * 
 	 * @param x
 	 * 			The x-coordinate of the object
@@ -713,37 +1924,96 @@ public class World {
 	 * 			The y-coordinate of the object
 	 * @param radius
 	 * 			The radius of the worm
-	 * @effect	The boolean values impassable, adjacent and passable are set to the correct values for the object's position and radius.
-	 * 			| if (object.isImpassable(object.getX(), object.getY, object.getRadius())
-	 * 			|	then ((new this).impassable && !((new this).adjacent) && !((new this).passable))
-	 * 			| else if (object.isAdjacent(object.getX(), object.getY, object.getRadius())
-	 * 			|	then (!((new this).impassable) && (new this).adjacent && !((new this).passable))
-	 * 			| else if (object.isPassable(object.getX(), object.getY, object.getRadius())
-	 * 			|	then (!((new this).impassable) && !((new this).adjacent) && (new this).passable)
-	 */
-	private void calculateLocationStatus(double x, double y, double radius) {
-		double circleX, circleY;
-		this.impassable = false;
-		this.adjacent = false;
-		this.passable = true;
-		for (int i = 0; i < 360; i += 10) {
-			circleX = radius * Math.cos(Math.toRadians(i));
-			circleY = radius * Math.sin(Math.toRadians(i));
-			int[] objectCircleToPixels = metricToPixels(x + circleX, y
-					+ circleY);
-			int[] objectBigCircleToPixels = metricToPixels(x + circleX * 1.1, y
-					+ circleY * 1.1);
-			if (!area[objectCircleToPixels[1]][objectCircleToPixels[0]]) {
-				this.impassable = true;
-				this.adjacent = false;
-				this.passable = false;
-				return;
-			} else if (this.area[objectCircleToPixels[1]][objectCircleToPixels[0]]
-					&& !(this.area[objectBigCircleToPixels[1]][objectBigCircleToPixels[0]])) {
-				this.adjacent = true;
-				this.passable = false;
-			}
+	 * @return IMPASSABLE
+	 * 			A point on the rim of the object lies on impassable terrain.
+	 * 			| object.isImpassable(x, y, radius)
+	 * @return ADJACENT
+	 * 			The rim lies on passable terrain, but 1.1 times the rim touches impassable terrain.
+	 * 			| object.isAdjacent(x, y, radius)
+	 * @return PASSABLE
+	 * 			All of the sample points lie on passable terrain.
+	 * 			| object.isPassable(x, y, radius)
+	 */
+	private int calculateLocationStatus(double x, double y, double radius) {
+		double heightPerPixel = this.getHeight() / this.area.length;
+		double widthPerPixel = this.getWidth() / this.area[0].length;
+		int status = PASSABLE;
+		for (int i = 0; i < RIM_SAMPLES; i++) {
+			double circleX = radius * RIM_COS[i];
+			double circleY = radius * RIM_SIN[i];
+			if (!this.area[this.metricToPixelY(y + circleY, heightPerPixel)][this
+					.metricToPixelX(x + circleX, widthPerPixel)])
+				return IMPASSABLE;
+			if (status == PASSABLE
+					&& !this.area[this.metricToPixelY(y + circleY * 1.1, heightPerPixel)][this
+							.metricToPixelX(x + circleX * 1.1, widthPerPixel)])
+				status = ADJACENT;
 		}
+		return status;
+	}
+
+	/**
+	 * Method that checks for a batch of objects with the same radius whether or not they lie on impassable terrain, 
+	 * in one pass. The result for every object is the same as isImpassable(), but the size of the pixels is only 
+	 * calculated once and the objects are checked one after the other from primitive arrays.
+	 * 
+	 * @param xs
+	 * 			The x-coordinates of the objects
+	 * @param ys
+	 * 			The y-coordinates of the objects
+	 * @param count
+	 * 			The number of objects, stored at the first indices of the arrays
+	 * @param radius
+	 * 			The radius of every object
+	 * @param result
+	 * 			The array in which has to be stored whether or not each object lies on impassable terrain
+	 * @post	| for each index in 0..count - 1:
+	 * 			|	result[index] == this.isImpassable(xs[index], ys[index], radius)
+	 */
+	void findImpassable(double[] xs, double[] ys, int count, double radius,
+			boolean[] result) {
+		double heightPerPixel = this.getHeight() / this.area.length;
+		double widthPerPixel = this.getWidth() / this.area[0].length;
+		for (int index = 0; index < count; index++) {
+			boolean impassable = false;
+			for (int i = 0; i < RIM_SAMPLES && !impassable; i++)
+				impassable = !this.area[this.metricToPixelY(ys[index] + radius * RIM_SIN[i],
+						heightPerPixel)][this.metricToPixelX(xs[index] + radius * RIM_COS[i],
+						widthPerPixel)];
+			result[index] = impassable;
+		}
+	}
+
+	/**
+	 * Method that starts calculating the reachability map of the current worm as background work of the WorkerPool.
+	 * The state of the current worm is stored right away; a calculation that is still running for a previous 
+	 * turn is cancelled. The calculation stops after ReachabilityMap.MAX_EXPANDED_STATES states, so it only keeps 
+	 * a worker busy for a bounded time.
+	 * 
+	 * @post	The reachability map of this world is being calculated for the current worm.
+	 * 			| (new this).getReachabilityMap().get().getWorm() == this.getCurrentWorm()
+	 */
+	private void startReachabilityAnalysis() {
+		if (this.reachabilityMap != null)
+			this.reachabilityMap.cancel(true);
+		final ReachabilityMap map = new ReachabilityMap(this.getCurrentWorm());
+		this.reachabilityMap = WorkerPool
+				.submitInBackground(new Callable<ReachabilityMap>() {
+					@Override
+					public ReachabilityMap call() {
+						return map.calculate();
+					}
+				});
+	}
+
+	/**
+	 * Method that marks a change of the terrain or the objects of this world.
+	 * 
+	 * @post	The version of this world has been changed.
+	 * 			| (new this).getVersion() == this.getVersion() + 1
+	 */
+	private void incrementVersion() {
+		this.version++;
 	}
 
 	/**
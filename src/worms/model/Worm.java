@@ -1,6 +1,8 @@
 package worms.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import worms.gui.GUIConstants;
 import worms.util.Util;
@@ -8,7 +10,10 @@ import be.kuleuven.cs.som.annotate.Basic;
 
 /**
  * A class that implements the possible movements of a worm.
- * 
+ * The state of a worm that changes during a game (its position, radius, orientation, Hit Points, Action Points and
+ * whether or not it is alive) isn't kept in the worm itself, but in a slot of a WormStates; the worms of a world
+ * share the store of that world.
+ *
  * @invar	The x-coordinate of a worm has to be valid at all times during the game. They may never stand at an
  * 			invalid x-coordinate.
  * 			| isValidX(this.getX())
@@ -49,17 +54,56 @@ public class Worm {
 	public final double GRAV_CST = 9.80665;
 	public final double DENSITY = 1062.0;
 	public static final double MINIMAL_RADIUS = .25;
+	public static final int MAX_CRAWL_ITERATIONS = 12;
+	public static final int MAX_KNOCKBACK_HALVINGS = 4;
 	private static final double LOWER_BOUND_MASS_EXCLUDED = 0;
-	private double x, y, direction, radius, mass;
-	private int actionPoints, maxActionPoints;
-	private int hitPoints, maxHitPoints;
+	private static final ThreadLocal<double[]> JUMP_STEP_BUFFER = new ThreadLocal<double[]>() {
+		@Override
+		protected double[] initialValue() {
+			return new double[2];
+		}
+	};
+	private static final ThreadLocal<double[]> CONTACT_NORMAL_BUFFER = new ThreadLocal<double[]>() {
+		@Override
+		protected double[] initialValue() {
+			return new double[2];
+		}
+	};
+	private static final ThreadLocal<ArrayList<Food>> EATEN_FOOD_BUFFER = new ThreadLocal<ArrayList<Food>>() {
+		@Override
+		protected ArrayList<Food> initialValue() {
+			return new ArrayList<Food>();
+		}
+	};
+	private static final ThreadLocal<ArrayList<Food>> PASSED_FOOD_BUFFER = new ThreadLocal<ArrayList<Food>>() {
+		@Override
+		protected ArrayList<Food> initialValue() {
+			return new ArrayList<Food>();
+		}
+	};
+	private double mass;
+	private int maxActionPoints, maxHitPoints;
+	private WormStates states = new WormStates(1);
+	private int slot = 0;
 	private int indexOfCurrentWeapon;
 	private boolean isTerminated = false;
+	private int id = -1, indexInTeam = -1, numberOfMotions = 0;
 	private String name;
 	private Projectile projectile;
 	private Team team;
 	private World world;
 	private ArrayList<Projectile> collectionOfWeapons = new ArrayList<Projectile>();
+	private long stateVersion = 0;
+	private long moveEvaluationVersion = -1, jumpTimeVersion = -1;
+	private long canJumpVersion = -1, canShootVersion = -1;
+	private double[] moveEvaluationResult = new double[3];
+	private double jumpTimeStep, jumpTimeResult;
+	private final Trajectory trajectory = new Trajectory();
+	private long trajectoryVersion = -1;
+	private YieldTable yieldTable;
+	private long yieldTableVersion = -1;
+	private double trajectoryStep;
+	private boolean canJumpResult, canShootResult;
 
 	/**
 	 * Constructor of the class Worm with given x,y-coordinates (in meters), a
@@ -133,20 +177,20 @@ public class Worm {
 		if (!isValidX(x) || !isValidY(y) || !isValidRadius(radius)
 				|| !isValidName(name) || world == null)
 			throw new IllegalArgumentException();
-		this.x = x;
-		this.y = y;
-		this.direction = recalculateAngle(direction);
-		this.radius = radius;
+		this.world = world;
+		this.states.setPosition(this.slot, x, y);
+		this.states.setDirection(this.slot, recalculateAngle(direction));
+		this.states.setRadius(this.slot, radius);
 		this.name = name;
 		this.mass = this.DENSITY
-				* ((4.0 / 3.0) * Math.PI * Math.pow(radius, 3));
+				* ((4.0 / 3.0) * Math.PI * this.cube(radius));
 		if (!isValidMass(this.mass))
 			throw new ArithmeticException();
 		this.maxActionPoints = (int) Math.round(this.getMass());
 		this.maxHitPoints = (int) Math.round(this.getMass());
-		this.actionPoints = this.getMaxActionPoints();
-		this.hitPoints = this.getMaxHitPoints();
-		this.world = world;
+		this.states.setActionPoints(this.slot, this.getMaxActionPoints());
+		this.states.setHitPoints(this.slot, this.getMaxHitPoints());
+		this.updateAlive();
 		this.initWeapons();
 	}
 
@@ -165,36 +209,36 @@ public class Worm {
 	 * Function that returns the x-coordinate of this worm (in meters).
 	 * The x-coordinate will always be valid, since invalid coordinates aren't accepted by the setters/constructor.
 	 * 
-	 * @return this.x
+	 * @return this.states.getX(this.slot)
 	 * 			The x-coordinate of this worm.
 	 */
 	@Basic
 	public double getX() {
-		return this.x;
+		return this.states.getX(this.slot);
 	}
 
 	/**
 	 * Function that returns the y-coordinate of this worm (in meters).
 	 * The y-coordinate will always be valid, since invalid coordinates aren't accepted by the setters/constructor.
 	 * 
-	 * @return this.y
+	 * @return this.states.getY(this.slot)
 	 * 			The y-coordinate of this worm.
 	 */
 	@Basic
 	public double getY() {
-		return this.y;
+		return this.states.getY(this.slot);
 	}
 
 	/**
 	 * Function that returns the radius of this worm (in meters).
 	 * The radius will always be valid, since the constructor and setters won't allow values which would cause any trouble.
 	 * 
-	 * @return this.radius
+	 * @return this.states.getRadius(this.slot)
 	 * 			The radius of this worm.
 	 */
 	@Basic
 	public double getRadius() {
-		return this.radius;
+		return this.states.getRadius(this.slot);
 	}
 
 	/**
@@ -214,12 +258,12 @@ public class Worm {
 	 * Function that returns the orientation of this worm (in radians).
 	 * The orientation will always be valid, since the setters/constructor won't accept to set it, unless it is valid.
 	 * 
-	 * @return this.direction
+	 * @return this.states.getDirection(this.slot)
 	 * 			The orientation of this worm.
 	 */
 	@Basic
 	public double getOrientation() {
-		return this.direction;
+		return this.states.getDirection(this.slot);
 	}
 
 	/**
@@ -247,11 +291,11 @@ public class Worm {
 	/**
 	 * Function that returns the current amount of Action Points this worm has.
 	 * 
-	 * @return actionPoints
+	 * @return this.states.getActionPoints(this.slot)
 	 * 			The number of Action Points this worm currently has.
 	 */
 	public int getActionPoints() {
-		return this.actionPoints;
+		return this.states.getActionPoints(this.slot);
 	}
 
 	/**
@@ -267,11 +311,11 @@ public class Worm {
 	/**
 	 * Function which returns the current amount of Hit Points of this worm.
 	 * 
-	 * @return this.hitPoints
+	 * @return this.states.getHitPoints(this.slot)
 	 * 			The current amount of Hit Points of this worm
 	 */
 	public int getHitPoints() {
-		return this.hitPoints;
+		return this.states.getHitPoints(this.slot);
 	}
 
 	/**
@@ -284,8 +328,21 @@ public class Worm {
 		return this.maxHitPoints;
 	}
 
+	/**
+	 * Function that returns the version of the state of this worm.
+	 * The version changes every time the position, orientation, radius, Action Points or weapon of this worm change, 
+	 * or when the world of this worm changes. Both versions only increase, so their sum changes whenever one of them does.
+	 * 
+	 * @return this.stateVersion + this.getWorld().getVersion()
+	 * 			The version of the state of this worm
+	 */
+	public long getStateVersion() {
+		return this.stateVersion + this.getWorld().getVersion();
+	}
+
 	/**
 	 * Function that calculates the air-time of this worm when he jumps.
+	 * The result is cached until the state version of this worm changes or another time step is asked for.
 	 * 
 	 * @param timeStep 
 	 * 			The time interval in which this worm will not pass any impassable terrain
@@ -293,16 +350,134 @@ public class Worm {
 	 * 			The time this worm's jump takes (air-time).
 	 */
 	public double getJumpTime(double timeStep) {
-		double newX = 0, newY = 0;
-		double[] jumpStep = new double[2];
+		if (this.jumpTimeVersion == this.getStateVersion()
+				&& this.jumpTimeStep == timeStep)
+			return this.jumpTimeResult;
+		this.jumpTimeResult = this.calculateJumpTime(timeStep);
+		this.jumpTimeStep = timeStep;
+		this.jumpTimeVersion = this.getStateVersion();
+		return this.jumpTimeResult;
+	}
+
+	/**
+	 * Function that returns the trajectory of the jump of this worm, to animate the jump without doing any physics.
+	 * The trajectory is cached until the state version of this worm changes or another time step is asked for.
+	 * 
+	 * @param timeStep 
+	 * 			The time interval in which this worm will not pass any impassable terrain
+	 * @return this.trajectory
+	 * 			The trajectory of the jump of this worm
+	 */
+	public Trajectory getTrajectory(double timeStep) {
+		if (this.trajectoryVersion == this.getStateVersion()
+				&& this.trajectoryStep == timeStep)
+			return this.trajectory;
+		double[] jumpStep = JUMP_STEP_BUFFER.get();
+		double jumpTime = this.getJumpTime(timeStep);
+		this.getJumpStep(jumpTime, jumpStep);
+		int endEvent = Trajectory.LANDED;
+		if (!this.getWorld().liesInWorld(jumpStep[0], jumpStep[1], this.getRadius()))
+			endEvent = Trajectory.LEFT_WORLD;
+		else if (this.getWorld().isImpassable(jumpStep[0], jumpStep[1], this.getRadius()))
+			endEvent = Trajectory.HIT_TERRAIN;
+		this.trajectory.reset(jumpTime, timeStep, endEvent);
+		for (int i = 0; i < this.trajectory.getNumberOfSamples(); i++) {
+			this.getJumpStep(this.trajectory.getTime(i), jumpStep);
+			this.trajectory.setSample(i, jumpStep[0], jumpStep[1]);
+		}
+		this.trajectoryStep = timeStep;
+		this.trajectoryVersion = this.getStateVersion();
+		return this.trajectory;
+	}
+
+	/**
+	 * Function that returns where the current weapon of this worm lands for every yield, fired in the current 
+	 * orientation of this worm (see YieldTable). The table is calculated in parallel and cached until the state 
+	 * version of this worm changes (it moves, turns, selects another weapon or its world changes), another worm 
+	 * of its world moves (see World.getWormsVersion()) or another time step is asked for.
+	 * 
+	 * @param timeStep
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 * @return this.yieldTable
+	 * 			The yield table of this worm
+	 * @throws	InterruptedException
+	 * 			The calling thread has been interrupted while the table was calculated.
+	 */
+	public YieldTable getYieldTable(double timeStep) throws InterruptedException {
+		long version = this.getStateVersion() + this.getWorld().getWormsVersion();
+		if (this.yieldTable == null || this.yieldTableVersion != version
+				|| this.yieldTable.getTimeStep() != timeStep) {
+			this.yieldTable = YieldTable.calculate(this, timeStep);
+			this.yieldTableVersion = version;
+		}
+		return this.yieldTable;
+	}
+
+	/**
+	 * Function that simulates the jump of this worm to calculate its air-time.
+	 * The steps of the jump are the same as when every step is checked with isJumpFinished, but in open air the 
+	 * steps aren't checked one by one: as long as this worm is farther from impassable terrain and from the borders 
+	 * of its world than it can travel, every step it takes in between is known to be unfinished, so those steps 
+	 * are skipped without looking at the terrain. Only the steps close to terrain are checked, so the air-time is 
+	 * exactly the same as before and a small time step barely slows down the jump.
+	 * 
+	 * @param timeStep 
+	 * 			The time interval in which this worm will not pass any impassable terrain
+	 * @return totalJumpTime
+	 * 			The time this worm's jump takes (air-time).
+	 */
+	private double calculateJumpTime(double timeStep) {
+		double[] jumpStep = JUMP_STEP_BUFFER.get();
+		double velocityX = Math.abs(this.getInitialVelocity()
+				* this.cos(this.getOrientation()));
+		double velocityY = this.getInitialVelocity()
+				* this.sin(this.getOrientation());
+		// Other integrators may add wind or drag, for which the bound on the speed doesn't hold.
+		boolean canSkip = this.getWorld().isFixedPointPhysics()
+				|| this.getWorld().getMotionIntegrator() == AnalyticIntegrator.INSTANCE;
 		double jumpTime = 0;
-		do {
-			jumpStep = this.getJumpStep(jumpTime);
-			newX = jumpStep[0];
-			newY = jumpStep[1];
-			jumpTime += timeStep;
-		} while (!this.isJumpFinished(newX, newY));
-		return jumpTime;
+		while (true) {
+			this.getJumpStep(jumpTime, jumpStep);
+			double freeDistance = canSkip ? this.getFreeDistance(jumpStep[0],
+					jumpStep[1]) : 0;
+			if (freeDistance > 0) {
+				// The speed grows at most by GRAV_CST per second, so within freeTime this worm travels at most freeDistance.
+				double speed = velocityX
+						+ Math.abs(velocityY - this.GRAV_CST * jumpTime);
+				double freeTime = 2 * freeDistance / (speed + Math.sqrt(speed * speed
+						+ 2 * this.GRAV_CST * freeDistance));
+				double freeUntil = jumpTime + freeTime;
+				do {
+					jumpTime += timeStep;
+				} while (jumpTime <= freeUntil);
+			} else if (this.isJumpFinished(jumpStep[0], jumpStep[1]))
+				return jumpTime + timeStep;
+			else
+				jumpTime += timeStep;
+		}
+	}
+
+	/**
+	 * Function that returns how far this worm can travel from the provided position without touching terrain 
+	 * adjacent to impassable terrain and without leaving its world.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of this worm
+	 * @param y
+	 * 			The y-coordinate of this worm
+	 * @return freeDistance
+	 * 			The distance this worm can travel in any direction from the provided position while staying on 
+	 * 			passable terrain in its world, or 0 if it is too close to terrain or the borders
+	 */
+	private double getFreeDistance(double x, double y) {
+		World world = this.getWorld();
+		double radius = this.getRadius();
+		double freeDistance = world.getClearance(x, y) - 1.1 * radius;
+		freeDistance = Math.min(freeDistance, x - radius - World.LOWER_BOUND_X);
+		freeDistance = Math.min(freeDistance, world.getWidth() - radius - x);
+		freeDistance = Math.min(freeDistance, y - radius - World.LOWER_BOUND_Y);
+		freeDistance = Math.min(freeDistance, world.getHeight() - radius - y);
+		return Math.max(0, freeDistance);
 	}
 
 	/**
@@ -314,17 +489,57 @@ public class Worm {
 	 * 			The array which holds the (x,y)-coordinates of this worm at time t in its jump.
 	 */
 	public double[] getJumpStep(double t) {
-		double initVelocityX = this.getInitialVelocity()
-				* Math.cos(this.getOrientation());
-		double initVelocityY = this.getInitialVelocity()
-				* Math.sin(this.getOrientation());
-		double Xt = this.getX() + (initVelocityX * t);
-		double Yt = this.getY()
-				+ ((initVelocityY * t) - (.5 * this.GRAV_CST * Math.pow(t, 2)));
-		double[] result = { Xt, Yt };
+		double[] result = new double[2];
+		this.getJumpStep(t, result);
 		return result;
 	}
 
+	/**
+	 * Method that stores the (x,y)-coordinates of this worm at a given moment t in the jump in the provided array,
+	 * so simulating a jump doesn't need a new array for every step.
+	 * 
+	 * @param t 
+	 * 			The time for which the (x,y)-coordinates have to be calculated.
+	 * @param result
+	 * 			The array in which the (x,y)-coordinates of this worm at time t in its jump have to be stored
+	 * @effect	The (x,y)-coordinates of this worm at time t in its jump are calculated by the motion integrator of 
+	 * 			its world, which is the closed-form parabola by default.
+	 * 			| this.getWorld().getMotionIntegrator().getPosition(this.getX(), this.getY(), this.getInitialVelocity(), 
+	 * 			|	this.getOrientation(), this.GRAV_CST, t, result)
+	 */
+	public void getJumpStep(double t, double[] result) {
+		this.getJumpStep(this.getX(), this.getY(), this.getInitialVelocity(),
+				this.getOrientation(), t, result);
+	}
+
+	/**
+	 * Method that stores the (x,y)-coordinates at time t of a jump of this worm from the provided position with 
+	 * the provided velocity and orientation in the provided array, so a jump can be followed while this worm moves.
+	 * 
+	 * @param startX
+	 * 			The x-coordinate from which the jump starts
+	 * @param startY
+	 * 			The y-coordinate from which the jump starts
+	 * @param velocity
+	 * 			The initial velocity of the jump
+	 * @param orientation
+	 * 			The orientation in which the jump starts
+	 * @param t 
+	 * 			The time for which the (x,y)-coordinates have to be calculated.
+	 * @param result
+	 * 			The array in which the (x,y)-coordinates at time t have to be stored
+	 */
+	void getJumpStep(double startX, double startY, double velocity,
+			double orientation, double t, double[] result) {
+		if (this.getWorld().isFixedPointPhysics()) {
+			FixedPoint.getParabolaPoint(startX, startY, velocity, orientation,
+					this.GRAV_CST, t, result);
+			return;
+		}
+		this.getWorld().getMotionIntegrator().getPosition(startX, startY,
+				velocity, orientation, this.GRAV_CST, t, result);
+	}
+
 	/**
 	 * Function that returns the selected weapon of this worm (as a string, i.e. the name of the weapon).
 	 * 
@@ -383,8 +598,10 @@ public class Worm {
 		}
 		if (!isValidRadius(newRadius))
 			throw new IllegalArgumentException();
-		this.radius = newRadius;
+		this.states.setRadius(this.slot, newRadius);
 		this.setMass(newRadius);
+		this.stateVersion++;
+		this.getWorld().updateWormIndex(this);
 	}
 	
 	/**
@@ -403,10 +620,10 @@ public class Worm {
 	 */
 	public void setMass(double newRadius) throws IllegalArgumentException {
 		if (!(isValidMass(this.DENSITY
-				* ((4.0 / 3.0) * Math.PI * Math.pow(newRadius, 3)))))
+				* ((4.0 / 3.0) * Math.PI * this.cube(newRadius)))))
 			throw new IllegalArgumentException();
 		this.mass = this.DENSITY
-				* ((4.0 / 3.0) * Math.PI * Math.pow(newRadius, 3));
+				* ((4.0 / 3.0) * Math.PI * this.cube(newRadius));
 		this.setMaxActionPoints(this.getMass());
 		this.setMaxHitPoints(this.getMass());
 	}
@@ -450,9 +667,10 @@ public class Worm {
 	public void setActionPoints(int newActionPoints) {
 		if (0 <= newActionPoints
 				&& newActionPoints <= this.getMaxActionPoints())
-			this.actionPoints = newActionPoints;
+			this.states.setActionPoints(this.slot, newActionPoints);
 		if (newActionPoints < 0)
-			this.actionPoints = 0;
+			this.states.setActionPoints(this.slot, 0);
+		this.stateVersion++;
 	}
 
 	/**
@@ -468,12 +686,15 @@ public class Worm {
 	 * 			|	then ((new this).getHitPoints() == 0 && (new this).isTerminated())
 	 */
 	public void setHitPoints(int newHitPoints) {
+		boolean wasAlive = this.isAlive();
 		if (0 <= newHitPoints && newHitPoints <= this.getMaxHitPoints())
-			this.hitPoints = newHitPoints;
-		if (newHitPoints < 0) {
-			this.hitPoints = 0;
+			this.states.setHitPoints(this.slot, newHitPoints);
+		if (newHitPoints < 0)
+			this.states.setHitPoints(this.slot, 0);
+		this.updateAlive();
+		this.getWorld().updateLiveCount(this, wasAlive, this.getTeam());
+		if (newHitPoints < 0)
 			this.getWorld().removeWormFromWorld(this);
-		}
 	}
 
 	/**
@@ -486,6 +707,7 @@ public class Worm {
 	 */
 	public void setProjectile(Projectile newProjectile) {
 		this.projectile = newProjectile;
+		this.stateVersion++;
 	}
 
 	/**
@@ -518,12 +740,47 @@ public class Worm {
 	public void addToTeam(Team team) throws IllegalArgumentException {
 		if (team == null)
 			throw new IllegalArgumentException();
-		team.addTeamMember(this);
+		Team oldTeam = this.getTeam();
 		this.team = team;
+		this.getWorld().updateLiveCount(this, this.isAlive(), oldTeam);
+	}
+
+	/**
+	 * Function that returns the team of this worm.
+	 * 
+	 * @return this.team
+	 * 			The team of this worm, or null if this worm has no team
+	 */
+	Team getTeam() {
+		return this.team;
+	}
+
+	/**
+	 * Function that returns the index of this worm in the live worms of its team.
+	 * 
+	 * @return this.indexInTeam
+	 * 			The index of this worm in team.getLiveWormsInTeam(), or -1 if this worm isn't counted as a live worm 
+	 * 			of a team
+	 */
+	int getIndexInTeam() {
+		return this.indexInTeam;
+	}
+
+	/**
+	 * Method that sets the index of this worm in the live worms of its team.
+	 * 
+	 * @param indexInTeam
+	 * 			The new index
+	 * @post	| (new this).getIndexInTeam() == indexInTeam
+	 */
+	void setIndexInTeam(int indexInTeam) {
+		this.indexInTeam = indexInTeam;
 	}
 
 	/**
 	 * Method that selects the next weapon in the ArrayList of weapons.
+	 * Every worm has a rifle, a bazooka and a cluster bomb, which are selected in that order, after which the 
+	 * rifle is selected again.
 	 * 
 	 * @post	The next weapon must be selected and the index that keeps track of the current 
 	 * 			weapon has to be set accordingly.
@@ -583,8 +840,8 @@ public class Worm {
 		if (!this.canMove())
 			throw new RuntimeException();
 		double[] moveEval = this.moveEvaluation();
-		this.x = this.getX() + moveEval[1] * Math.cos(moveEval[0]);
-		this.y = this.getY() + moveEval[1] * Math.sin(moveEval[0]);
+		this.setPosition(this.getX() + moveEval[1] * this.cos(moveEval[0]),
+				this.getY() + moveEval[1] * this.sin(moveEval[0]));
 		this.setActionPoints(this.getActionPoints()
 				- (int) Math.ceil(this.getTotalStepCostForMove(moveEval[0])));
 		this.fall();
@@ -628,11 +885,24 @@ public class Worm {
 	 */
 	public void turn(double angle) {
 		assert (!canTurn(recalculateAngle(angle)));
-		int f;
-		this.direction = recalculateAngle(recalculateAngle(angle)
-				+ this.getOrientation());
-		f = (int) Math.round(2 * Math.PI / recalculateAngle(angle));
-		this.setActionPoints(this.getActionPoints() - Math.abs(Math.round(60 / f)));
+		this.states.setDirection(this.slot, recalculateAngle(recalculateAngle(angle)
+				+ this.getOrientation()));
+		this.stateVersion++;
+		this.setActionPoints(this.getActionPoints() - this.getTurnCost(angle));
+	}
+
+	/**
+	 * Function that returns the amount of Action Points it costs this worm to turn over the provided angle.
+	 * 
+	 * @param angle
+	 * 			The angle over which this worm would turn
+	 * @return Math.abs(Math.round(60 / f))
+	 * 			The cost of the turn, with f the number of times the recalculated angle fits in a full circle
+	 * 			| f == (int) Math.round(2 * Math.PI / recalculateAngle(angle))
+	 */
+	int getTurnCost(double angle) {
+		int f = (int) Math.round(2 * Math.PI / recalculateAngle(angle));
+		return Math.abs(Math.round(60 / f));
 	}
 
 	/**
@@ -643,6 +913,8 @@ public class Worm {
 	 * If this worm hits impassable terrain, the jump is finished. The jump is also finished when 
 	 * this worm hits terrain adjacent to impassable terrain and has traveled at least its own 
 	 * radius in distance. Or when this worm has left this worm's world.
+	 * In the real-time mode of this worm's world, the jump only starts here: this worm follows it with the ticks 
+	 * of its world (see WormJumpMotion) and the effects below happen when it lands, so the caller doesn't wait.
 	 * 
 	 * @param timeStep 
 	 * 			The time interval in which this worm will not pass any impassable terrain
@@ -652,11 +924,13 @@ public class Worm {
 	 * 			| (new this).getX() == endjumpJumpStep[0]
 	 * @post	The location of the worm is updated, if it is possible to jump.
 	 * 			| (new this).getY() == endjumpJumpStep[1]
-	 * @effect	If this worm partially overlaps with any pieces of food in this worm's world, 
-	 * 			those pieces of food have to be eaten by this worm, and those pieces 
-	 * 			of food that have been eaten, are to be removed from this worm's world. This worm's 
-	 * 			radius also has to grow accordingly (this is done in the method this.eatFood())
-	 * 			| (new this).eatFood()
+	 * @effect	If this worm partially overlaps with any pieces of food in this worm's world anywhere along its 
+	 * 			jump, those pieces of food have to be eaten by this worm, and those pieces 
+	 * 			of food that have been eaten, are to be removed from this worm's world. The food is only eaten once 
+	 * 			this worm has landed, so the whole jump (and its landing position) is calculated with the radius 
+	 * 			this worm had when it jumped. This worm's radius also has to grow accordingly (this is done in the 
+	 * 			method this.finishJump())
+	 * 			| this.finishJump(endjumpJumpStep[0], endjumpJumpStep[1], the food along this.getTrajectory(timeStep))
 	 * @effect	This worm has to be removed from this worm's world when it is no longer a part of it on its 
 	 * 			whole (i.e. at least a part of this worm is no longer located in this worm's world).
 	 * 			| if (!(new this).getWorld().liesInWorld((new this).getX(), (new this).getY(), (new this).getRadius()))
@@ -669,16 +943,102 @@ public class Worm {
 	public void jump(double timeStep) throws ArithmeticException {
 		if (!canJump())
 			throw new ArithmeticException();
-		double[] jumpStep = new double[2];
-		jumpStep = this.getJumpStep(this.getJumpTime(timeStep));
-		this.x = jumpStep[0];
-		this.y = jumpStep[1];
-		this.setActionPoints(0);
+		if (this.getWorld().isRealTime()) {
+			this.getWorld().addMotion(new WormJumpMotion(this, timeStep));
+			this.setActionPoints(0);
+			return;
+		}
+		Trajectory trajectory = this.getTrajectory(timeStep);
+		double[] jumpStep = JUMP_STEP_BUFFER.get();
+		this.getJumpStep(this.getJumpTime(timeStep), jumpStep);
+		double endX = jumpStep[0], endY = jumpStep[1];
+		ArrayList<Food> passedFood = PASSED_FOOD_BUFFER.get();
+		try {
+			for (int i = 1; i < trajectory.getNumberOfSamples(); i++)
+				this.getWorld().findFood(trajectory.getX(i - 1), trajectory.getY(i - 1),
+						trajectory.getX(i), trajectory.getY(i), this.getRadius(), passedFood);
+			this.setActionPoints(0);
+			this.finishJump(endX, endY, passedFood);
+		} finally {
+			passedFood.clear();
+		}
+	}
+
+	/**
+	 * Method that pushes this worm away over the provided displacement, for instance by an explosion.
+	 * A push into impassable terrain is halved until it isn't anymore (or is dropped), and a worm that is pushed 
+	 * out of its world is removed from it. A worm that is pushed off the terrain doesn't fall yet: all pushed worms 
+	 * fall together when their world settles its worms (see World.settleWorms()).
+	 * 
+	 * @param dx
+	 * 			The displacement along the x-axis
+	 * @param dy
+	 * 			The displacement along the y-axis
+	 */
+	void knockBack(double dx, double dy) {
+		for (int i = 0; i < MAX_KNOCKBACK_HALVINGS; i++, dx *= .5, dy *= .5) {
+			double newX = this.getX() + dx, newY = this.getY() + dy;
+			if (!Worm.isValidX(newX) || !Worm.isValidY(newY)
+					|| this.getWorld().isImpassable(newX, newY, this.getRadius()))
+				continue;
+			this.setPosition(newX, newY);
+			if (!this.getWorld().liesInWorld(newX, newY, this.getRadius()))
+				this.getWorld().removeWormFromWorld(this);
+			return;
+		}
+	}
+
+	/**
+	 * Method that ends a jump of this worm at the provided position.
+	 * 
+	 * @param newX
+	 * 			The x-coordinate at which the jump ends
+	 * @param newY
+	 * 			The y-coordinate at which the jump ends
+	 * @effect	| this.finishJump(newX, newY, Collections.<Food> emptyList())
+	 */
+	void finishJump(double newX, double newY) {
+		this.finishJump(newX, newY, Collections.<Food> emptyList());
+	}
+
+	/**
+	 * Method that ends a jump of this worm at the provided position, after which it eats the provided food it 
+	 * passed during the jump.
+	 * 
+	 * @param newX
+	 * 			The x-coordinate at which the jump ends
+	 * @param newY
+	 * 			The y-coordinate at which the jump ends
+	 * @param passedFood
+	 * 			The pieces of food this worm passed during the jump
+	 * @effect	This worm is moved to the provided position, eats the food it passed and the food it overlaps and is 
+	 * 			removed from its world if it doesn't lie in it anymore.
+	 * 			| this.setPosition(newX, newY) && this.consumeFood(passedFood) && this.eatFood()
+	 * 			| if (!this.getWorld().liesInWorld(newX, newY, this.getRadius()))
+	 * 			|	then this.getWorld().removeWormFromWorld(this)
+	 */
+	void finishJump(double newX, double newY, List<Food> passedFood) {
+		this.setPosition(newX, newY);
+		this.consumeFood(passedFood);
 		this.eatFood();
 		if (!this.getWorld().liesInWorld(this.getX(), this.getY(), this.getRadius()))
 			this.getWorld().removeWormFromWorld(this);
 	}
 
+	/**
+	 * Method that moves this worm to the provided position while it is moved by a motion of the real-time mode 
+	 * of its world.
+	 * 
+	 * @param newX
+	 * 			The new x-coordinate of this worm
+	 * @param newY
+	 * 			The new y-coordinate of this worm
+	 * @effect	| this.setPosition(newX, newY)
+	 */
+	void moveDuringMotion(double newX, double newY) {
+		this.setPosition(newX, newY);
+	}
+
 	/**
 	 * Method that checks whether or not this worm can fall.
 	 * 
@@ -692,6 +1052,20 @@ public class Worm {
 			this.getWorld().startNextTurn();
 			return false;
 		}
+		return this.isUnsupported();
+	}
+
+	/**
+	 * Function that checks whether or not this worm isn't supported by terrain anymore: it lies on passable terrain 
+	 * that isn't adjacent to impassable terrain. Unlike canFall(), nothing is changed.
+	 * 
+	 * @return !this.isTerminated() && !this.getWorld().isAdjacent(this.getX(), this.getY(), this.getRadius())
+	 * 			&& !this.getWorld().isImpassable(this.getX(), this.getY(), this.getRadius())
+	 * 			Whether or not this worm would fall
+	 */
+	boolean isUnsupported() {
+		if (this.isTerminated())
+			return false;
 		if(this.getWorld().isAdjacent(this.getX(), this.getY(),
 				this.getRadius()))
 			return false;
@@ -700,8 +1074,37 @@ public class Worm {
 		return true;
 	}
 
+	/**
+	 * Function that returns whether or not this worm is moved by a motion of its world that isn't finished yet.
+	 * 
+	 * @return this.numberOfMotions > 0
+	 * 			Whether or not a motion moves this worm
+	 */
+	boolean isMovedByMotion() {
+		return this.numberOfMotions > 0;
+	}
+
+	/**
+	 * Method that registers that a motion of the world of this worm has started to move this worm.
+	 * 
+	 * @post	| (new this).isMovedByMotion()
+	 */
+	void addMotion() {
+		this.numberOfMotions++;
+	}
+
+	/**
+	 * Method that registers that a motion that moved this worm has finished.
+	 */
+	void removeMotion() {
+		this.numberOfMotions--;
+	}
+
 	/**
 	 * Method that makes this worm fall down, until it hits adjacent terrain.
+	 * The landing position is searched coarse to fine (see calculateFallLandingY), instead of checking every 
+	 * step of Util.DEFAULT_EPSILON on the way down.
+	 * In the real-time mode of this worm's world, the fall only starts here (see WormFallMotion).
 	 * 
 	 * @post	For every meter this worm falls (rounded down), this worm has to lose 3 Hit Points.
 	 * 			| (new this).hitPoints == this.getHitPoints() -  3 * (int) Math.floor(this.getY() - (new this).getY())
@@ -721,20 +1124,36 @@ public class Worm {
 	 */
 	public void fall() {
 		if (this.canFall()) {
-			double oldY = this.y;
-			while (!this.getWorld().isAdjacent(this.getX(), this.getY(),
-					this.getRadius())) {
-				this.y -= Util.DEFAULT_EPSILON;
-				if (!(0.0 <= this.getY() && this.getY() <= this.getWorld()
-						.getHeight())) {
-					this.getWorld().removeWormFromWorld(this);
-					return;
-				}
-			}
-			this.setHitPoints(this.getHitPoints() - 3 * (int) Math.floor(oldY - this.getY()));
+			double landingY = this.calculateFallLandingY(this.getX(), this.getY());
+			if (this.getWorld().isRealTime())
+				this.getWorld().addMotion(new WormFallMotion(this, landingY));
+			else
+				this.finishFall(this.getY(), landingY);
 		}
 	}
 
+	/**
+	 * Method that ends a fall of this worm that started at the provided height.
+	 * 
+	 * @param oldY
+	 * 			The y-coordinate at which the fall started
+	 * @param landingY
+	 * 			The y-coordinate at which this worm lands, or Double.NaN if it falls out of its world
+	 * @effect	This worm is removed from its world if it falls out of it.
+	 * 			| if (Double.isNaN(landingY)) then this.getWorld().removeWormFromWorld(this)
+	 * @effect	Otherwise this worm is moved to the landing position and loses 3 Hit Points for every meter it fell.
+	 * 			| this.setPosition(this.getX(), landingY) 
+	 * 			|	&& this.setHitPoints(this.getHitPoints() - 3 * (int) Math.floor(oldY - landingY))
+	 */
+	void finishFall(double oldY, double landingY) {
+		if (Double.isNaN(landingY)) {
+			this.getWorld().removeWormFromWorld(this);
+			return;
+		}
+		this.setPosition(this.getX(), landingY);
+		this.setHitPoints(this.getHitPoints() - 3 * (int) Math.floor(oldY - this.getY()));
+	}
+
 	/**
 	 * Method that makes this worm shoot.
 	 * 
@@ -756,10 +1175,10 @@ public class Worm {
 	 */
 	public void shoot(int yield) throws IllegalArgumentException, ArithmeticException {
 		this.getProjectile().setX(
-				this.getX() + Math.cos(this.getOrientation())
+				this.getX() + this.cos(this.getOrientation())
 						* this.getRadius());
 		this.getProjectile().setY(
-				this.getY() + Math.sin(this.getOrientation())
+				this.getY() + this.sin(this.getOrientation())
 						* this.getRadius());
 		this.getProjectile().setOrientation(this.getOrientation());
 		if (!(0 <= yield && yield <= 100))
@@ -889,18 +1308,55 @@ public class Worm {
 	 * 			|			&& (new this).team == null
 	 * 			|				&& (new this).getWorld() == null
 	 * 			|					&& (new this).isTerminated()
+	 * @effect	This worm is no longer counted as a live worm, by its world nor by its team.
+	 * 			| this.getWorld().updateLiveCount(this, this.isAlive(), this.getTeam())
 	 */
 	public void terminate() {
+		boolean wasAlive = this.isAlive();
+		Team oldTeam = this.getTeam();
 		if(this.getWorld().getCurrentWorm() == this)
 			this.getWorld().startNextTurn();
-		for (Projectile weapon : this.collectionOfWeapons) {
+		for (Projectile weapon : this.collectionOfWeapons)
 			weapon.terminate();
-			this.collectionOfWeapons.remove(weapon);
-		}
+		this.collectionOfWeapons.clear();
 		this.getProjectile().terminate();
 		this.setProjectile(null);
 		this.team = null;
 		this.isTerminated = true;
+		this.updateAlive();
+		this.getWorld().updateLiveCount(this, wasAlive, oldTeam);
+	}
+
+	/**
+	 * Function that returns the weapons of this worm, in the order in which they are selected.
+	 * 
+	 * @return this.collectionOfWeapons
+	 * 			The weapons of this worm, in a list that can't be changed
+	 */
+	List<Projectile> getWeapons() {
+		return Collections.unmodifiableList(this.collectionOfWeapons);
+	}
+
+	/**
+	 * Function that returns the identifier of this worm in its world (see World.getObjectById()).
+	 * 
+	 * @return this.id
+	 * 			The identifier of this worm, or -1 if this worm isn't part of a world (anymore)
+	 */
+	@Basic
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * Method that sets the identifier of this worm in its world.
+	 * 
+	 * @param id
+	 * 			The new identifier, or -1 if this worm is no longer part of a world
+	 * @post	| (new this).getId() == id
+	 */
+	void setId(int id) {
+		this.id = id;
 	}
 
 	/**
@@ -924,7 +1380,153 @@ public class Worm {
 	 * 			This worm is dead.
 	 */
 	public boolean isAlive() {
-		return (this.getHitPoints() > 0 && !this.isTerminated());
+		return this.states.isAlive(this.slot);
+	}
+
+	/**
+	 * Method that stores whether or not this worm is alive, after its Hit Points or its termination have changed.
+	 * 
+	 * @post	| (new this).isAlive() == (this.getHitPoints() > 0 && !this.isTerminated())
+	 */
+	private void updateAlive() {
+		this.states.setAlive(this.slot, this.getHitPoints() > 0 && !this.isTerminated());
+	}
+
+	/**
+	 * Function that returns the slot of the store in which the state of this worm is kept. While this worm is part 
+	 * of the worms of a world, that is its position in the worms of the world (see World.getWorms()).
+	 * 
+	 * @return this.slot
+	 * 			The slot of this worm
+	 */
+	@Basic
+	int getSlot() {
+		return this.slot;
+	}
+
+	/**
+	 * Method that moves the state of this worm (its position, radius, orientation, Hit Points, Action Points and 
+	 * whether or not it is alive) to the provided slot of the provided store, which it is read from and written to 
+	 * from then on. A world moves the state of the worms it registers into its own store, and gives the worms it 
+	 * removes a store of their own again.
+	 * 
+	 * @param newStates
+	 * 			The store in which the state of this worm has to be kept
+	 * @param newSlot
+	 * 			The slot of the store that belongs to this worm
+	 * @post	The state of this worm hasn't changed.
+	 * 			| (new this).getX() == this.getX() && (new this).getY() == this.getY()
+	 * 			|	&& (new this).getRadius() == this.getRadius()
+	 * 			|		&& (new this).getOrientation() == this.getOrientation()
+	 * 			|			&& (new this).getHitPoints() == this.getHitPoints()
+	 * 			|				&& (new this).getActionPoints() == this.getActionPoints()
+	 * 			|					&& (new this).isAlive() == this.isAlive()
+	 */
+	void moveStates(WormStates newStates, int newSlot) {
+		this.states.copyTo(this.slot, newStates, newSlot);
+		this.states = newStates;
+		this.slot = newSlot;
+	}
+
+	/**
+	 * Method that puts this worm in the provided state, without any of the checks or effects of the actual actions.
+	 * This is meant for worms that are only used to explore what a real worm could do (e.g. by a ReachabilityMap).
+	 * 
+	 * @param newX
+	 * 			The new x-coordinate of this worm
+	 * @param newY
+	 * 			The new y-coordinate of this worm
+	 * @param newDirection
+	 * 			The new orientation of this worm
+	 * @param newActionPoints
+	 * 			The new amount of Action Points of this worm
+	 * @post	This worm is in the provided state.
+	 * 			| (new this).getX() == newX && (new this).getY() == newY 
+	 * 			|	&& (new this).getOrientation() == recalculateAngle(newDirection)
+	 * 			|		&& (new this).getActionPoints() == newActionPoints
+	 */
+	void setSimulationState(double newX, double newY, double newDirection,
+			int newActionPoints) {
+		this.states.setDirection(this.slot, recalculateAngle(newDirection));
+		this.states.setActionPoints(this.slot, newActionPoints);
+		// A ghost doesn't belong to the worms of its world, so its world isn't told about its position.
+		this.states.setPosition(this.slot, newX, newY);
+		this.stateVersion++;
+	}
+
+	/**
+	 * Function that calculates where this worm ends up when it moves and then falls, without changing anything.
+	 * Food is not eaten during the simulation, so the radius of this worm stays the same.
+	 * 
+	 * @param result
+	 * 			The array in which the x-coordinate, the y-coordinate and the remaining Action Points are stored
+	 * @return true
+	 * 			This worm can move and stays in its world; the result has been filled in
+	 * @return false
+	 * 			This worm can't move, or it would leave its world by moving or falling
+	 */
+	boolean simulateMove(double[] result) {
+		double[] moveEval = this.moveEvaluation();
+		if (!(moveEval[2] == 1 || moveEval[2] == 2))
+			return false;
+		double newX = this.getX() + moveEval[1] * this.cos(moveEval[0]);
+		double newY = this.getY() + moveEval[1] * this.sin(moveEval[0]);
+		if (!this.getWorld().isAdjacent(newX, newY, this.getRadius())
+				&& !this.getWorld().isImpassable(newX, newY, this.getRadius()))
+			newY = this.calculateFallLandingY(newX, newY);
+		if (Double.isNaN(newY)
+				|| !this.getWorld().liesInWorld(newX, newY, this.getRadius()))
+			return false;
+		result[0] = newX;
+		result[1] = newY;
+		result[2] = Math.max(0, this.getActionPoints()
+				- (int) Math.ceil(this.getTotalStepCostForMove(moveEval[0])));
+		return true;
+	}
+
+	/**
+	 * Function that calculates where this worm ends up when it jumps, without changing anything.
+	 * 
+	 * @param timeStep
+	 * 			The time interval in which this worm will not pass any impassable terrain
+	 * @param result
+	 * 			The array in which the x-coordinate, the y-coordinate and the remaining Action Points are stored
+	 * @return true
+	 * 			This worm can jump and stays in its world; the result has been filled in
+	 * @return false
+	 * 			This worm can't jump, or it would leave its world by jumping
+	 */
+	boolean simulateJump(double timeStep, double[] result) {
+		if (!this.canJump())
+			return false;
+		double[] jumpStep = JUMP_STEP_BUFFER.get();
+		this.getJumpStep(this.getJumpTime(timeStep), jumpStep);
+		if (!this.getWorld().liesInWorld(jumpStep[0], jumpStep[1], this.getRadius()))
+			return false;
+		result[0] = jumpStep[0];
+		result[1] = jumpStep[1];
+		result[2] = 0;
+		return true;
+	}
+
+	/**
+	 * Method that sets the position of this worm to the provided coordinates.
+	 * 
+	 * @param newX
+	 * 			The new x-coordinate of this worm
+	 * @param newY
+	 * 			The new y-coordinate of this worm
+	 * @post	The coordinates of this worm have been changed to the provided coordinates.
+	 * 			| (new this).getX() == newX && (new this).getY() == newY
+	 * @post	The state version of this worm has been changed.
+	 * 			| (new this).getStateVersion() != this.getStateVersion()
+	 * @effect	The world of this worm stores the new position in its grid of worms.
+	 * 			| this.getWorld().updateWormIndex(this)
+	 */
+	private void setPosition(double newX, double newY) {
+		this.states.setPosition(this.slot, newX, newY);
+		this.stateVersion++;
+		this.getWorld().updateWormIndex(this);
 	}
 
 	/**
@@ -936,7 +1538,58 @@ public class Worm {
 	 * 			The total cost of a step for a move (according to the given angle)
 	 */
 	private double getTotalStepCostForMove(double angle) {
-		return Math.abs(Math.sin(angle) * 4) + Math.abs(Math.cos(angle));
+		return Math.abs(this.sin(angle) * 4) + Math.abs(this.cos(angle));
+	}
+
+	/**
+	 * Function that returns the cosine of the provided angle, taken from the fixed-point table if the world of 
+	 * this worm uses deterministic physics.
+	 * 
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return FixedPoint.cos(angle)
+	 * 			The world of this worm uses fixed-point physics
+	 * @return Math.cos(angle)
+	 * 			The world of this worm doesn't use fixed-point physics
+	 */
+	private double cos(double angle) {
+		if (this.getWorld().isFixedPointPhysics())
+			return FixedPoint.cos(angle);
+		return Math.cos(angle);
+	}
+
+	/**
+	 * Function that returns the sine of the provided angle, taken from the fixed-point table if the world of 
+	 * this worm uses deterministic physics.
+	 * 
+	 * @param angle
+	 * 			The angle (in radians)
+	 * @return FixedPoint.sin(angle)
+	 * 			The world of this worm uses fixed-point physics
+	 * @return Math.sin(angle)
+	 * 			The world of this worm doesn't use fixed-point physics
+	 */
+	private double sin(double angle) {
+		if (this.getWorld().isFixedPointPhysics())
+			return FixedPoint.sin(angle);
+		return Math.sin(angle);
+	}
+
+	/**
+	 * Function that returns the cube of the provided number. Math.pow isn't guaranteed to give the same result on 
+	 * every JVM, so worlds with deterministic physics multiply instead.
+	 * 
+	 * @param value
+	 * 			The number that has to be cubed
+	 * @return value * value * value
+	 * 			The world of this worm uses fixed-point physics
+	 * @return Math.pow(value, 3)
+	 * 			The world of this worm doesn't use fixed-point physics
+	 */
+	private double cube(double value) {
+		if (this.getWorld().isFixedPointPhysics())
+			return value * value * value;
+		return Math.pow(value, 3);
 	}
 	
 	/**
@@ -955,7 +1608,7 @@ public class Worm {
 	 * @return initJumpVelocity
 	 * 			The initial velocity of the worm before he jumps.
 	 */
-	private double getInitialVelocity() throws ArithmeticException {
+	double getInitialVelocity() throws ArithmeticException {
 		return (this.getForce() / this.getMass()) * .5;
 	}
 	
@@ -966,6 +1619,7 @@ public class Worm {
 	 * @post	The collection of weapons has to be filled.
 	 * 			| (new this).collectionOfWeapons.get(0) instanceof Rifle
 	 * 			|	&& (new this).collectionOfWeapons.get(1) instanceof Bazooka
+	 * 			|	&& (new this).collectionOfWeapons.get(2) instanceof ClusterBomb
 	 * @post	The first weapon has to be selected.
 	 * 			| (new this).getProjectile() instanceof Rifle
 	 * @post	The variable (indexOfCurrentWeapon) that keeps track of the index of the current weapon has to be set to 0.
@@ -974,6 +1628,7 @@ public class Worm {
 	private void initWeapons() {
 		this.collectionOfWeapons.add(new Rifle(this));
 		this.collectionOfWeapons.add(new Bazooka(this));
+		this.collectionOfWeapons.add(new ClusterBomb(this));
 		this.setProjectile(this.collectionOfWeapons.get(0));
 		this.indexOfCurrentWeapon = 0;
 	}
@@ -993,9 +1648,13 @@ public class Worm {
 	 */
 	private void setMaxHitPoints(double newMass) {
 		if ((int) Math.round(newMass) >= 0) {
+			boolean wasAlive = this.isAlive();
 			this.maxHitPoints = (int) Math.round(mass);
-			this.hitPoints = Math.min(this.getMaxHitPoints(),
-					this.getHitPoints());
+			this.states.setHitPoints(this.slot, Math.min(this.getMaxHitPoints(),
+					this.getHitPoints()));
+			this.updateAlive();
+			if (this.getWorld() != null)
+				this.getWorld().updateLiveCount(this, wasAlive, this.getTeam());
 		}
 	}
 
@@ -1015,174 +1674,237 @@ public class Worm {
 	private void setMaxActionPoints(double newMass) {
 		if ((int) Math.round(newMass) >= 0) {
 			this.maxActionPoints = (int) Math.round(newMass);
-			this.actionPoints = Math.min(this.getMaxActionPoints(),
-					this.getActionPoints());
+			this.states.setActionPoints(this.slot, Math.min(this.getMaxActionPoints(),
+					this.getActionPoints()));
+			this.stateVersion++;
 		}
 	}
 	
 	/**
-	 * Method that checks overlaps from this worm with every piece of food currently in this worm's world.
-	 * Once this worm overlaps with a piece of food, that food is added to a collection.
-	 * If all possible overlaps have been checked and the collection contains at least 1 element, we loop over that collection
-	 * and consume all the pieces of food that are contained in that collection.
+	 * Method that makes this worm eat all pieces of food it overlaps at its current position.
 	 * Every consumed piece of food increases this worm's radius by 10% of its current radius.
 	 * 
-	 * @effect	All pieces of food with which this worm overlaps, are consumed by this worm, increasing this worm's radius.
-	 * 			| for (Food checkFoodOverlaps : this.getWorld().getFood())
-	 *			|	if (Math.sqrt(Math.pow((this.getX() - checkFoodOverlaps.getX()), 2) + Math.pow((this.getY() - checkFoodOverlaps.getY()), 2))
-	 *			|		< this.getRadius() + Food.RADIUS)
-	 *			|				eatFood.add(checkFoodOverlaps)
-	 *			| if (eatFood.size() > 0)
-	 *			|	for (Food eatThisFood : eatFood)
-	 *			|		this.setRadius(this.getRadius() * 1.1);
-	 *			|		this.getWorld().removeFoodFromWorld(eatThisFood);
+	 * @effect	| this.eatFoodAlong(this.getX(), this.getY(), this.getX(), this.getY())
 	 */
 	private void eatFood() {
-		ArrayList<Food> eatFood = new ArrayList<Food>();
-		for (Food checkFoodOverlaps : this.getWorld().getFood()) {
-			if (Math.sqrt(Math.pow((this.getX() - checkFoodOverlaps.getX()), 2)
-					+ Math.pow((this.getY() - checkFoodOverlaps.getY()), 2)) < this
-					.getRadius() + Food.RADIUS)
-				eatFood.add(checkFoodOverlaps);
+		this.eatFoodAlong(this.getX(), this.getY(), this.getX(), this.getY());
+	}
+
+	/**
+	 * Method that makes this worm eat all pieces of food it passes when it moves in a straight line between the 
+	 * provided positions, so food isn't missed when this worm moves over it between two checked positions.
+	 * The food is looked up in the grid of this worm's world and collected in a buffer of the current thread, 
+	 * so nothing is allocated. Every consumed piece of food increases this worm's radius by 10% of its current radius.
+	 * 
+	 * @param x0
+	 * 			The x-coordinate at which this worm starts
+	 * @param y0
+	 * 			The y-coordinate at which this worm starts
+	 * @param x1
+	 * 			The x-coordinate at which this worm ends
+	 * @param y1
+	 * 			The y-coordinate at which this worm ends
+	 * @effect	All pieces of food this worm passes are consumed by this worm, increasing this worm's radius.
+	 * 			| for (Food food : this.getWorld().getFood())
+	 * 			|	if (the distance between food and the segment from (x0, y0) to (x1, y1) < this.getRadius() + Food.RADIUS)
+	 * 			|		this.setRadius(this.getRadius() * 1.1)
+	 * 			|		this.getWorld().removeFoodFromWorld(food)
+	 */
+	void eatFoodAlong(double x0, double y0, double x1, double y1) {
+		ArrayList<Food> eatenFood = EATEN_FOOD_BUFFER.get();
+		if (!this.getWorld().findFood(x0, y0, x1, y1, this.getRadius(), eatenFood))
+			return;
+		try {
+			this.consumeFood(eatenFood);
+		} finally {
+			eatenFood.clear();
 		}
-		if (eatFood.size() > 0) {
-			for (Food eatThisFood : eatFood) {
-				this.setRadius(this.getRadius() + this.getRadius() * .1);
-				this.getWorld().removeFoodFromWorld(eatThisFood);
-			}
+	}
+
+	/**
+	 * Method that makes this worm eat the provided pieces of food that are still in its world. A piece of food 
+	 * that is provided more than once is only eaten once.
+	 * Every consumed piece of food increases this worm's radius by 10% of its current radius.
+	 * 
+	 * @param food
+	 * 			The pieces of food this worm has to eat
+	 * @effect	| for (Food piece : food)
+	 * 			|	if (this.getWorld().getFoodById(piece.getId()) == piece)
+	 * 			|		this.setRadius(this.getRadius() * 1.1)
+	 * 			|		this.getWorld().removeFoodFromWorld(piece)
+	 */
+	private void consumeFood(List<Food> food) {
+		for (int i = 0; i < food.size(); i++) {
+			Food piece = food.get(i);
+			if (this.getWorld().getFoodById(piece.getId()) != piece)
+				continue;
+			this.setRadius(this.getRadius() + this.getRadius() * .1);
+			this.getWorld().removeFoodFromWorld(piece);
 		}
 	}
 
 	/**
-	 * Function that checks all aspects to the worms location for all possible ending points.
-	 * It returns a summary array, which contains the information for this worm that describes 
-	 * all possible outcomes of the move this worm can make.
+	 * Function that returns the summary array of all possible outcomes of the move this worm can make.
+	 * The summary is cached until the state version of this worm changes, so canMove() followed by move() 
+	 * only evaluates the move once. In a world in which worms crawl, the move along the terrain is tried first; 
+	 * the directions around this worm are only sampled if it can't crawl.
 	 * 
-	 * @return sampleMatrixSummary
+	 * @return this.calculateMoveEvaluation()
 	 * 			An array containing all information about the possible outcomes of this worm's move 
 	 */
 	private double[] moveEvaluation() {
+		if (this.moveEvaluationVersion != this.getStateVersion()) {
+			if (!this.getWorld().isCrawlMovement()
+					|| !this.calculateCrawlEvaluation(this.moveEvaluationResult))
+				this.calculateMoveEvaluation(this.moveEvaluationResult);
+			this.moveEvaluationVersion = this.getStateVersion();
+		}
+		return this.moveEvaluationResult;
+	}
+
+	/**
+	 * Method that calculates the move of this worm along the contour of the terrain it touches.
+	 * The contour is followed from the contact point in the direction this worm is facing: the worm moves over its 
+	 * radius (the largest distance of a sampled move), in the direction between the tangent of the contour and the 
+	 * terrain (the tangent rotated over -Math.PI / 2) or away from it (the tangent rotated over Math.PI / 2). That 
+	 * direction is found by bisection on the status of the end position: impassable means the move goes too far 
+	 * into the terrain, passable means it goes too far away from it. Only a handful of positions are checked, 
+	 * instead of every distance along every sampled direction.
+	 * 
+	 * @param sampleMatrixSummary
+	 * 			The array in which the angle, the distance and the status of the move have to be stored, like 
+	 * 			calculateMoveEvaluation() does
+	 * @return true
+	 * 			A position adjacent to impassable terrain has been found that this worm can pay for
+	 * @return false
+	 * 			This worm doesn't touch the terrain, or no adjacent position has been found that it can pay for
+	 */
+	private boolean calculateCrawlEvaluation(double[] sampleMatrixSummary) {
+		double[] normal = CONTACT_NORMAL_BUFFER.get();
+		if (!this.getWorld().getContactNormal(this.getX(), this.getY(),
+				this.getRadius(), normal))
+			return false;
+		double tangent = StrictMath.atan2(-normal[0], normal[1]);
+		if (this.cos(tangent) * this.cos(this.getOrientation())
+				+ this.sin(tangent) * this.sin(this.getOrientation()) < 0)
+			tangent += Math.PI;
+		// Turning to this side of the tangent turns away from the terrain.
+		double side = this.cos(tangent) * normal[1] - this.sin(tangent) * normal[0] < 0 ? -1 : 1;
+		double distance = this.getRadius();
+		double low = -Math.PI / 2, high = Math.PI / 2;
+		for (int iteration = 0; iteration < MAX_CRAWL_ITERATIONS; iteration++) {
+			double turn = (low + high) / 2;
+			double angle = tangent + side * turn;
+			double newX = this.getX() + this.cos(angle) * distance;
+			double newY = this.getY() + this.sin(angle) * distance;
+			if (this.getWorld().isImpassable(newX, newY, this.getRadius()))
+				low = turn;
+			else if (!this.getWorld().isAdjacent(newX, newY, this.getRadius()))
+				high = turn;
+			else {
+				if (this.getActionPoints() < this.getTotalStepCostForMove(angle))
+					return false;
+				sampleMatrixSummary[0] = recalculateAngle(angle);
+				sampleMatrixSummary[1] = distance;
+				sampleMatrixSummary[2] = 1;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Method that checks all aspects to the worms location for all possible ending points.
+	 * It fills in a summary array, which contains the information for this worm that describes 
+	 * all possible outcomes of the move this worm can make.
+	 * The angles around the direction of this worm are sampled one after the other and only the counts and 
+	 * the best angle found so far are kept, so no matrix with a row per angle has to be allocated.
+	 * 
+	 * @param sampleMatrixSummary
+	 * 			The array in which all information about the possible outcomes of this worm's move has to be stored
+	 */
+	private void calculateMoveEvaluation(double[] sampleMatrixSummary) {
 		double divergenceSample = .7875;
 		double angleStepSize = .0175;
 		double distanceStepSize = .01;
 		int maxCounter = (int) Math
 				.ceil(2 * (divergenceSample / angleStepSize) + 1);
-		double[][] sampleMatrix = new double[maxCounter][5];
-		// The rows in this array store the information for different angles with 
-		// increment equal to the angleStepSize.
-		// The columns store information as follows:
-		// sampleMatrix[][0] is for storing the angle.
-		// sampleMatrix[][1] is for storing whether or not the actual
-		// Action Points of this worm are sufficient to execute the move at the
-		// angle
-		// (0 == enough Action Points available, 1 == insufficient Action Points
-		// available).
-		// sampleMatrix[][2] is for storing whether or not (1 == true, 0 ==
-		// false) the move always gets in impassable terrain for an angle.
-		// sampleMatrix[][3] is for storing whether or not (1 == true, 0 ==
-		// false) the move always gets in passable terrain for an angle.
-		// sampleMatrix[][4] is for storing the largest distance found to
-		// travel for an angle (standard: adjacent to impassable terrain,
-		// but still passable).
-		double[] sampleMatrixSummary = new double[3];
+		// For every angle, with increment equal to the angleStepSize, the following is determined:
+		// whether or not the actual Action Points of this worm are insufficient to execute the move
+		// at the angle, whether or not the move always gets in impassable terrain for the angle, 
+		// whether or not the move always gets in passable terrain for the angle and the largest 
+		// distance found to travel for the angle (standard: adjacent to impassable terrain, but 
+		// still passable).
 		// sampleMatrixSummary collects the consolidated information for
-		// all angles of sampleMatrix.
+		// all angles.
 		// sampleMatrixSummary[2] is 1 if this worm can move in adjacent area.
 		// sampleMatrixSummary[2] is 2 of this worm can move in passable area
 		// and should fall.
 		// sampleMatrixSummary[2] is 3 if this worm can't move (impassable or
 		// not enough AP).
+		int insufficientAP = 0, alwaysImpassable = 0, alwaysPassable = 0;
+		double bestAngle = this.getOrientation() - divergenceSample;
+		double bestDistance = 0;
 		for (int counter = 0; counter < maxCounter; counter++) {
 			double angle = this.getOrientation() - divergenceSample + counter
 					* angleStepSize;
-			sampleMatrix[counter][0] = angle;
 			if (this.getActionPoints() < this.getTotalStepCostForMove(angle)) {
-				sampleMatrix[counter][1] = 1; // Not enough Action Points
-												// available.
+				insufficientAP++;
 				continue;
 			}
 			if (this.getWorld().isImpassable(
-					this.getX() + Math.cos(angle) * .1,
-					this.getY() + Math.sin(angle) * .1, this.getRadius())) {
-				sampleMatrix[counter][2] = 1;
+					this.getX() + this.cos(angle) * .1,
+					this.getY() + this.sin(angle) * .1, this.getRadius())) {
+				alwaysImpassable++;
 				continue;
 			}
+			double largestDistance = 0;
+			boolean isAlwaysPassable = false;
 			int counterDistanceMax = (int) Math.floor((this.getRadius() - .1) / distanceStepSize);
 			for (int counterDistance = 0; counterDistance <= counterDistanceMax; counterDistance ++) {
 				double distance = .1 + counterDistance * distanceStepSize;
-				double newX = this.getX() + Math.cos(angle) * distance;
-				double newY = this.getY() + Math.sin(angle) * distance;
-				if (this.getWorld().isAdjacent(newX, newY, this.getRadius())) {
-					sampleMatrix[counter][4] = distance;
-					sampleMatrix[counter][3] = 0;
-				} else if (this.getWorld().isImpassable(newX, newY, this.getRadius()))
+				double newX = this.getX() + this.cos(angle) * distance;
+				double newY = this.getY() + this.sin(angle) * distance;
+				if (this.getWorld().isAdjacent(newX, newY, this.getRadius()))
+					largestDistance = distance;
+				else if (this.getWorld().isImpassable(newX, newY, this.getRadius()))
 					break;
-				if (sampleMatrix[counter][4] == 0 && counterDistance == counterDistanceMax)
-					sampleMatrix[counter][3] = 1;
+				if (largestDistance == 0 && counterDistance == counterDistanceMax)
+					isAlwaysPassable = true;
+			}
+			if (isAlwaysPassable) {
+				alwaysPassable++;
+				continue;
+			}
+			// Calculate new position in case of adjacent.
+			if (largestDistance > bestDistance) {
+				bestDistance = largestDistance;
+				bestAngle = angle;
+			} else if (largestDistance == bestDistance) {
+				if (Math.abs(this.getOrientation() - angle) < Math
+						.abs(this.getOrientation() - bestAngle))
+					bestAngle = angle;
 			}
 		}
 		sampleMatrixSummary[0] = 0;
 		sampleMatrixSummary[1] = 0;
-		sampleMatrixSummary[2] = 0;
-		boolean verifyAP = true;
 		// Verify whether the move is impossible, because of insufficient AP
-		// available.
-		for (int counter = 0; counter < maxCounter; counter++) {
-			if (sampleMatrix[counter][1] == 0) {
-				verifyAP = false;
-				break;
-			}
-		}
-		if (verifyAP) {
-			sampleMatrixSummary[2] = 3;
-			return sampleMatrixSummary;
-		}
-		// Verify whether the move is impossible, because of being impassable in
-		// all directions.
-		boolean verifyImp = true;
-		for (int counter = 0; counter < maxCounter; counter++) {
-			if (sampleMatrix[counter][2] == 0) {
-				verifyImp = false;
-				break;
-			}
-		}
-		if (verifyImp) {
+		// available or because of being impassable in all directions.
+		if (insufficientAP == maxCounter || alwaysImpassable == maxCounter) {
 			sampleMatrixSummary[2] = 3;
-			return sampleMatrixSummary;
+			return;
 		}
 		// Verify whether move of this worm is passable (but not adjacent) in
 		// all directions.
-		boolean verifyPass = true;
-		for (int counter = 0; counter < maxCounter; counter++) {
-			if (sampleMatrix[counter][3] == 0) {
-				verifyPass = false;
-				break;
-			}
-		}
-		if (verifyPass) {
+		if (alwaysPassable == maxCounter) {
 			sampleMatrixSummary[0] = this.getOrientation();
 			sampleMatrixSummary[1] = this.getRadius();
 			sampleMatrixSummary[2] = 2;
-			return sampleMatrixSummary;
-		}
-		// Calculate new position in case of adjacent.
-		sampleMatrixSummary[0] = sampleMatrix[0][0];
-		sampleMatrixSummary[1] = 0;
-		for (int counter = 0; counter < maxCounter; counter++) {
-			if (sampleMatrix[counter][1] == 1 || sampleMatrix[counter][2] == 1
-					|| sampleMatrix[counter][3] == 1)
-				continue;
-			if (sampleMatrix[counter][4] > sampleMatrixSummary[1]) {
-				sampleMatrixSummary[1] = sampleMatrix[counter][4];
-				sampleMatrixSummary[0] = sampleMatrix[counter][0];
-			} else if (sampleMatrix[counter][4] == sampleMatrixSummary[1]) {
-				if (Math.abs(this.getOrientation() - sampleMatrix[counter][0]) < Math
-						.abs(this.getOrientation() - sampleMatrixSummary[0]))
-					sampleMatrixSummary[0] = sampleMatrix[counter][0];
-			}
+			return;
 		}
+		sampleMatrixSummary[0] = bestAngle;
+		sampleMatrixSummary[1] = bestDistance;
 		sampleMatrixSummary[2] = 1;
-		return sampleMatrixSummary;
 	}
 	
 	/**
@@ -1197,12 +1919,13 @@ public class Worm {
 	 * 			The condition for this worm to make a jump, is not fulfilled.
 	 */
 	private boolean canJump() {
-		if (this.getActionPoints() == 0)
-			return false;
-		if (this.getWorld().isImpassable(this.getX(), this.getY(),
-				this.getRadius()))
-			return false;
-		return true;
+		if (this.canJumpVersion != this.getStateVersion()) {
+			this.canJumpResult = this.getActionPoints() != 0
+					&& !this.getWorld().isImpassable(this.getX(), this.getY(),
+							this.getRadius());
+			this.canJumpVersion = this.getStateVersion();
+		}
+		return this.canJumpResult;
 	}
 
 	/**
@@ -1222,10 +1945,32 @@ public class Worm {
 	 * 			This worm is not yet done jumping
 	 */
 	private boolean isJumpFinished(double newX, double newY) {
+		return this.isJumpFinished(this.getX(), this.getY(), newX, newY);
+	}
+
+	/**
+	 * Function that checks whether or not a jump of this worm that started at the provided position is finished 
+	 * at the provided position, in the same way as isJumpFinished(newX, newY).
+	 * 
+	 * @param startX
+	 * 			The x-coordinate at which the jump started
+	 * @param startY
+	 * 			The y-coordinate at which the jump started
+	 * @param newX
+	 * 			The x-coordinate of this worm in its jump
+	 * @param newY
+	 * 			The y-coordinate of this worm in its jump
+	 * @return true
+	 * 			This worm is finished jumping
+	 * @return false
+	 * 			This worm is not yet done jumping
+	 */
+	boolean isJumpFinished(double startX, double startY, double newX,
+			double newY) {
 		if (this.getWorld().isImpassable(newX, newY, this.getRadius()))
 			return true;
 		if (this.getWorld().isAdjacent(newX, newY, this.getRadius()) && 
-				Math.sqrt(Math.pow(this.getX() - newX, 2) + Math.pow(this.getY() - newY, 2)) 
+				Math.sqrt(Math.pow(startX - newX, 2) + Math.pow(startY - newY, 2)) 
 				>= this.getRadius())
 			return true;
 		if (!this.getWorld().liesInWorld(newX, newY, this.getRadius()))
@@ -1233,6 +1978,107 @@ public class Worm {
 		return false;
 	}
 	
+	/**
+	 * Function that calculates the y-coordinate at which this worm, falling down from the provided position, 
+	 * lands on terrain adjacent to impassable terrain.
+	 * The result is the same as lowering the y-coordinate by Util.DEFAULT_EPSILON until this worm is adjacent, but 
+	 * the steps are searched coarse to fine: big steps of half a pixel as long as this worm is on passable terrain, 
+	 * then bisection to find the first step on which it isn't. Within half a pixel every sample point on the rim 
+	 * changes pixel at most once, so once it stops being passable, it doesn't become passable again and the 
+	 * bisection finds the same step as the linear search. Impassable terrain is fallen through step by step, 
+	 * just like before. The y-coordinate of a step is found by subtracting Util.DEFAULT_EPSILON as many times as the 
+	 * linear search would (see descend()), so the landing is the same to the last bit, and so is the fall damage; 
+	 * only the terrain checks are skipped. Nothing is changed, so the landings of several worms can be searched on 
+	 * several threads at once.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of this worm while falling
+	 * @param startY
+	 * 			The y-coordinate from which this worm starts falling
+	 * @return descend(startY, step)
+	 * 			The y-coordinate of the first step on which this worm is adjacent to impassable terrain
+	 * @return Double.NaN
+	 * 			This worm falls out of its world before it becomes adjacent to impassable terrain
+	 */
+	double calculateFallLandingY(double x, double startY) {
+		long coarseSteps = Math.max(1,
+				(long) (.5 * this.getWorld().getPixelHeight() / Util.DEFAULT_EPSILON));
+		double y = startY;
+		while (true) {
+			double lowerY = y;
+			double upperY = descend(lowerY, coarseSteps);
+			while (!this.stopsFalling(x, upperY)) {
+				lowerY = upperY;
+				upperY = descend(lowerY, coarseSteps);
+			}
+			long steps = coarseSteps;
+			while (steps > 1) {
+				long half = steps >>> 1;
+				double middleY = descend(lowerY, half);
+				if (this.stopsFalling(x, middleY)) {
+					upperY = middleY;
+					steps = half;
+				} else {
+					lowerY = middleY;
+					steps -= half;
+				}
+			}
+			y = upperY;
+			while (this.liesInFallRange(y)
+					&& this.getWorld().isImpassable(x, y, this.getRadius()))
+				y -= Util.DEFAULT_EPSILON;
+			if (!this.liesInFallRange(y))
+				return Double.NaN;
+			if (this.getWorld().isAdjacent(x, y, this.getRadius()))
+				return y;
+		}
+	}
+
+	/**
+	 * Function that lowers the provided y-coordinate by Util.DEFAULT_EPSILON the provided number of times, one 
+	 * subtraction at a time, so the result is rounded exactly like a fall that takes these steps one by one.
+	 * 
+	 * @param y
+	 * 			The y-coordinate that has to be lowered
+	 * @param steps
+	 * 			The number of steps of Util.DEFAULT_EPSILON
+	 * @return y - Util.DEFAULT_EPSILON - ... - Util.DEFAULT_EPSILON (steps times)
+	 * 			The lowered y-coordinate
+	 */
+	private static double descend(double y, long steps) {
+		for (long step = 0; step < steps; step++)
+			y -= Util.DEFAULT_EPSILON;
+		return y;
+	}
+
+	/**
+	 * Function that checks whether or not a falling worm at the provided position stops falling through passable terrain, 
+	 * because it has left its world or it is no longer on passable terrain.
+	 * 
+	 * @param x
+	 * 			The x-coordinate of the falling worm
+	 * @param y
+	 * 			The y-coordinate of the falling worm
+	 * @return !this.liesInFallRange(y) || !this.getWorld().isPassable(x, y, this.getRadius())
+	 * 			Whether or not this worm stops falling through passable terrain at the provided position
+	 */
+	private boolean stopsFalling(double x, double y) {
+		return !this.liesInFallRange(y)
+				|| !this.getWorld().isPassable(x, y, this.getRadius());
+	}
+
+	/**
+	 * Function that checks whether or not the provided y-coordinate of a falling worm still lies in its world.
+	 * 
+	 * @param y
+	 * 			The y-coordinate of the falling worm
+	 * @return 0.0 <= y && y <= this.getWorld().getHeight()
+	 * 			Whether or not the falling worm is still in its world
+	 */
+	private boolean liesInFallRange(double y) {
+		return 0.0 <= y && y <= this.getWorld().getHeight();
+	}
+
 	/**
 	 * Function that checks whether or not this worm can shoot its weapon.
 	 * This worm can shoot when these two conditions are both met:
@@ -1245,11 +2091,13 @@ public class Worm {
 	 * 			This worm cannot shoot
 	 */
 	private boolean canShoot() {
-		if (this.getActionPoints() >= this.getProjectile()
-				.getActionPointsCost()
-				&& !(this.getWorld().isImpassable(this.getX(), this.getY(),
-						this.getRadius())))
-			return true;
-		return false;
+		if (this.canShootVersion != this.getStateVersion()) {
+			this.canShootResult = this.getActionPoints() >= this.getProjectile()
+					.getActionPointsCost()
+					&& !(this.getWorld().isImpassable(this.getX(), this.getY(),
+							this.getRadius()));
+			this.canShootVersion = this.getStateVersion();
+		}
+		return this.canShootResult;
 	}
 }
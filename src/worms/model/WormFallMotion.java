@@ -0,0 +1,79 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that lets a worm fall in the real-time mode of its world. The worm falls from rest under gravity until it
+ * reaches the height at which an instant fall would have ended; it then loses the same Hit Points. A worm that falls
+ * out of its world is removed once it has completely left it.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public final class WormFallMotion extends Motion {
+	/**
+	 * Declaration of variables.
+	 */
+	private final Worm worm;
+	private final double startY, landingY;
+
+	/**
+	 * Constructor of the class WormFallMotion.
+	 *
+	 * @param worm
+	 * 			The worm that falls
+	 * @param landingY
+	 * 			The y-coordinate at which the worm lands, or Double.NaN if it falls out of its world
+	 */
+	WormFallMotion(Worm worm, double landingY) {
+		super(worm.getX(), worm.getY());
+		this.worm = worm;
+		this.startY = worm.getY();
+		this.landingY = landingY;
+	}
+
+	/**
+	 * Function that returns the worm that falls.
+	 *
+	 * @return this.worm
+	 * 			The worm of this motion
+	 */
+	@Basic
+	public Worm getWorm() {
+		return this.worm;
+	}
+
+	/**
+	 * Method that lowers the worm for the time it has been falling, and lands it once it has reached the landing height.
+	 * A worm that has been removed from its world doesn't move anymore.
+	 */
+	@Override
+	void step(double duration) {
+		if (this.worm.isTerminated()) {
+			this.finish();
+			return;
+		}
+		double time = this.getElapsedTime() + duration;
+		double y = this.startY - .5 * this.worm.GRAV_CST * time * time;
+		if (Double.isNaN(this.landingY) ? y + this.worm.getRadius() < 0
+				: y <= this.landingY) {
+			this.worm.finishFall(this.startY, this.landingY);
+			this.moveTo(this.getX(), Double.isNaN(this.landingY) ? y : this.landingY);
+			this.finish();
+			return;
+		}
+		this.worm.moveDuringMotion(this.getX(), y);
+		this.moveTo(this.getX(), y);
+	}
+
+	/**
+	 * Function that returns the worm that this motion moves.
+	 * 
+	 * @return this.getWorm()
+	 * 			The worm of this motion
+	 */
+	@Override
+	Worm getMovedWorm() {
+		return this.getWorm();
+	}
+}
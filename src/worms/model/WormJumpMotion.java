@@ -0,0 +1,96 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that moves a worm along its jump in the real-time mode of its world.
+ * The jump is checked at the same steps as an instant jump, with the position from which it started, so on
+ * unchanged terrain it ends at exactly the same place. The worm is moved along with every tick, so other motions see
+ * it where it is, and eats the food it passes on its way.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public final class WormJumpMotion extends Motion {
+	/**
+	 * Declaration of variables.
+	 */
+	private final Worm worm;
+	private final double startX, startY, velocity, orientation, timeStep;
+	private final double[] jumpStep = new double[2];
+	private double time = 0;
+
+	/**
+	 * Constructor of the class WormJumpMotion, which stores the jump the provided worm starts now.
+	 *
+	 * @param worm
+	 * 			The worm that jumps
+	 * @param timeStep
+	 * 			The time interval in which the worm will not pass any impassable terrain
+	 */
+	WormJumpMotion(Worm worm, double timeStep) {
+		super(worm.getX(), worm.getY());
+		this.worm = worm;
+		this.startX = worm.getX();
+		this.startY = worm.getY();
+		this.velocity = worm.getInitialVelocity();
+		this.orientation = worm.getOrientation();
+		this.timeStep = timeStep;
+	}
+
+	/**
+	 * Function that returns the worm that jumps.
+	 *
+	 * @return this.worm
+	 * 			The worm of this motion
+	 */
+	@Basic
+	public Worm getWorm() {
+		return this.worm;
+	}
+
+	/**
+	 * Method that checks the steps of the jump until the end of the tick, and lands the worm at the step after
+	 * the one at which the jump is finished, just like an instant jump.
+	 * A worm that has been removed from its world doesn't move anymore.
+	 */
+	@Override
+	void step(double duration) {
+		if (this.worm.isTerminated()) {
+			this.finish();
+			return;
+		}
+		double end = this.time + duration;
+		while (this.time < end) {
+			this.worm.getJumpStep(this.startX, this.startY, this.velocity,
+					this.orientation, this.time, this.jumpStep);
+			if (this.worm.isJumpFinished(this.startX, this.startY,
+					this.jumpStep[0], this.jumpStep[1])) {
+				this.worm.getJumpStep(this.startX, this.startY, this.velocity,
+						this.orientation, this.time + this.timeStep, this.jumpStep);
+				this.worm.eatFoodAlong(this.worm.getX(), this.worm.getY(),
+						this.jumpStep[0], this.jumpStep[1]);
+				this.worm.finishJump(this.jumpStep[0], this.jumpStep[1]);
+				this.moveTo(this.jumpStep[0], this.jumpStep[1]);
+				this.finish();
+				return;
+			}
+			this.time += this.timeStep;
+		}
+		this.worm.eatFoodAlong(this.worm.getX(), this.worm.getY(),
+				this.jumpStep[0], this.jumpStep[1]);
+		this.worm.moveDuringMotion(this.jumpStep[0], this.jumpStep[1]);
+		this.moveTo(this.jumpStep[0], this.jumpStep[1]);
+	}
+
+	/**
+	 * Function that returns the worm that this motion moves.
+	 * 
+	 * @return this.getWorm()
+	 * 			The worm of this motion
+	 */
+	@Override
+	Worm getMovedWorm() {
+		return this.getWorm();
+	}
+}
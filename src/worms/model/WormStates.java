@@ -0,0 +1,175 @@
+package worms.model;
+
+import java.util.Arrays;
+
+/**
+ * A class that stores the state of worms that changes during a game in parallel arrays of primitives, indexed by a 
+ * slot: on top of the position and the radius (see CircleStates), the orientation, Hit Points, Action Points and 
+ * whether or not the worm is alive.
+ * A world keeps the state of its worms in one such store, where the slot of a worm is its position in the worms of 
+ * the world (see World.getWorms()), so the worms of a world lie next to each other instead of each in its own object. 
+ * A worm that isn't part of a world (anymore), such as a worm that is only used to explore what a real worm could do, 
+ * keeps its state in a store of its own, with a single slot.
+ *
+ * A store may be read from several threads at once, as long as it isn't changed in the meantime.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+final class WormStates extends CircleStates {
+	/**
+	 * Declaration of variables.
+	 */
+	private double[] directions;
+	private int[] hitPoints, actionPoints;
+	private boolean[] alive;
+
+	/**
+	 * Constructor of the class WormStates.
+	 *
+	 * @param capacity
+	 * 			The number of slots this store has to start with
+	 */
+	WormStates(int capacity) {
+		super(capacity);
+		this.directions = new double[capacity];
+		this.hitPoints = new int[capacity];
+		this.actionPoints = new int[capacity];
+		this.alive = new boolean[capacity];
+	}
+
+	/**
+	 * Method that grows the arrays of this store to the provided number of slots.
+	 *
+	 * @param capacity
+	 * 			The new number of slots of this store
+	 */
+	@Override
+	void grow(int capacity) {
+		super.grow(capacity);
+		this.directions = Arrays.copyOf(this.directions, capacity);
+		this.hitPoints = Arrays.copyOf(this.hitPoints, capacity);
+		this.actionPoints = Arrays.copyOf(this.actionPoints, capacity);
+		this.alive = Arrays.copyOf(this.alive, capacity);
+	}
+
+	/**
+	 * Method that copies the state in the provided slot of this store to the provided slot of another store.
+	 *
+	 * @param slot
+	 * 			The slot of this store that has to be copied
+	 * @param target
+	 * 			The store to which the state has to be copied, which has to be a WormStates as well
+	 * @param targetSlot
+	 * 			The slot of the target that has to be overwritten
+	 */
+	@Override
+	void copyTo(int slot, CircleStates target, int targetSlot) {
+		super.copyTo(slot, target, targetSlot);
+		WormStates wormTarget = (WormStates) target;
+		wormTarget.directions[targetSlot] = this.directions[slot];
+		wormTarget.hitPoints[targetSlot] = this.hitPoints[slot];
+		wormTarget.actionPoints[targetSlot] = this.actionPoints[slot];
+		wormTarget.alive[targetSlot] = this.alive[slot];
+	}
+
+	/**
+	 * Function that returns the orientation stored in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be read
+	 * @return this.directions[slot]
+	 * 			The orientation of the worm in the slot
+	 */
+	double getDirection(int slot) {
+		return this.directions[slot];
+	}
+
+	/**
+	 * Method that stores the provided orientation in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be changed
+	 * @param direction
+	 * 			The new orientation of the worm in the slot
+	 * @post	| (new this).getDirection(slot) == direction
+	 */
+	void setDirection(int slot, double direction) {
+		this.directions[slot] = direction;
+	}
+
+	/**
+	 * Function that returns the amount of Hit Points stored in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be read
+	 * @return this.hitPoints[slot]
+	 * 			The Hit Points of the worm in the slot
+	 */
+	int getHitPoints(int slot) {
+		return this.hitPoints[slot];
+	}
+
+	/**
+	 * Method that stores the provided amount of Hit Points in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be changed
+	 * @param hitPoints
+	 * 			The new Hit Points of the worm in the slot
+	 * @post	| (new this).getHitPoints(slot) == hitPoints
+	 */
+	void setHitPoints(int slot, int hitPoints) {
+		this.hitPoints[slot] = hitPoints;
+	}
+
+	/**
+	 * Function that returns the amount of Action Points stored in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be read
+	 * @return this.actionPoints[slot]
+	 * 			The Action Points of the worm in the slot
+	 */
+	int getActionPoints(int slot) {
+		return this.actionPoints[slot];
+	}
+
+	/**
+	 * Method that stores the provided amount of Action Points in the provided slot.
+	 *
+	 * @param slot
+	 * 			The slot that has to be changed
+	 * @param actionPoints
+	 * 			The new Action Points of the worm in the slot
+	 * @post	| (new this).getActionPoints(slot) == actionPoints
+	 */
+	void setActionPoints(int slot, int actionPoints) {
+		this.actionPoints[slot] = actionPoints;
+	}
+
+	/**
+	 * Function that returns whether or not the worm in the provided slot is alive.
+	 *
+	 * @param slot
+	 * 			The slot that has to be read
+	 * @return this.alive[slot]
+	 * 			Whether or not the worm in the slot is alive
+	 */
+	boolean isAlive(int slot) {
+		return this.alive[slot];
+	}
+
+	/**
+	 * Method that stores whether or not the worm in the provided slot is alive.
+	 *
+	 * @param slot
+	 * 			The slot that has to be changed
+	 * @param alive
+	 * 			Whether or not the worm in the slot is alive
+	 * @post	| (new this).isAlive(slot) == alive
+	 */
+	void setAlive(int slot, boolean alive) {
+		this.alive[slot] = alive;
+	}
+}
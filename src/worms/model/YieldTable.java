@@ -0,0 +1,195 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class that holds where the current weapon of a worm lands for every yield from 0 to 100, with the worm as it is
+ * when the table is calculated: its position, its orientation and its weapon. The GUI can show the landing point
+ * of every yield while the player chooses one, without simulating any shot.
+ *
+ * Yields that give the same force give the same shot, so every distinct force is only simulated once, and the
+ * distinct shots are simulated in parallel (see Projectile.simulate()). A table can't be changed once it has been
+ * calculated; Worm.getYieldTable() caches it until the worm or its world changes.
+ *
+ * @author Pieter Jan Vingerhoets & Matthijs Nelissen
+ * @version 1.0
+ */
+public class YieldTable {
+	/**
+	 * Declaration of variables.
+	 */
+	public static final int MAX_YIELD = 100;
+	private final Projectile projectile;
+	private final double orientation, timeStep;
+	private final TrajectoryOutcome[] outcomes = new TrajectoryOutcome[MAX_YIELD + 1];
+	private int numberOfShots = 0;
+
+	/**
+	 * Constructor of the class YieldTable, which only stores the shot of the table.
+	 *
+	 * @param projectile
+	 * 			The weapon that is fired
+	 * @param orientation
+	 * 			The orientation in which the weapon is fired
+	 * @param timeStep
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 */
+	private YieldTable(Projectile projectile, double orientation, double timeStep) {
+		this.projectile = projectile;
+		this.orientation = orientation;
+		this.timeStep = timeStep;
+	}
+
+	/**
+	 * Function that calculates the table of the provided worm with its current weapon, in its current orientation.
+	 * The world may not be changed while this function runs.
+	 *
+	 * @param worm
+	 * 			The worm that would shoot
+	 * @param timeStep
+	 * 			A time scale for which the projectile will not go through any impassable terrain
+	 * @return table
+	 * 			The table with the outcome of the shot for every yield
+	 * @throws	InterruptedException
+	 * 			The calling thread has been interrupted while the shots were simulated.
+	 */
+	static YieldTable calculate(Worm worm, double timeStep) throws InterruptedException {
+		final YieldTable table = new YieldTable(worm.getProjectile(),
+				worm.getOrientation(), timeStep);
+		List<Callable<TrajectoryOutcome>> shots = new ArrayList<Callable<TrajectoryOutcome>>();
+		int[] firstYields = new int[MAX_YIELD + 1];
+		double lastForce = Double.NaN;
+		for (int yield = 0; yield <= MAX_YIELD; yield++) {
+			double force = table.projectile.calculateForce(yield);
+			if (force == lastForce) {
+				firstYields[yield] = firstYields[yield - 1];
+				continue;
+			}
+			lastForce = force;
+			firstYields[yield] = yield;
+			final int shotYield = yield;
+			shots.add(new Callable<TrajectoryOutcome>() {
+				@Override
+				public TrajectoryOutcome call() {
+					return table.projectile.simulate(table.orientation, shotYield,
+							table.timeStep);
+				}
+			});
+		}
+		List<Future<TrajectoryOutcome>> results = WorkerPool.EXECUTOR.invokeAll(shots);
+		int shot = -1;
+		for (int yield = 0; yield <= MAX_YIELD; yield++) {
+			if (firstYields[yield] == yield) {
+				try {
+					table.outcomes[yield] = results.get(++shot).get();
+				} catch (ExecutionException e) {
+					throw new IllegalStateException(e.getCause());
+				}
+			} else
+				table.outcomes[yield] = table.outcomes[firstYields[yield]];
+		}
+		table.numberOfShots = results.size();
+		return table;
+	}
+
+	/**
+	 * Function that returns the weapon of this table.
+	 *
+	 * @return this.projectile
+	 * 			The weapon that is fired
+	 */
+	@Basic
+	public Projectile getProjectile() {
+		return this.projectile;
+	}
+
+	/**
+	 * Function that returns the orientation in which the weapon of this table is fired.
+	 *
+	 * @return this.orientation
+	 * 			The orientation of the shots
+	 */
+	@Basic
+	public double getOrientation() {
+		return this.orientation;
+	}
+
+	/**
+	 * Function that returns the time step with which the shots of this table have been simulated.
+	 *
+	 * @return this.timeStep
+	 * 			The time step of the shots
+	 */
+	@Basic
+	public double getTimeStep() {
+		return this.timeStep;
+	}
+
+	/**
+	 * Function that returns the number of distinct shots that have been simulated for this table.
+	 *
+	 * @return this.numberOfShots
+	 * 			The number of distinct forces of the yields 0 to MAX_YIELD
+	 */
+	@Basic
+	public int getNumberOfShots() {
+		return this.numberOfShots;
+	}
+
+	/**
+	 * Function that returns the outcome of the shot with the provided yield.
+	 *
+	 * @param yield
+	 * 			The yield, between 0 and MAX_YIELD
+	 * @return this.outcomes[yield]
+	 * 			The outcome of the shot with that yield
+	 */
+	public TrajectoryOutcome getOutcome(int yield) {
+		return this.outcomes[yield];
+	}
+
+	/**
+	 * Function that returns the x-coordinate at which the shot with the provided yield lands.
+	 *
+	 * @param yield
+	 * 			The yield, between 0 and MAX_YIELD
+	 * @return this.getOutcome(yield).getX()
+	 * 			The x-coordinate of the landing point
+	 */
+	public double getLandingX(int yield) {
+		return this.outcomes[yield].getX();
+	}
+
+	/**
+	 * Function that returns the y-coordinate at which the shot with the provided yield lands.
+	 *
+	 * @param yield
+	 * 			The yield, between 0 and MAX_YIELD
+	 * @return this.getOutcome(yield).getY()
+	 * 			The y-coordinate of the landing point
+	 */
+	public double getLandingY(int yield) {
+		return this.outcomes[yield].getY();
+	}
+
+	/**
+	 * Function that returns the worm that is hit first by the shot with the provided yield.
+	 *
+	 * @param yield
+	 * 			The yield, between 0 and MAX_YIELD
+	 * @return this.getOutcome(yield).getHitWorm(0)
+	 * 			The first hit worm, or null if the shot doesn't hit any worm
+	 */
+	public Worm getHitWorm(int yield) {
+		TrajectoryOutcome outcome = this.outcomes[yield];
+		if (outcome.getNumberOfHitWorms() == 0)
+			return null;
+		return outcome.getHitWorm(0);
+	}
+}
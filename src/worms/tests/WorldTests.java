@@ -1,7 +1,9 @@
 package worms.test;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Random;
 
@@ -316,6 +318,34 @@ public class WorldTests {
 		}
 		assertTrue(this.world.getFood().size() == 0);
 	}
+
+	/**
+	 * Function that tests whether the last piece of food takes the place of a removed piece of food, and whether 
+	 * removing a piece of food of another world leaves the food of this world alone.
+	 */
+	@Test
+	public void test_world_removeFoodFromWorld_LastTakesPlace() {
+		Food first = this.world.createFood(2.0, 2.0);
+		Food second = this.world.createFood(2.5, 2.0);
+		Food third = this.world.createFood(3.0, 2.0);
+		this.world.removeFoodFromWorld(first);
+		ArrayList<Food> food = (ArrayList<Food>) this.world.getFood();
+		assertEquals(2, food.size());
+		assertSame(third, food.get(0));
+		assertSame(second, food.get(1));
+		World otherWorld = new World(5.0, 5.0, this.passableMap, this.randomSeed);
+		Food otherFood = otherWorld.createFood(2.0, 2.0);
+		assertEquals(3.0, third.getX(), 0);
+		assertEquals(2.0, third.getY(), 0);
+		assertEquals(2.0, first.getX(), 0);
+		this.world.removeFoodFromWorld(otherFood);
+		assertEquals(2, this.world.getFood().size());
+		assertSame(third, food.get(0));
+		assertEquals(2.0, otherWorld.getFood().iterator().next().getX(), 0);
+		this.world.removeFoodFromWorld(second);
+		this.world.removeFoodFromWorld(third);
+		assertTrue(this.world.getFood().isEmpty());
+	}
 	
 	/**
 	 * Function that tests an illegal case of the method removeFoodFromWorld() for the world.
@@ -646,4 +676,341 @@ public class WorldTests {
 		if (!World.isValidHeight(Double.POSITIVE_INFINITY))
 			fail("The provided height is invalid.");
 	}
+	
+	/**
+	 * Function that tests a legal case of the method getClearance() for the world.
+	 * For this test, we use a map of 9 by 9 pixels of 1 meter with an impassable border, so the center pixel 
+	 * lies 4 pixels from impassable terrain.
+	 */
+	@Test
+	public void test_world_getClearance_LegalCase() {
+		boolean[][] map = new boolean[9][9];
+		for (int row = 1; row < 8; row++)
+			for (int column = 1; column < 8; column++)
+				map[row][column] = true;
+		World world = new World(9.0, 9.0, map, this.randomSeed);
+		assertEquals(2.0, world.getClearance(4.5, 4.5), 1e-9);
+		assertEquals(0.0, world.getClearance(0.5, 0.5), 1e-9);
+	}
+	
+	/**
+	 * Function that tests an illegal case of the method getClearance() for the world.
+	 * For this test, we use a position outside of the world.
+	 */
+	@Test
+	public void test_world_getClearance_IllegalCase() {
+		assertEquals(0.0, this.world.getClearance(-1.0, 2.5), 1e-9);
+	}
+	
+	/**
+	 * Function that tests a legal case of the method settleWorms() for the world.
+	 * For this test, three worms hang in the air above a floor, two of them above the same columns, and every worm 
+	 * has to land at the same place and lose the same Hit Points as when it falls on its own.
+	 */
+	@Test
+	public void test_world_settleWorms_LegalCase() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World settledWorld = new World(40.0, 5.0, map, this.randomSeed);
+		World fallenWorld = new World(40.0, 5.0, map, this.randomSeed);
+		double[] xs = { 5.0, 5.6, 20.0 };
+		for (double x : xs) {
+			settledWorld.createWorm(x, 3.5, 0.0, 0.5, "SettledWorm");
+			fallenWorld.createWorm(x, 3.5, 0.0, 0.5, "FallenWorm");
+		}
+		assertEquals(3, settledWorld.settleWorms());
+		for (Worm worm : fallenWorld.getWorms())
+			worm.fall();
+		Worm[] settledWorms = settledWorld.getWorms().toArray(new Worm[0]);
+		Worm[] fallenWorms = fallenWorld.getWorms().toArray(new Worm[0]);
+		for (int i = 0; i < xs.length; i++) {
+			Worm settledWorm = settledWorms[i];
+			Worm fallenWorm = fallenWorms[i];
+			assertEquals(fallenWorm.getY(), settledWorm.getY(), 0);
+			assertEquals(fallenWorm.getHitPoints(), settledWorm.getHitPoints());
+			assertTrue(settledWorm.getY() < 3.5);
+		}
+		assertEquals(0, settledWorld.settleWorms());
+	}
+
+	/**
+	 * Function that tests the method settleWorms() for a world in real-time mode: the worms that are already 
+	 * falling are left alone until their falls have finished, and they land where they land without real-time mode.
+	 */
+	@Test
+	public void test_world_settleWorms_RealTime() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World realTimeWorld = new World(40.0, 5.0, map, this.randomSeed);
+		World fallenWorld = new World(40.0, 5.0, map, this.randomSeed);
+		realTimeWorld.setRealTime(true);
+		double[] xs = { 5.0, 5.6, 20.0 };
+		for (double x : xs) {
+			realTimeWorld.createWorm(x, 3.5, 0.0, 0.5, "RealTimeWorm");
+			fallenWorld.createWorm(x, 3.5, 0.0, 0.5, "FallenWorm");
+		}
+		assertEquals(3, realTimeWorld.settleWorms());
+		assertEquals(3, realTimeWorld.getMotions().size());
+		realTimeWorld.advanceTime(World.TICK_DURATION);
+		assertEquals(0, realTimeWorld.settleWorms());
+		assertEquals(3, realTimeWorld.getMotions().size());
+		for (int i = 0; i < 100 && !realTimeWorld.getMotions().isEmpty(); i++)
+			realTimeWorld.advanceTime(.1);
+		assertTrue(realTimeWorld.getMotions().isEmpty());
+		assertEquals(0, realTimeWorld.settleWorms());
+		for (Worm worm : fallenWorld.getWorms())
+			worm.fall();
+		Worm[] realTimeWorms = realTimeWorld.getWorms().toArray(new Worm[0]);
+		Worm[] fallenWorms = fallenWorld.getWorms().toArray(new Worm[0]);
+		for (int i = 0; i < xs.length; i++)
+			assertEquals(fallenWorms[i].getY(), realTimeWorms[i].getY(), 0);
+	}
+	
+	/**
+	 * Function that tests that the worms and food that are added at arbitrary locations don't overlap with the 
+	 * worms and food that are already in the world.
+	 * For this test, we use a world of 20 by 20 meters with an impassable border of 1 meter.
+	 */
+	@Test
+	public void test_world_addObjects_NoOverlap() {
+		boolean[][] map = new boolean[200][200];
+		for (int row = 10; row < 190; row++)
+			for (int column = 10; column < 190; column++)
+				map[row][column] = true;
+		World world = new World(20.0, 20.0, map, this.randomSeed);
+		for (int i = 0; i < 10; i++)
+			world.addFoodToWorld();
+		for (int i = 0; i < 3; i++)
+			world.addWormToWorld();
+		Food[] food = world.getFood().toArray(new Food[0]);
+		Worm[] worms = world.getWorms().toArray(new Worm[0]);
+		for (int i = 0; i < food.length; i++)
+			for (int j = i + 1; j < food.length; j++)
+				assertTrue(Math.hypot(food[i].getX() - food[j].getX(), food[i].getY()
+						- food[j].getY()) >= 2 * Food.RADIUS);
+		for (int i = 0; i < worms.length; i++) {
+			for (int j = i + 1; j < worms.length; j++)
+				assertTrue(Math.hypot(worms[i].getX() - worms[j].getX(), worms[i].getY()
+						- worms[j].getY()) >= worms[i].getRadius() + worms[j].getRadius());
+			for (Food piece : food)
+				assertTrue(Math.hypot(worms[i].getX() - piece.getX(), worms[i].getY()
+						- piece.getY()) >= worms[i].getRadius() + Food.RADIUS);
+		}
+	}
+	
+	/**
+	 * Function that tests a legal case of the method getObjectById() for the world.
+	 * For this test, every worm, weapon and piece of food has to be found back by its identifier, and the identifier 
+	 * of a removed piece of food has to be given to the next one.
+	 */
+	@Test
+	public void test_world_getObjectById_LegalCase() {
+		Worm worm = this.world.createWorm(2.5, 2.5, 0.0, 0.5, "AllValidWorm");
+		Food food = this.world.createFood(2.0, 2.0);
+		assertTrue(worm.getId() >= 0 && food.getId() >= 0 && worm.getId() != food.getId());
+		assertSame(worm, this.world.getWormById(worm.getId()));
+		assertSame(food, this.world.getFoodById(food.getId()));
+		assertSame(worm.getProjectile(), this.world.getProjectileById(worm.getProjectile().getId()));
+		assertNull(this.world.getFoodById(worm.getId()));
+		assertNull(this.world.getObjectById(this.world.getNumberOfIds()));
+		int foodId = food.getId();
+		this.world.removeFoodFromWorld(food);
+		assertEquals(-1, food.getId());
+		assertNull(this.world.getObjectById(foodId));
+		Food newFood = this.world.createFood(3.0, 3.0);
+		assertEquals(foodId, newFood.getId());
+		assertSame(newFood, this.world.getFoodById(foodId));
+	}
+	
+	/**
+	 * Function that tests that the turn order stays the same when worms are removed. When the current worm is 
+	 * removed during its turn, the worm after it gets the turn.
+	 */
+	@Test
+	public void test_world_startNextTurn_RemovedWorms() {
+		Worm first = this.world.createWorm(2.0, 2.0, 0.0, 0.5, "First");
+		Worm second = this.world.createWorm(2.5, 2.0, 0.0, 0.5, "Second");
+		Worm third = this.world.createWorm(3.0, 2.0, 0.0, 0.5, "Third");
+		Worm fourth = this.world.createWorm(3.5, 2.0, 0.0, 0.5, "Fourth");
+		this.world.startGame();
+		assertSame(first, this.world.getCurrentWorm());
+		this.world.removeWormFromWorld(first);
+		assertSame(second, this.world.getCurrentWorm());
+		this.world.removeWormFromWorld(third);
+		this.world.startNextTurn();
+		assertSame(fourth, this.world.getCurrentWorm());
+		this.world.startNextTurn();
+		assertSame(second, this.world.getCurrentWorm());
+		assertEquals(2, this.world.getWorms().size());
+		assertFalse(this.world.getWorms().contains(first) || this.world.getWorms().contains(third));
+	}
+	
+	/**
+	 * Function that tests the methods isGameFinished() and getWinner() for the world against a brute-force check 
+	 * of the live worms, while random worms are hurt, killed, healed and removed. The check goes over the slots of 
+	 * the world, whose alive flags have to agree with the worms in them.
+	 */
+	@Test
+	public void test_world_isGameFinished_Oracle() {
+		Random random = new Random(42);
+		int soloWinners = 0;
+		for (int game = 0; game < 50; game++) {
+			World world = new World(5.0, 5.0, this.passableMap, this.randomSeed);
+			world.addEmptyTeam("Alpha");
+			world.addEmptyTeam("Beta");
+			ArrayList<Worm> worms = new ArrayList<Worm>();
+			for (int i = 0; i < 6; i++) {
+				Worm worm = world.createWorm(2.5, 2.5, 0.0, 0.5, "Worm " + i);
+				int team = random.nextInt(3);
+				if (team < 2)
+					worm.addToTeam(((ArrayList<Team>) world.getTeams()).get(team));
+				worms.add(worm);
+			}
+			world.startGame();
+			for (int step = 0; step < 20; step++) {
+				Worm worm = worms.get(random.nextInt(worms.size()));
+				if (!worm.isTerminated()) {
+					int action = random.nextInt(4);
+					if (action == 0)
+						worm.setHitPoints(0);
+					else if (action == 1)
+						worm.setHitPoints(-1);
+					else if (action == 2)
+						worm.setHitPoints(worm.getHitPoints() + 10);
+					else
+						world.removeWormFromWorld(worm);
+				}
+				String winner = null;
+				boolean finished = true;
+				int live = 0;
+				for (int slot = 0; slot < world.getWorms().size(); slot++) {
+					Worm check = world.getWormInSlot(slot);
+					assertEquals(check.isAlive(), world.isWormAlive(slot));
+					if (world.isWormAlive(slot)) {
+						live++;
+						if (winner == null)
+							winner = check.getTeamName() == null ? check.getName() : check.getTeamName();
+						for (int other = 0; other < world.getWorms().size(); other++)
+							if (other != slot && world.isWormAlive(other) && (check.getTeamName() == null
+									|| !check.getTeamName().equals(world.getWormInSlot(other).getTeamName())))
+								finished = false;
+					}
+				}
+				if (!finished || live == 0)
+					winner = null;
+				assertEquals(finished, world.isGameFinished());
+				assertEquals(winner, world.getWinner());
+				if (winner != null && winner.startsWith("Worm "))
+					soloWinners++;
+			}
+		}
+		assertTrue(soloWinners > 0);
+	}
+
+	/**
+	 * Function that tests whether the live worms of a team follow the worms of that team when they die, are removed 
+	 * and are healed again.
+	 */
+	@Test
+	public void test_team_getLiveWormsInTeam_FollowsDeaths() {
+		World world = new World(5.0, 5.0, this.passableMap, this.randomSeed);
+		world.addEmptyTeam("Alpha");
+		Team team = ((ArrayList<Team>) world.getTeams()).get(0);
+		Worm first = world.createWorm(2.5, 2.5, 0.0, 0.5, "First");
+		Worm second = world.createWorm(2.5, 2.5, 0.0, 0.5, "Second");
+		Worm third = world.createWorm(2.5, 2.5, 0.0, 0.5, "Third");
+		first.addToTeam(team);
+		second.addToTeam(team);
+		team.addTeamMember(third);
+		assertEquals(3, team.getNumberOfLiveWorms());
+		first.setHitPoints(0);
+		ArrayList<Worm> live = team.getLiveWormsInTeam();
+		assertEquals(2, live.size());
+		assertFalse(live.contains(first));
+		assertTrue(live.contains(second) && live.contains(third));
+		world.removeWormFromWorld(third);
+		live = team.getLiveWormsInTeam();
+		assertEquals(1, live.size());
+		assertSame(second, live.get(0));
+		first.setHitPoints(10);
+		assertEquals(2, team.getNumberOfLiveWorms());
+		assertTrue(team.getLiveWormsInTeam().contains(first));
+		team.getLiveWormsInTeam().clear();
+		assertEquals(2, team.getNumberOfLiveWorms());
+	}
+
+	/**
+	 * Function that tests whether the live worms of a team can be gone over with getLiveWorm() in the order of 
+	 * getLiveWormsInTeam(), without allocating anything.
+	 * The test is skipped if the virtual machine can't measure the memory a thread allocates.
+	 */
+	@Test
+	public void test_team_getLiveWorm_AllocationFree() {
+		World world = new World(5.0, 5.0, this.passableMap, this.randomSeed);
+		world.addEmptyTeam("Alpha");
+		Team team = ((ArrayList<Team>) world.getTeams()).get(0);
+		for (int i = 0; i < 4; i++)
+			world.createWorm(2.5, 2.5, 0.0, 0.5, "Member").addToTeam(team);
+		((ArrayList<Worm>) world.getWorms()).get(1).setHitPoints(0);
+		ArrayList<Worm> live = team.getLiveWormsInTeam();
+		assertEquals(3, team.getNumberOfLiveWorms());
+		for (int i = 0; i < team.getNumberOfLiveWorms(); i++)
+			assertSame(live.get(i), team.getLiveWorm(i));
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+		long threadId = Thread.currentThread().getId();
+		int hitPoints = 0;
+		for (int i = 0; i < 1000; i++)
+			hitPoints += team.getLiveWorm(i % team.getNumberOfLiveWorms()).getHitPoints();
+		long counterCost = -threadBean.getThreadAllocatedBytes(threadId)
+				+ threadBean.getThreadAllocatedBytes(threadId);
+		long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 1000; i++)
+			hitPoints += team.getLiveWorm(i % team.getNumberOfLiveWorms()).getHitPoints();
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore - counterCost;
+		assertTrue(hitPoints > 0);
+		assertEquals(0, allocated);
+	}
+
+	/**
+	 * Function that tests whether worms that have been made with the constructor of Worm, instead of being added to 
+	 * a world, are live worms of their team until they die or are terminated, without being counted by the world.
+	 */
+	@Test
+	public void test_team_getLiveWormsInTeam_UnregisteredWorms() {
+		World world = new World(5.0, 5.0, this.passableMap, this.randomSeed);
+		world.addEmptyTeam("Alpha");
+		world.addEmptyTeam("Beta");
+		Team alpha = ((ArrayList<Team>) world.getTeams()).get(0);
+		Team beta = ((ArrayList<Team>) world.getTeams()).get(1);
+		Worm registered = world.createWorm(2.5, 2.5, 0.0, 0.5, "Registered");
+		registered.addToTeam(beta);
+		Worm first = new Worm(world, 2.5, 2.5, 0.0, 0.5, "First");
+		Worm second = new Worm(world, 2.5, 2.5, 0.0, 0.5, "Second");
+		first.addToTeam(alpha);
+		alpha.addTeamMember(second);
+		assertEquals(2, alpha.getNumberOfLiveWorms());
+		assertTrue(alpha.getLiveWormsInTeam().contains(first));
+		assertTrue(alpha.getLiveWormsInTeam().contains(second));
+		world.startGame();
+		assertTrue(world.isGameFinished());
+		assertEquals("Beta", world.getWinner());
+		first.setHitPoints(0);
+		assertEquals(1, alpha.getNumberOfLiveWorms());
+		assertSame(second, alpha.getLiveWormsInTeam().get(0));
+		first.setHitPoints(10);
+		assertEquals(2, alpha.getNumberOfLiveWorms());
+		second.addToTeam(beta);
+		assertEquals(1, alpha.getNumberOfLiveWorms());
+		assertEquals(2, beta.getNumberOfLiveWorms());
+		second.terminate();
+		assertEquals(1, beta.getNumberOfLiveWorms());
+		assertSame(registered, beta.getLiveWormsInTeam().get(0));
+		assertEquals("Beta", world.getWinner());
+	}
 }
@@ -1,8 +1,13 @@
 package worms.test;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
+import java.lang.management.ManagementFactory;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -210,6 +215,43 @@ public class WormTests {
 		assertTrue(fallWorm.getX() == 2.5 && fallWorm.getY() != 2.5);
 	}
 	
+	/**
+	 * Function that tests whether fall() ends at exactly the same y-coordinate, and takes exactly the same Hit Points,
+	 * as lowering the worm by Util.DEFAULT_EPSILON until it is adjacent, on a map with a floor, a floating block
+	 * and a hole through which a worm falls out of the world.
+	 */
+	@Test
+	public void test_worm_fall_SameAsStepByStep() {
+		boolean[][] map = new boolean[100][200];
+		for (int row = 0; row < 100; row++)
+			for (int column = 0; column < 200; column++)
+				map[row][column] = !(row >= 90 && !(40 <= column && column < 60))
+						&& !(40 <= row && row < 50 && 80 <= column && column < 120);
+		World fallWorld = new World(20.0, 10.0, map, this.randomSeed);
+		for (int i = 0; i < 12; i++) {
+			double x = 1.0 + 1.5 * i, radius = 0.4 + 0.02 * i;
+			double startY = 8.0 + 0.107 * i;
+			Worm worm = fallWorld.createWorm(x, startY, 0.0, radius, "Faller " + (char) ('A' + i));
+			int oldHitPoints = worm.getHitPoints();
+			double y = startY;
+			boolean fallsOut = false;
+			while (!fallWorld.isAdjacent(x, y, radius)) {
+				y -= Util.DEFAULT_EPSILON;
+				if (!(0.0 <= y && y <= fallWorld.getHeight())) {
+					fallsOut = true;
+					break;
+				}
+			}
+			worm.fall();
+			if (fallsOut) {
+				assertTrue(worm.isTerminated());
+			} else {
+				assertEquals(y, worm.getY(), 0);
+				assertEquals(oldHitPoints - 3 * (int) Math.floor(startY - y), worm.getHitPoints());
+			}
+		}
+	}
+
 	/**
 	 * Function that tests an illegal case of the fall() method for a worm.
 	 */
@@ -238,6 +280,44 @@ public class WormTests {
 		assertTrue(oldActionPoints - worm.getProjectile().getActionPointsCost()== worm.getActionPoints());
 	}
 	
+	/**
+	 * Function that tests whether a fast projectile hits a worm that lies in between two steps of its flight.
+	 * For this test, the bullet of a rifle (75 meters per second) travels more than 7 meters per step, 
+	 * while the worm it has to hit lies 2 meters in front of the shooting worm.
+	 */
+	@Test
+	public void test_projectile_jump_HitsWormBetweenSteps() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.0, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(3.0, 2.0, 0.0, 0.25, "Target");
+		int oldHitPoints = target.getHitPoints();
+		Projectile bullet = shooter.getProjectile();
+		bullet.setX(1.5);
+		bullet.setY(2.0);
+		bullet.setOrientation(0.0);
+		bullet.setForce(100);
+		bullet.jump(.1);
+		assertEquals(oldHitPoints - bullet.getHitPointsReduction(), target.getHitPoints());
+	}
+	
+	/**
+	 * Function that tests the method calculateForce() for a bazooka: the force grows linearly with the yield, from 
+	 * 2.5 Newton at yield 0 to 9.5 Newton at yield 100.
+	 */
+	@Test
+	public void test_projectile_calculateForce_LegalCase() {
+		Worm worm = new Worm(this.world, 2.1, 2.1, 0.0, 1.0, "AllValidWorm");
+		worm.selectNextWeapon();
+		Projectile rocket = worm.getProjectile();
+		assertEquals(2.5, rocket.calculateForce(0), 1e-12);
+		assertEquals(6.0, rocket.calculateForce(50), 1e-12);
+		assertEquals(9.5, rocket.calculateForce(100), 1e-12);
+	}
+	
 	/**
 	 * Function that tests an illegal case of the shoot() method of a worm.
 	 * In this test the yield will be less than 0.
@@ -629,6 +709,483 @@ public class WormTests {
 				resultArray[1] == worm.getY() + (((((((5 * worm.getActionPoints()) + (worm.getMass() * worm.GRAV_CST)) / worm.getMass()) * .5) * Math.sin(worm.getOrientation())) * 1) - (.5 * worm.GRAV_CST * Math.pow(1, 2))));
 	}
 
+	/**
+	 * Function that tests whether a worm that is removed from its world keeps its state when its identifier is given
+	 * to a new worm, whether the last worm takes the slot of the removed worm with its own state, and whether shots 
+	 * find the new worm instead of the removed one.
+	 */
+	@Test
+	public void test_world_removeWormFromWorld_SlotReused() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.0, 0.5, "Shooter");
+		Worm removed = openWorld.createWorm(3.0, 2.0, 1.0, 0.5, "Removed");
+		Worm farWorm = openWorld.createWorm(10.0, 2.0, 0.0, 0.5, "Far");
+		int removedId = removed.getId();
+		int hitPoints = removed.getHitPoints(), actionPoints = removed.getActionPoints();
+		openWorld.removeWormFromWorld(removed);
+		assertEquals(2, openWorld.getWorms().size());
+		assertSame(farWorm, openWorld.getWormInSlot(1));
+		assertEquals(10.0, openWorld.getWormX(1), 0);
+		assertEquals(2.0, openWorld.getWormY(1), 0);
+		assertEquals(0.5, openWorld.getWormRadius(1), 0);
+		assertTrue(openWorld.isWormAlive(1));
+		Worm newcomer = openWorld.createWorm(6.0, 2.5, 2.0, 0.25, "Newcomer");
+		assertSame(newcomer, openWorld.getWormInSlot(2));
+		assertEquals(6.0, openWorld.getWormX(2), 0);
+		assertEquals(removedId, newcomer.getId());
+		assertEquals(3.0, removed.getX(), 0);
+		assertEquals(2.0, removed.getY(), 0);
+		assertEquals(1.0, removed.getOrientation(), 0);
+		assertEquals(0.5, removed.getRadius(), 0);
+		assertEquals(hitPoints, removed.getHitPoints());
+		assertEquals(actionPoints, removed.getActionPoints());
+		assertFalse(removed.isAlive());
+		assertEquals(6.0, newcomer.getX(), 0);
+		assertEquals(2.5, newcomer.getY(), 0);
+		assertEquals(2.0, newcomer.getOrientation(), 0);
+		assertEquals(0.25, newcomer.getRadius(), 0);
+		assertTrue(newcomer.isAlive());
+		assertEquals(10.0, farWorm.getX(), 0);
+		Projectile bullet = shooter.getProjectile();
+		TrajectoryOutcome outcome = bullet.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+		assertEquals(Trajectory.HIT_WORM, outcome.getEndEvent());
+		assertSame(farWorm, outcome.getHitWorm(0));
+		newcomer.setHitPoints(-1);
+		assertFalse(newcomer.isAlive());
+		openWorld.createWorm(6.0, 2.0, 0.0, 0.5, "Blocker");
+		outcome = bullet.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+		assertEquals("Blocker", outcome.getHitWorm(0).getName());
+	}
+
+	/**
+	 * Function that tests whether simulating a shot reports the worm that would be hit, without damaging it.
+	 */
+	@Test
+	public void test_projectile_simulate_NoSideEffects() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, Math.PI, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(3.0, 2.0, 0.0, 0.25, "Target");
+		int oldHitPoints = target.getHitPoints();
+		Projectile bullet = shooter.getProjectile();
+		TrajectoryOutcome outcome = bullet.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+		assertEquals(Trajectory.HIT_WORM, outcome.getEndEvent());
+		assertEquals(1, outcome.getNumberOfHitWorms());
+		assertSame(target, outcome.getHitWorm(0));
+		assertEquals(bullet.getHitPointsReduction(), outcome.getTotalDamage());
+		assertEquals(oldHitPoints, target.getHitPoints());
+		assertEquals(Math.PI, shooter.getOrientation(), 0);
+	}
+
+	/**
+	 * Function that tests whether simulating a shot stops when the thread that runs it has been interrupted, 
+	 * and keeps the interruption.
+	 */
+	@Test
+	public void test_projectile_simulate_StopsWhenInterrupted() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, Math.PI, 0.5, "Shooter");
+		openWorld.createWorm(3.0, 2.0, 0.0, 0.25, "Target");
+		Projectile bullet = shooter.getProjectile();
+		Thread.currentThread().interrupt();
+		try {
+			bullet.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+			fail("The simulation has not been stopped.");
+		} catch (CancellationException e) {
+			assertTrue(Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted();
+		}
+		assertEquals(Trajectory.HIT_WORM, bullet.simulate(0.0, 100,
+				GUIConstants.JUMP_TIME_STEP).getEndEvent());
+	}
+	
+	/**
+	 * Function that tests whether the aim solver finds shots that hit a target worm on open terrain.
+	 */
+	@Test
+	public void test_aimSolver_solve_LegalCase() throws InterruptedException {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.0, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(6.0, 2.5, 0.0, 0.25, "Target");
+		List<AimSolution> solutions = new AimSolver(shooter, target, 5000).solve();
+		assertFalse(solutions.isEmpty());
+		for (AimSolution solution : solutions) {
+			assertSame(target, solution.getOutcome().getHitWorm(0));
+			assertSame(target, shooter.getProjectile().simulate(solution.getOrientation(),
+					solution.getYield(), GUIConstants.JUMP_TIME_STEP).getHitWorm(0));
+		}
+	}
+	
+	/**
+	 * Function that tests the method getTrajectory() for a worm.
+	 * The trajectory has to start at the position of the worm, end where the jump ends and lie close to the 
+	 * jump in between.
+	 */
+	@Test
+	public void test_worm_getTrajectory_LegalCase() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm worm = new Worm(openWorld, 1.0, 1.5, Math.PI / 4, 0.5, "AllValidWorm");
+		double jumpTime = worm.getJumpTime(GUIConstants.JUMP_TIME_STEP);
+		Trajectory trajectory = worm.getTrajectory(GUIConstants.JUMP_TIME_STEP);
+		double[] position = new double[2];
+		assertEquals(jumpTime, trajectory.getDuration(), 0);
+		trajectory.getPosition(0, position);
+		assertEquals(worm.getX(), position[0], 1e-9);
+		assertEquals(worm.getY(), position[1], 1e-9);
+		trajectory.getPosition(jumpTime, position);
+		assertEquals(worm.getJumpStep(jumpTime)[0], position[0], 1e-9);
+		assertEquals(worm.getJumpStep(jumpTime)[1], position[1], 1e-9);
+		trajectory.getPosition(jumpTime / 3, position);
+		assertEquals(worm.getJumpStep(jumpTime / 3)[0], position[0], 1e-3);
+		assertEquals(worm.getJumpStep(jumpTime / 3)[1], position[1], 1e-3);
+		assertSame(trajectory, worm.getTrajectory(GUIConstants.JUMP_TIME_STEP));
+	}
+
+	/**
+	 * Function that tests the method getJumpStep() for a worm with the numeric motion integrators.
+	 * Runge-Kutta integrates a parabola exactly, semi-implicit Euler deviates by at most gravity * step * t / 2.
+	 */
+	@Test
+	public void test_worm_getJumpStep_NumericIntegrators() {
+		Worm worm = new Worm(this.world, 2.1, 2.1, 0.7, 1.0, "AllValidWorm");
+		double[] expected = worm.getJumpStep(.37);
+		this.world.setMotionIntegrator(new RungeKuttaIntegrator());
+		double[] result = worm.getJumpStep(.37);
+		assertEquals(expected[0], result[0], 1e-9);
+		assertEquals(expected[1], result[1], 1e-9);
+		this.world.setMotionIntegrator(new EulerIntegrator());
+		result = worm.getJumpStep(.37);
+		assertEquals(expected[0], result[0], 1e-9);
+		assertEquals(expected[1], result[1], worm.GRAV_CST * NumericIntegrator.DEFAULT_STEP * .37);
+	}
+
+	/**
+	 * Function that tests that the numeric motion integrators give exactly the same positions when a motion is 
+	 * followed step by step as when every position is integrated from the launch by a new integrator.
+	 * The positions are asked for forwards and then backwards.
+	 */
+	@Test
+	public void test_numericIntegrator_getPosition_StepByStep() {
+		NumericIntegrator[] integrators = { new EulerIntegrator(), new RungeKuttaIntegrator() };
+		double[] result = new double[2];
+		for (NumericIntegrator integrator : integrators) {
+			double[][] expected = new double[121][2];
+			for (int i = 0; i <= 120; i++) {
+				NumericIntegrator fresh = integrator instanceof EulerIntegrator ? new EulerIntegrator()
+						: new RungeKuttaIntegrator();
+				fresh.getPosition(2.1, 2.1, 4.5, 0.7, 9.80665, i * GUIConstants.JUMP_TIME_STEP, expected[i]);
+			}
+			for (int i = 0; i <= 240; i++) {
+				int index = i <= 120 ? i : 240 - i;
+				integrator.getPosition(2.1, 2.1, 4.5, 0.7, 9.80665, index * GUIConstants.JUMP_TIME_STEP, result);
+				assertEquals(expected[index][0], result[0], 0);
+				assertEquals(expected[index][1], result[1], 0);
+			}
+		}
+	}
+
+	/**
+	 * Function that tests the method move() for a worm in a world in which worms crawl: on flat terrain, the worm 
+	 * crawls over its radius along the terrain and stays adjacent to it.
+	 */
+	@Test
+	public void test_worm_move_Crawl() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World crawlWorld = new World(40.0, 5.0, map, this.randomSeed);
+		crawlWorld.setCrawlMovement(true);
+		Worm worm = crawlWorld.createWorm(10.0, 1.52, 0.0, 0.5, "AllValidWorm");
+		int oldActionPoints = worm.getActionPoints();
+		assertTrue(worm.canMove());
+		worm.move();
+		assertEquals(10.5, worm.getX(), 1e-2);
+		assertEquals(1.52, worm.getY(), 5e-2);
+		assertTrue(crawlWorld.isAdjacent(worm.getX(), worm.getY(), worm.getRadius()));
+		assertTrue(worm.getActionPoints() < oldActionPoints);
+	}
+
+	/**
+	 * Function that tests that crawling doesn't allocate anything once the worm is warmed up, in the same way as 
+	 * test_worm_moveAndJump_AllocationFree().
+	 */
+	@Test
+	public void test_worm_move_CrawlAllocationFree() {
+		boolean[][] flatMap = new boolean[50][4000];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 4000; column++)
+				flatMap[row][column] = true;
+		World crawlWorld = new World(400.0, 5.0, flatMap, this.randomSeed);
+		crawlWorld.setCrawlMovement(true);
+		Worm worm = crawlWorld.createWorm(1.0, 1.52, 0.0, 0.5, "AllValidWorm");
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+		long threadId = Thread.currentThread().getId();
+		for (int i = 0; i < 5; i++) {
+			worm.setActionPoints(worm.getMaxActionPoints());
+			worm.move();
+		}
+		long counterCost = -threadBean.getThreadAllocatedBytes(threadId)
+				+ threadBean.getThreadAllocatedBytes(threadId);
+		double oldX = worm.getX();
+		long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 5; i++) {
+			worm.setActionPoints(worm.getMaxActionPoints());
+			worm.move();
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore - counterCost;
+		assertTrue(worm.getX() > oldX);
+		assertEquals(0, allocated);
+	}
+
+	/**
+	 * Function that tests whether a bazooka shot damages every worm within its blast radius, with less damage 
+	 * further away from the explosion, and leaves the shooter and far worms alone.
+	 */
+	@Test
+	public void test_projectile_simulate_BazookaBlast() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.0, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(3.0, 2.0, 0.0, 0.25, "Target");
+		Worm bystander = openWorld.createWorm(3.6, 2.0, 0.0, 0.25, "Bystander");
+		Worm farWorm = openWorld.createWorm(10.0, 2.0, 0.0, 0.25, "Far");
+		shooter.selectNextWeapon();
+		Projectile rocket = shooter.getProjectile();
+		assertTrue(rocket instanceof Bazooka);
+		TrajectoryOutcome outcome = rocket.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+		assertEquals(Trajectory.HIT_WORM, outcome.getEndEvent());
+		assertEquals(2, outcome.getNumberOfHitWorms());
+		int targetDamage = -1, bystanderDamage = -1;
+		for (int i = 0; i < outcome.getNumberOfHitWorms(); i++) {
+			assertNotSame(shooter, outcome.getHitWorm(i));
+			assertNotSame(farWorm, outcome.getHitWorm(i));
+			if (outcome.getHitWorm(i) == target)
+				targetDamage = outcome.getDamage(i);
+			if (outcome.getHitWorm(i) == bystander)
+				bystanderDamage = outcome.getDamage(i);
+		}
+		assertEquals(rocket.getHitPointsReduction(), targetDamage);
+		assertTrue(0 < bystanderDamage && bystanderDamage < targetDamage);
+	}
+
+	/**
+	 * Function that tests whether a bazooka shot also damages a worm whose nearest point lies just outside the blast 
+	 * radius, but within the blast radius plus the radius of the rocket, where the falloff still gives damage.
+	 */
+	@Test
+	public void test_projectile_simulate_BazookaBlastOuterBand() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.0, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(3.0, 2.0, 0.0, 0.25, "Target");
+		shooter.selectNextWeapon();
+		Projectile rocket = shooter.getProjectile();
+		TrajectoryOutcome outcome = rocket.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+		assertEquals(1, outcome.getNumberOfHitWorms());
+		double gap = rocket.getBlastRadius() - rocket.getRadius() / 2;
+		Worm bystander = openWorld.createWorm(outcome.getX() + gap + 0.25 + rocket.getRadius(),
+				outcome.getY(), 0.0, 0.25, "Bystander");
+		outcome = rocket.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+		assertEquals(2, outcome.getNumberOfHitWorms());
+		assertSame(target, outcome.getHitWorm(0));
+		assertSame(bystander, outcome.getHitWorm(1));
+		assertEquals(Math.round(rocket.getHitPointsReduction() * (1 - gap / rocket.getBlastRadius())),
+				outcome.getDamage(1));
+	}
+
+	/**
+	 * Function that tests whether only the worms pushed away by an explosion are settled afterwards, so that a worm
+	 * far away from the blast that floats in the air is left where it is.
+	 */
+	@Test
+	public void test_projectile_applyOutcome_SettlesOnlyPushedWorms() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		openWorld.setExplosionKnockback(true);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.0, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(3.0, 2.0, 0.0, 0.5, "Target");
+		Worm farWorm = openWorld.createWorm(10.0, 2.0, 0.0, 0.25, "Far");
+		shooter.selectNextWeapon();
+		shooter.shoot(100);
+		assertFalse(target.isTerminated());
+		assertTrue(target.getY() < 2.0);
+		assertEquals(2.0, farWorm.getY(), 0);
+		assertEquals(10.0, farWorm.getX(), 0);
+		assertEquals(2.0, shooter.getY(), 0);
+	}
+
+	/**
+	 * Function that tests whether the fragments of a cluster bomb damage the worms around its impact, on top of the 
+	 * damage of the direct hit, and leave the thrower alone.
+	 */
+	@Test
+	public void test_projectile_simulate_ClusterBombFragments() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.0, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(3.0, 2.0, 0.0, 0.25, "Target");
+		Worm bystander = openWorld.createWorm(3.0, 3.0, 0.0, 0.25, "Bystander");
+		shooter.selectNextWeapon();
+		shooter.selectNextWeapon();
+		Projectile bomb = shooter.getProjectile();
+		assertTrue(bomb instanceof ClusterBomb);
+		TrajectoryOutcome outcome = bomb.simulate(0.0, 100, GUIConstants.JUMP_TIME_STEP);
+		assertEquals(Trajectory.HIT_WORM, outcome.getEndEvent());
+		assertEquals(2, outcome.getNumberOfHitWorms());
+		assertSame(target, outcome.getHitWorm(0));
+		assertEquals(bomb.getHitPointsReduction(), outcome.getDamage(0));
+		assertSame(bystander, outcome.getHitWorm(1));
+		assertTrue(outcome.getDamage(1) >= ClusterBomb.FRAGMENT_DAMAGE);
+		assertEquals(0, outcome.getDamage(1) % ClusterBomb.FRAGMENT_DAMAGE);
+	}
+
+	/**
+	 * Function that tests the method getYieldTable() for a worm: every yield lands where its simulated shot lands, 
+	 * yields with the same force are only simulated once and the table is cached until another worm moves or the 
+	 * worm turns.
+	 */
+	@Test
+	public void test_worm_getYieldTable_LegalCase() throws InterruptedException {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World openWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm shooter = openWorld.createWorm(1.0, 2.0, 0.3, 0.5, "Shooter");
+		Worm target = openWorld.createWorm(3.0, 2.0, 0.0, 0.25, "Target");
+		YieldTable table = shooter.getYieldTable(GUIConstants.JUMP_TIME_STEP);
+		assertEquals(1, table.getNumberOfShots());
+		shooter.selectNextWeapon();
+		table = shooter.getYieldTable(GUIConstants.JUMP_TIME_STEP);
+		assertSame(shooter.getProjectile(), table.getProjectile());
+		assertEquals(YieldTable.MAX_YIELD + 1, table.getNumberOfShots());
+		for (int yield = 0; yield <= YieldTable.MAX_YIELD; yield += 25) {
+			TrajectoryOutcome outcome = shooter.getProjectile().simulate(0.3, yield,
+					GUIConstants.JUMP_TIME_STEP);
+			assertEquals(outcome.getX(), table.getLandingX(yield), 0);
+			assertEquals(outcome.getY(), table.getLandingY(yield), 0);
+		}
+		assertSame(target, table.getHitWorm(0));
+		assertSame(table, shooter.getYieldTable(GUIConstants.JUMP_TIME_STEP));
+		double oldTargetY = target.getY();
+		target.fall();
+		assertTrue(target.getY() < oldTargetY);
+		assertNotSame(table, shooter.getYieldTable(GUIConstants.JUMP_TIME_STEP));
+		table = shooter.getYieldTable(GUIConstants.JUMP_TIME_STEP);
+		shooter.turn(0.1);
+		assertNotSame(table, shooter.getYieldTable(GUIConstants.JUMP_TIME_STEP));
+	}
+
+	/**
+	 * Function that tests the method jump() for a worm in a world in real-time mode: the jump only starts, and ends 
+	 * after the world has been advanced at the same position as the same jump in a world without real-time mode.
+	 */
+	@Test
+	public void test_worm_jump_RealTime() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World instantWorld = new World(40.0, 5.0, map, this.randomSeed);
+		World realTimeWorld = new World(40.0, 5.0, map, this.randomSeed);
+		realTimeWorld.setRealTime(true);
+		Worm instantWorm = new Worm(instantWorld, 1.0, 2.0, Math.PI / 4, 0.5, "AllValidWorm");
+		Worm realTimeWorm = new Worm(realTimeWorld, 1.0, 2.0, Math.PI / 4, 0.5, "AllValidWorm");
+		instantWorm.jump(GUIConstants.JUMP_TIME_STEP);
+		realTimeWorm.jump(GUIConstants.JUMP_TIME_STEP);
+		assertEquals(0, realTimeWorm.getActionPoints());
+		assertEquals(1.0, realTimeWorm.getX(), 0);
+		assertEquals(2.0, realTimeWorm.getY(), 0);
+		assertEquals(1, realTimeWorld.getMotions().size());
+		for (int i = 0; i < 100 && !realTimeWorld.getMotions().isEmpty(); i++)
+			realTimeWorld.advanceTime(.1);
+		assertTrue(realTimeWorld.getMotions().isEmpty());
+		assertEquals(instantWorm.getX(), realTimeWorm.getX(), 0);
+		assertEquals(instantWorm.getY(), realTimeWorm.getY(), 0);
+	}
+
+	/**
+	 * Function that tests that a worm eats the food it passes in the middle of its jump.
+	 */
+	@Test
+	public void test_worm_jump_EatsFoodAlongPath() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World world = new World(40.0, 5.0, map, this.randomSeed);
+		Worm worm = new Worm(world, 1.0, 2.0, Math.PI / 4, 0.5, "AllValidWorm");
+		Trajectory trajectory = worm.getTrajectory(GUIConstants.JUMP_TIME_STEP);
+		int middle = trajectory.getNumberOfSamples() / 2;
+		Food food = world.createFood(trajectory.getX(middle), trajectory.getY(middle));
+		worm.jump(GUIConstants.JUMP_TIME_STEP);
+		assertTrue(food.isTerminated());
+		assertTrue(world.getFood().isEmpty());
+		assertEquals(0.55, worm.getRadius(), 1e-9);
+	}
+
+	/**
+	 * Function that tests that eating food along the path of a jump doesn't change where the worm lands: the worm 
+	 * only grows once it has landed, at the same position as the same jump without food.
+	 */
+	@Test
+	public void test_worm_jump_FoodDoesNotChangeLanding() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		World fedWorld = new World(40.0, 5.0, map, this.randomSeed);
+		World emptyWorld = new World(40.0, 5.0, map, this.randomSeed);
+		Worm fedWorm = new Worm(fedWorld, 1.0, 2.0, Math.PI / 4, 0.5, "AllValidWorm");
+		Worm emptyWorm = new Worm(emptyWorld, 1.0, 2.0, Math.PI / 4, 0.5, "AllValidWorm");
+		Trajectory trajectory = fedWorm.getTrajectory(GUIConstants.JUMP_TIME_STEP);
+		for (int i = 1; i <= 3; i++) {
+			int sample = i * trajectory.getNumberOfSamples() / 4;
+			fedWorld.createFood(trajectory.getX(sample), trajectory.getY(sample));
+		}
+		fedWorm.jump(GUIConstants.JUMP_TIME_STEP);
+		emptyWorm.jump(GUIConstants.JUMP_TIME_STEP);
+		assertTrue(fedWorld.getFood().isEmpty());
+		assertEquals(emptyWorm.getX(), fedWorm.getX(), 0);
+		assertEquals(emptyWorm.getY(), fedWorm.getY(), 0);
+		assertEquals(0.5 * 1.1 * 1.1 * 1.1, fedWorm.getRadius(), 1e-9);
+	}
+
 	/**
 	 * Function that tests a legal case of the method jump() for a worm.
 	 */
@@ -836,6 +1393,22 @@ public class WormTests {
 		assertTrue(worm.getProjectile() instanceof Bazooka);
 	}
 	
+	/**
+	 * Function that tests that the method selectNextWeapon() goes through the rifle, the bazooka and the cluster 
+	 * bomb, and then selects the rifle again.
+	 */
+	@Test
+	public void test_worm_selectNextWeapon_Cycle() {
+		Worm worm = new Worm(this.world, 2.1, 2.1, 0.0, 1.0, "AllValidWorm");
+		assertEquals("Rifle", worm.getSelectedWeapon());
+		worm.selectNextWeapon();
+		assertEquals("Bazooka", worm.getSelectedWeapon());
+		worm.selectNextWeapon();
+		assertEquals("Cluster bomb", worm.getSelectedWeapon());
+		worm.selectNextWeapon();
+		assertEquals("Rifle", worm.getSelectedWeapon());
+	}
+	
 	/**
 	 * Function that tests a legal case of the method isValidX() for a worm.
 	 */
@@ -1097,4 +1670,346 @@ public class WormTests {
 		worm.terminate();
 		assertFalse(worm.isAlive());
 	}
+	
+	/**
+	 * Function that tests that moving and jumping don't allocate anything once the worm is warmed up.
+	 * The worm is added to its world, so its moves also update the grid of worms and the version of the world, 
+	 * like in a game. The allocated bytes of the current thread are read before and after a series of moves and 
+	 * jumps on flat terrain, corrected for the bytes needed to read the counter itself. The test is skipped when 
+	 * the virtual machine doesn't count the allocated bytes of a thread.
+	 */
+	@Test
+	public void test_worm_moveAndJump_AllocationFree() {
+		boolean[][] flatMap = new boolean[50][4000];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 4000; column++)
+				flatMap[row][column] = true;
+		World flatWorld = new World(400.0, 5.0, flatMap, this.randomSeed);
+		Worm worm = flatWorld.createWorm(1.0, 2.0, Math.PI / 4, 0.5, "AllValidWorm");
+		worm.fall();
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+		long threadId = Thread.currentThread().getId();
+		for (int i = 0; i < 5; i++) {
+			worm.setActionPoints(worm.getMaxActionPoints());
+			worm.move();
+			worm.setActionPoints(worm.getMaxActionPoints());
+			worm.jump(Util.DEFAULT_EPSILON);
+		}
+		long counterCost = -threadBean.getThreadAllocatedBytes(threadId)
+				+ threadBean.getThreadAllocatedBytes(threadId);
+		long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 5; i++) {
+			worm.setActionPoints(worm.getMaxActionPoints());
+			worm.move();
+			worm.setActionPoints(worm.getMaxActionPoints());
+			worm.jump(Util.DEFAULT_EPSILON);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore - counterCost;
+		assertTrue(worm.isAlive());
+		assertEquals(0, allocated);
+	}
+
+	/**
+	 * Function that tests a legal case of the class ReachabilityMap.
+	 * For this test, a worm stands on flat terrain: the cell it stands in and the cell it reaches with one move 
+	 * have to be reachable, and the map is no longer up to date once the worm has moved.
+	 */
+	@Test
+	public void test_reachabilityMap_isReachable_LegalCase() {
+		boolean[][] flatMap = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				flatMap[row][column] = true;
+		World flatWorld = new World(40.0, 5.0, flatMap, this.randomSeed);
+		Worm worm = new Worm(flatWorld, 20.0, 2.0, 0.0, 0.5, "AllValidWorm");
+		worm.fall();
+		ReachabilityMap map = new ReachabilityMap(worm).calculate();
+		assertTrue(map.isUpToDate());
+		assertTrue(map.isReachable(worm.getX(), worm.getY()));
+		assertFalse(map.isReachable(-1.0, worm.getY()));
+		worm.move();
+		assertTrue(map.isReachable(worm.getX(), worm.getY()));
+		assertFalse(map.isUpToDate());
+	}
+
+	/**
+	 * Function that tests whether the reachability map of the current worm is already being calculated when the game
+	 * and every next turn start, before it is asked for.
+	 */
+	@Test
+	public void test_world_getReachabilityMap_StartsWithTurn() throws Exception {
+		boolean[][] flatMap = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				flatMap[row][column] = true;
+		World flatWorld = new World(40.0, 5.0, flatMap, this.randomSeed);
+		Worm first = flatWorld.createWorm(10.0, 1.55, 0.0, 0.5, "First");
+		Worm second = flatWorld.createWorm(30.0, 1.55, 0.0, 0.5, "Second");
+		assertNull(flatWorld.getReachabilityMap());
+		flatWorld.startGame();
+		Future<ReachabilityMap> firstMap = flatWorld.getReachabilityMap();
+		assertNotNull(firstMap);
+		assertSame(firstMap, flatWorld.getReachabilityMap());
+		assertSame(first, firstMap.get().getWorm());
+		assertTrue(firstMap.get().isReachable(first.getX(), first.getY()));
+		flatWorld.startNextTurn();
+		Future<ReachabilityMap> secondMap = flatWorld.getReachabilityMap();
+		assertNotSame(firstMap, secondMap);
+		assertSame(second, secondMap.get().getWorm());
+		assertTrue(secondMap.get().isReachable(second.getX(), second.getY()));
+	}
+
+	/**
+	 * Function that tests that the exploration of a ReachabilityMap stops after MAX_EXPANDED_STATES states.
+	 * For this test, a worm stands on a flat floor of 400 meters, which has far more states than that.
+	 */
+	@Test
+	public void test_reachabilityMap_calculate_ExpandedStatesCap() {
+		boolean[][] flatMap = new boolean[50][4000];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 4000; column++)
+				flatMap[row][column] = true;
+		World flatWorld = new World(400.0, 5.0, flatMap, this.randomSeed);
+		Worm worm = new Worm(flatWorld, 200.0, 2.0, 0.0, 0.5, "AllValidWorm");
+		worm.fall();
+		ReachabilityMap map = new ReachabilityMap(worm).calculate();
+		assertEquals(ReachabilityMap.MAX_EXPANDED_STATES, map.getNumberOfExpandedStates());
+		map.calculate();
+		assertEquals(ReachabilityMap.MAX_EXPANDED_STATES, map.getNumberOfExpandedStates());
+	}
+
+	/**
+	 * Function that tests that the fixed-point physics mode gives bit-identical results when the same jump and 
+	 * the same shot are done in two worlds that use it.
+	 * For this test, a worm jumps over flat terrain and then fires a bazooka rocket at a second worm.
+	 */
+	@Test
+	public void test_world_fixedPointPhysics_Deterministic() {
+		boolean[][] flatMap = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				flatMap[row][column] = true;
+		double[][] results = new double[2][7];
+		for (int run = 0; run < 2; run++) {
+			World fixedWorld = new World(40.0, 5.0, flatMap, new Random(7), true);
+			Worm jumper = fixedWorld.createWorm(5.0, 2.0, Math.PI / 3, 0.5, "Jumper");
+			Worm target = fixedWorld.createWorm(15.0, 2.0, 0.0, 0.5, "Target");
+			jumper.fall();
+			target.fall();
+			jumper.jump(GUIConstants.JUMP_TIME_STEP);
+			jumper.setActionPoints(jumper.getMaxActionPoints());
+			jumper.selectNextWeapon();
+			jumper.shoot(60);
+			results[run] = new double[] { jumper.getX(), jumper.getY(), target.getX(), target.getY(),
+					target.getHitPoints(), jumper.getProjectile().getRadius(),
+					jumper.getJumpTime(GUIConstants.JUMP_TIME_STEP) };
+		}
+		for (int i = 0; i < results[0].length; i++)
+			assertEquals(results[0][i], results[1][i], 0);
+		assertTrue(results[0][0] > 5.0);
+	}
+
+	/**
+	 * Function that tests that skipping the steps in open air doesn't change the result of getJumpTime().
+	 * For this test, worms jump in several directions in a world of 40 by 20 meters with a floor and a floating 
+	 * block of terrain, and the jump time has to be exactly the same as when every step is checked.
+	 */
+	@Test
+	public void test_worm_getJumpTime_OpenAirSkipping() {
+		boolean[][] map = new boolean[200][400];
+		for (int row = 0; row < 180; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = !(60 <= row && row < 80 && 200 <= column && column < 260);
+		World openWorld = new World(40.0, 20.0, map, this.randomSeed);
+		double[] timeSteps = { GUIConstants.JUMP_TIME_STEP, .001 };
+		for (int i = 0; i < 8; i++) {
+			Worm worm = new Worm(openWorld, 8.0 + 3 * i, 3.0, Math.PI / 16 + i * Math.PI / 8, 0.25 + 0.05 * i,
+					"AllValidWorm");
+			worm.fall();
+			for (double timeStep : timeSteps) {
+				double totalJumpTime = 0;
+				double[] jumpStep;
+				while (true) {
+					jumpStep = worm.getJumpStep(totalJumpTime);
+					if (openWorld.isImpassable(jumpStep[0], jumpStep[1], worm.getRadius())
+							|| (openWorld.isAdjacent(jumpStep[0], jumpStep[1], worm.getRadius())
+									&& Math.sqrt(Math.pow(worm.getX() - jumpStep[0], 2)
+											+ Math.pow(worm.getY() - jumpStep[1], 2)) >= worm.getRadius())
+							|| !openWorld.liesInWorld(jumpStep[0], jumpStep[1], worm.getRadius()))
+						break;
+					totalJumpTime += timeStep;
+				}
+				assertEquals(totalJumpTime + timeStep, worm.getJumpTime(timeStep), 0);
+			}
+		}
+	}
+
+	/**
+	 * Function that returns a flat world of 40 by 5 meters, of which the lowest meter is impassable.
+	 * Worms that are created at a height of 2 meters land on the floor when they fall.
+	 */
+	private World createFlatWorld() {
+		boolean[][] map = new boolean[50][400];
+		for (int row = 0; row < 40; row++)
+			for (int column = 0; column < 400; column++)
+				map[row][column] = true;
+		return new World(40.0, 5.0, map, this.randomSeed);
+	}
+
+	/**
+	 * Function that returns a worm that isn't added to the world of the provided worm, in the same state as the 
+	 * provided worm, so none of its results have been cached yet.
+	 */
+	private Worm createFreshTwin(Worm worm) {
+		Worm twin = new Worm(worm.getWorld(), worm.getX(), worm.getY(), worm.getOrientation(),
+				worm.getRadius(), "Twin");
+		twin.setActionPoints(worm.getActionPoints());
+		return twin;
+	}
+
+	/**
+	 * Function that tests whether the state version of a worm changes with every input of its cached results: its 
+	 * Action Points, orientation, radius and weapon, and the food, worms, movement and integrator of its world.
+	 */
+	@Test
+	public void test_worm_getStateVersion_ChangesWithEveryInput() {
+		World flatWorld = this.createFlatWorld();
+		Worm worm = flatWorld.createWorm(5.0, 2.0, 0.0, 0.5, "Versioned");
+		worm.fall();
+		long version = worm.getStateVersion();
+		worm.setActionPoints(worm.getActionPoints() - 1);
+		assertTrue(worm.getStateVersion() != version);
+		version = worm.getStateVersion();
+		worm.turn(0.5);
+		assertTrue(worm.getStateVersion() != version);
+		version = worm.getStateVersion();
+		worm.setRadius(0.6);
+		assertTrue(worm.getStateVersion() != version);
+		version = worm.getStateVersion();
+		worm.selectNextWeapon();
+		assertTrue(worm.getStateVersion() != version);
+		version = worm.getStateVersion();
+		flatWorld.addFoodToWorld();
+		assertTrue(worm.getStateVersion() != version);
+		version = worm.getStateVersion();
+		flatWorld.createWorm(20.0, 2.0, 0.0, 0.5, "Other");
+		assertTrue(worm.getStateVersion() != version);
+		version = worm.getStateVersion();
+		flatWorld.setCrawlMovement(true);
+		assertTrue(worm.getStateVersion() != version);
+		version = worm.getStateVersion();
+		flatWorld.setMotionIntegrator(new EulerIntegrator());
+		assertTrue(worm.getStateVersion() != version);
+	}
+
+	/**
+	 * Function that tests whether the cached jump time of a worm is calculated again after its Action Points, 
+	 * orientation or radius, or the integrator of its world, have changed.
+	 */
+	@Test
+	public void test_worm_getJumpTime_CacheInvalidated() {
+		World flatWorld = this.createFlatWorld();
+		Worm worm = flatWorld.createWorm(5.0, 2.0, Math.PI / 4, 0.5, "Jumper");
+		worm.fall();
+		double timeStep = GUIConstants.JUMP_TIME_STEP;
+		double jumpTime = worm.getJumpTime(timeStep);
+		assertEquals(jumpTime, worm.getJumpTime(timeStep), 0);
+		worm.setActionPoints(worm.getActionPoints() / 2);
+		assertTrue(worm.getJumpTime(timeStep) != jumpTime);
+		assertEquals(this.createFreshTwin(worm).getJumpTime(timeStep), worm.getJumpTime(timeStep), 0);
+		jumpTime = worm.getJumpTime(timeStep);
+		worm.turn(Math.PI / 8);
+		assertTrue(worm.getJumpTime(timeStep) != jumpTime);
+		assertEquals(this.createFreshTwin(worm).getJumpTime(timeStep), worm.getJumpTime(timeStep), 0);
+		jumpTime = worm.getJumpTime(timeStep);
+		worm.setRadius(0.3);
+		assertTrue(worm.getJumpTime(timeStep) != jumpTime);
+		assertEquals(this.createFreshTwin(worm).getJumpTime(timeStep), worm.getJumpTime(timeStep), 0);
+		jumpTime = worm.getJumpTime(timeStep);
+		flatWorld.setMotionIntegrator(new EulerIntegrator(0.05));
+		assertTrue(worm.getJumpTime(timeStep) != jumpTime);
+		assertEquals(this.createFreshTwin(worm).getJumpTime(timeStep), worm.getJumpTime(timeStep), 0);
+	}
+
+	/**
+	 * Function that tests whether the cached move evaluation of a worm is calculated again after its Action Points, 
+	 * orientation or radius, or the movement of its world, have changed.
+	 */
+	@Test
+	public void test_worm_move_CacheInvalidated() {
+		World flatWorld = this.createFlatWorld();
+		Worm worm = flatWorld.createWorm(5.0, 2.0, 0.0, 0.5, "Mover");
+		worm.fall();
+		assertTrue(worm.canMove());
+		int actionPoints = worm.getActionPoints();
+		worm.setActionPoints(0);
+		assertFalse(worm.canMove());
+		worm.setActionPoints(actionPoints);
+		assertTrue(worm.canMove());
+		worm.turn(Math.PI / 4);
+		Worm twin = this.createFreshTwin(worm);
+		worm.move();
+		twin.move();
+		assertEquals(twin.getX(), worm.getX(), 0);
+		assertEquals(twin.getY(), worm.getY(), 0);
+		assertTrue(worm.canMove());
+		worm.setRadius(0.3);
+		twin = this.createFreshTwin(worm);
+		worm.move();
+		twin.move();
+		assertEquals(twin.getX(), worm.getX(), 0);
+		assertEquals(twin.getY(), worm.getY(), 0);
+		assertTrue(worm.canMove());
+		Worm sampledTwin = this.createFreshTwin(worm);
+		sampledTwin.move();
+		flatWorld.setCrawlMovement(true);
+		twin = this.createFreshTwin(worm);
+		worm.move();
+		twin.move();
+		assertEquals(twin.getX(), worm.getX(), 0);
+		assertEquals(twin.getY(), worm.getY(), 0);
+		assertTrue(sampledTwin.getX() != worm.getX() || sampledTwin.getY() != worm.getY());
+	}
+
+	/**
+	 * Function that tests whether the cached checks whether a worm can jump or shoot are done again after its 
+	 * Action Points or its weapon have changed.
+	 */
+	@Test
+	public void test_worm_canJump_canShoot_CacheInvalidated() {
+		World flatWorld = this.createFlatWorld();
+		Worm worm = flatWorld.createWorm(5.0, 2.0, Math.PI / 2, 0.5, "Shooter");
+		worm.fall();
+		worm.selectNextWeapon();
+		assertTrue(worm.getProjectile() instanceof Bazooka);
+		worm.setActionPoints(worm.getProjectile().getActionPointsCost() - 1);
+		try {
+			worm.shoot(50);
+			fail("This worm doesn't have enough Action Points for the bazooka.");
+		} catch (ArithmeticException e) {
+		}
+		worm.selectNextWeapon();
+		worm.selectNextWeapon();
+		assertTrue(worm.getProjectile() instanceof Rifle);
+		int actionPoints = worm.getActionPoints();
+		worm.shoot(50);
+		assertEquals(actionPoints - worm.getProjectile().getActionPointsCost(), worm.getActionPoints());
+		worm.setActionPoints(0);
+		try {
+			worm.shoot(50);
+			fail("This worm doesn't have any Action Points left.");
+		} catch (ArithmeticException e) {
+		}
+		try {
+			worm.jump(GUIConstants.JUMP_TIME_STEP);
+			fail("This worm doesn't have any Action Points left.");
+		} catch (ArithmeticException e) {
+		}
+		worm.setActionPoints(actionPoints);
+		worm.shoot(50);
+		worm.jump(GUIConstants.JUMP_TIME_STEP);
+		assertEquals(0, worm.getActionPoints());
+	}
 }